@@ -40,7 +40,7 @@ public final class ActAssist extends AppCompatActivity {
 	protected void onCreate(@Nullable final Bundle savedInstanceState) {
 		super.onCreate(savedInstanceState);
 
-		if ((boolean) UtilsRegistry.getData(RegistryKeys.K_IS_RECORDING_AUDIO_INTERNALLY, true)) {
+		if (UtilsRegistry.getBool(RegistryKeys.K_IS_RECORDING_AUDIO_INTERNALLY)) {
 			// If it's recording audio, it must be stopped. So stop and start the hotword recognizer.
 			UtilsAudioRecorderBC.recordAudio(false, -1, true);
 		} else {
@@ -42,6 +42,7 @@ import androidx.navigation.ui.AppBarConfiguration;
 import androidx.navigation.ui.NavigationUI;
 
 import com.edw590.visor_c_a.MainSrvc.UtilsMainSrvc;
+import com.edw590.visor_c_a.Modules.ModulesManager.ModulesManager;
 import com.edw590.visor_c_a.R;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.google.android.material.navigation.NavigationView;
@@ -134,4 +135,13 @@ public final class ActMain extends AppCompatActivity {
 
 		UtilsMainSrvc.startMainService();
 	}
+
+	@Override
+	public void onResume() {
+		super.onResume();
+
+		// The user may be coming back from granting permissions or authorizations to the app (Android doesn't
+		// broadcast that), so get the modules' support checked again right away.
+		ModulesManager.requestSupportCheck();
+	}
 }
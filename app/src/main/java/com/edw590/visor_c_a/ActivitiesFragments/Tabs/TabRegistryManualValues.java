@@ -36,6 +36,7 @@ import androidx.appcompat.widget.AppCompatTextView;
 import androidx.fragment.app.Fragment;
 
 import com.edw590.visor_c_a.R;
+import com.edw590.visor_c_a.Registry.UtilsRegistry;
 
 import UtilsSWA.UtilsSWA;
 
@@ -64,6 +65,7 @@ public final class TabRegistryManualValues extends Fragment {
 				resources.getDisplayMetrics());
 
 		AppCompatTextView textView = new AppCompatTextView(requireContext());
+		UtilsRegistry.flush();
 		textView.setText(UtilsSWA.getRegistryTextREGISTRY(2));
 		textView.setPadding(padding_px, padding_px, padding_px, padding_px);
 
@@ -30,9 +30,11 @@ import androidx.multidex.MultiDex;
 
 import com.edw590.visor_c_a.GlobalUtils.UtilsApp;
 import com.edw590.visor_c_a.GlobalUtils.UtilsPermsAuths;
+import com.edw590.visor_c_a.GlobalUtils.UtilsProcesses;
 import com.edw590.visor_c_a.GlobalUtils.UtilsSettings;
 import com.edw590.visor_c_a.MainSrvc.UtilsMainSrvc;
 import com.edw590.visor_c_a.Modules.CmdsExecutor.CmdsList.CmdsList;
+import com.edw590.visor_c_a.Modules.ModulesManager.ModulesManager;
 import com.edw590.visor_c_a.Registry.RegistryKeys;
 
 import ACD.ACD;
@@ -100,6 +102,13 @@ public final class ApplicationClass extends Application {
 
 		/////////////////////////////////////////////////////////////
 
+		// The other processes of the app (like the commands speech recognition one, which now stays alive) only need
+		// the settings and the Registry - the rest is the main process' job, or there would be 2 communicator
+		// connections and 2 processes writing the same settings files. If the name can't be gotten, assume it's the
+		// main process so that nothing is lost.
+		final String process_name = UtilsProcesses.getCurrentProcessName();
+		final boolean main_process = process_name == null || process_name.equals(getPackageName());
+
 		if (!UtilsSettings.loadSettingsFile(false)) {
 			System.out.println("Failed to load generated settings. Using empty ones...");
 		}
@@ -108,33 +117,37 @@ public final class ApplicationClass extends Application {
 			System.out.println("Failed to load user settings. Using empty ones...");
 		}
 
-		infinity_thread.start();
+		if (main_process) {
+			infinity_thread.start();
+		}
 
 		UtilsSWA.initializeCommsChannels();
 
-		UtilsSWA.startCommunicatorSERVER();
-		SettingsSync.syncUserSettings();
+		if (main_process) {
+			UtilsSWA.startCommunicatorSERVER();
+			SettingsSync.syncUserSettings();
+		}
 
 		// Register keys in the Registry
 		RegistryKeys.registerValues();
 
 		UtilsMainSrvc.startMainService();
 
-		if (!UtilsApp.isDeviceAdmin()) {
+		if (main_process && !UtilsApp.isDeviceAdmin()) {
 			UtilsPermsAuths.forceDeviceAdmin();
 		}
 	}
 
 	Thread infinity_thread = new Thread(() -> {
 		while (true) {
-			// Write user and gen settings every 5 seconds
+			// Write user and gen settings when they change
 
-			UtilsSettings.writeSettingsFile(SettingsSync.getJsonUserSettings(), true);
+			UtilsSettings.saveSettingsIfChanged(true);
 
-			UtilsSettings.writeSettingsFile(SettingsSync.getJsonGenSettings(), false);
+			UtilsSettings.saveSettingsIfChanged(false);
 
 			try {
-				Thread.sleep(5000);
+				Thread.sleep(UtilsSettings.SAVE_CHECK_INTERVAL);
 			} catch (final InterruptedException ignored) {
 				return;
 			}
@@ -169,6 +182,21 @@ public final class ApplicationClass extends Application {
 		throwable.printStackTrace();
 		System.out.println("2------------- CRITICAL APP ERROR -------------2");
 
+		// The app keeps running, but if this was a module thread, the module just stopped working - let the Manager
+		// know so it restarts it right away instead of only on the next periodic check. Only after the thread is really
+		// dead though, or the Manager would still see it working (this runs on the thread itself).
+		final Thread reporter_thread = new Thread(() -> {
+			try {
+				thread.join();
+			} catch (final InterruptedException ignored) {
+				return;
+			}
+
+			ModulesManager.reportElementStopped();
+		});
+		reporter_thread.setDaemon(true);
+		reporter_thread.start();
+
 		// todo Put it writing some log or whatever here!!!
 		// If you need Context for anything, use getApplicationContext, since this is used before the static one is set.
 	}
@@ -0,0 +1,323 @@
+/*
+ * Copyright 2021-2024 Edw590
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package com.edw590.visor_c_a.GlobalUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import UtilsSWA.UtilsSWA;
+
+/**
+ * <p>A long-lived root shell, to execute commands without starting a new su process (and its authorization) for each
+ * one.</p>
+ * <br>
+ * <p>Each request is written to the shell's stdin inside a subshell (so that an {@code exit} or a {@code cd} don't
+ * affect the session), followed by markers printed to stdout (with the exit code) and to stderr. The reader threads
+ * collect both streams until the markers, which are unique per request, so the outputs are returned exactly as the
+ * commands printed them.</p>
+ * <p>Only one request is executed at a time. If a request times out or the shell dies, the session is destroyed.</p>
+ */
+final class RootShellSession {
+
+	/** Time to wait for the shell to start and confirm it's root (includes the user granting root access). */
+	private static final long HANDSHAKE_TIMEOUT = 15_000;
+
+	private static final AtomicInteger sessions_count = new AtomicInteger(0);
+
+	@NonNull private final Process process;
+	@NonNull private final OutputStream stdin;
+	/** Prefix of the markers of this session, to which the request number is appended. */
+	@NonNull private final String marker_prefix;
+	private long requests_count = 0;
+
+	// All below guarded by this.
+	@NonNull private final FrameBuffer stdout_buffer = new FrameBuffer();
+	@NonNull private final FrameBuffer stderr_buffer = new FrameBuffer();
+	/** The stdout end of the current request ("\n" + marker + " "), or null if there's no request. */
+	@Nullable private byte[] stdout_end = null;
+	/** The stderr end of the current request ("\n" + marker + "\n"), or null if there's no request. */
+	@Nullable private byte[] stderr_end = null;
+	private int exit_code = 0;
+	private boolean dead = false;
+
+	/**
+	 * <p>Main class constructor.</p>
+	 *
+	 * @param process the su process
+	 */
+	private RootShellSession(@NonNull final Process process) {
+		this.process = process;
+		stdin = process.getOutputStream();
+		final int session_num = sessions_count.incrementAndGet();
+		marker_prefix = "__VISOR_SH_" + session_num + "_" + Long.toHexString(System.nanoTime()) + "_";
+
+		startReader(process.getInputStream(), true, "RootShellSession " + session_num + " stdout");
+		startReader(process.getErrorStream(), false, "RootShellSession " + session_num + " stderr");
+	}
+
+	/**
+	 * <p>Starts a new root shell session.</p>
+	 *
+	 * @return the session, or null if su couldn't be started or the shell is not root
+	 */
+	@Nullable
+	static RootShellSession start() {
+		final Process process;
+		try {
+			process = new ProcessBuilder("su").start();
+		} catch (final IOException ignored) {
+			return null;
+		}
+
+		final RootShellSession session = new RootShellSession(process);
+		final UtilsShell.CmdOutput cmd_output = session.execute("[ \"$(id -u)\" = 0 ]", HANDSHAKE_TIMEOUT);
+		if (cmd_output == null || !UtilsShell.noErr(cmd_output.exit_code)) {
+			session.destroy();
+
+			return null;
+		}
+
+		return session;
+	}
+
+	/**
+	 * <p>Executes commands on the session.</p>
+	 * <p>Read the documentation of {@link UtilsShell#executeShellCmd(boolean, Iterable)} about the commands.</p>
+	 *
+	 * @param commands the commands, separated by new lines
+	 * @param timeout the maximum time to wait for the commands to finish, in milliseconds
+	 *
+	 * @return the outputs, or null if the session died or the commands timed out (the session is destroyed then)
+	 */
+	@Nullable
+	synchronized UtilsShell.CmdOutput execute(@NonNull final String commands, final long timeout) {
+		if (dead) {
+			return null;
+		}
+
+		++requests_count;
+		final String marker = marker_prefix + requests_count;
+		stdout_buffer.clear();
+		stderr_buffer.clear();
+		stdout_end = ("\n" + marker + " ").getBytes(Charset.defaultCharset());
+		stderr_end = ("\n" + marker + "\n").getBytes(Charset.defaultCharset());
+
+		// The stdin of the commands is not the session's, or they could read the next requests.
+		final String script = "(\n" + commands + "\n) </dev/null\n" +
+				"__visor_exit_code=$?\n" +
+				"printf '\\n%s %d\\n' " + marker + " \"$__visor_exit_code\"\n" +
+				"printf '\\n%s\\n' " + marker + " >&2\n";
+		try {
+			stdin.write(script.getBytes(Charset.defaultCharset()));
+			stdin.flush();
+		} catch (final IOException ignored) {
+			destroy();
+
+			return null;
+		}
+
+		final long deadline = System.currentTimeMillis() + timeout;
+		while (!dead && (stdout_end != null || stderr_end != null)) {
+			final long time_left = deadline - System.currentTimeMillis();
+			if (time_left <= 0) {
+				destroy();
+
+				return null;
+			}
+			try {
+				wait(time_left);
+			} catch (final InterruptedException ignored) {
+				Thread.currentThread().interrupt();
+				destroy();
+
+				return null;
+			}
+		}
+		if (dead) {
+			return null;
+		}
+
+		return new UtilsShell.CmdOutput(exit_code, stdout_buffer.toByteArray(), stderr_buffer.toByteArray());
+	}
+
+	/**
+	 * <p>Checks if the session can still execute commands.</p>
+	 *
+	 * @return true if it can, false if it died or was destroyed
+	 */
+	synchronized boolean isAlive() {
+		return !dead;
+	}
+
+	/**
+	 * <p>Terminates the shell.</p>
+	 */
+	synchronized void destroy() {
+		dead = true;
+		process.destroy();
+		notifyAll();
+	}
+
+	/**
+	 * <p>Starts a thread reading one of the shell's output streams until it ends.</p>
+	 *
+	 * @param stream the stream
+	 * @param is_stdout true if it's stdout, false if it's stderr
+	 * @param name the name of the thread
+	 */
+	private void startReader(@NonNull final InputStream stream, final boolean is_stdout, @NonNull final String name) {
+		final Thread thread = new Thread(() -> {
+			final byte[] buffer = new byte[8192];
+			try {
+				int len;
+				while ((len = stream.read(buffer)) != -1) {
+					onData(is_stdout, buffer, len);
+				}
+			} catch (final IOException ignored) {
+			}
+
+			destroy();
+		}, name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * <p>Collects data read from an output stream, checking if the current request ended on it.</p>
+	 *
+	 * @param is_stdout true if it's from stdout, false if it's from stderr
+	 * @param data the data
+	 * @param len the length of the data
+	 */
+	private synchronized void onData(final boolean is_stdout, @NonNull final byte[] data, final int len) {
+		final byte[] end = is_stdout ? stdout_end : stderr_end;
+		if (end == null) {
+			// Not from a request (e.g. something the commands left running in the background).
+			return;
+		}
+
+		final FrameBuffer frame_buffer = is_stdout ? stdout_buffer : stderr_buffer;
+		frame_buffer.append(data, len);
+		final int end_index = frame_buffer.indexOf(end);
+		if (end_index == -1) {
+			return;
+		}
+
+		if (is_stdout) {
+			// The end is followed by the exit code and a new line.
+			final int code_start = end_index + end.length;
+			final int code_end = frame_buffer.indexOf((byte) '\n', code_start);
+			if (code_end == -1) {
+				return;
+			}
+			try {
+				exit_code = Integer.parseInt(frame_buffer.toString(code_start, code_end));
+			} catch (final NumberFormatException ignored) {
+				exit_code = (int) UtilsSWA.GENERIC_ERR;
+			}
+			stdout_end = null;
+		} else {
+			stderr_end = null;
+		}
+		frame_buffer.truncate(end_index);
+
+		notifyAll();
+	}
+
+	/**
+	 * <p>Growable byte buffer of the output of a request.</p>
+	 */
+	private static final class FrameBuffer {
+		@NonNull private byte[] data = new byte[1024];
+		private int len = 0;
+		/** Index from which the end of the request was not found yet. */
+		private int search_from = 0;
+
+		void clear() {
+			len = 0;
+			search_from = 0;
+		}
+
+		void append(@NonNull final byte[] bytes, final int bytes_len) {
+			if (len + bytes_len > data.length) {
+				data = Arrays.copyOf(data, Math.max(data.length * 2, len + bytes_len));
+			}
+			System.arraycopy(bytes, 0, data, len, bytes_len);
+			len += bytes_len;
+		}
+
+		/**
+		 * <p>Searches for a pattern, only on the data not searched yet (plus what may be the beginning of the pattern
+		 * on the previous search).</p>
+		 */
+		int indexOf(@NonNull final byte[] pattern) {
+			final int last_start = len - pattern.length;
+			for (int i = search_from; i <= last_start; ++i) {
+				int j = 0;
+				while (j < pattern.length && data[i + j] == pattern[j]) {
+					++j;
+				}
+				if (j == pattern.length) {
+					// Keep it found, in case the exit code after it is not complete yet.
+					search_from = i;
+
+					return i;
+				}
+			}
+			search_from = Math.max(search_from, last_start + 1);
+
+			return -1;
+		}
+
+		int indexOf(final byte b, final int from) {
+			for (int i = from; i < len; ++i) {
+				if (data[i] == b) {
+					return i;
+				}
+			}
+
+			return -1;
+		}
+
+		@NonNull
+		String toString(final int start, final int end) {
+			return new String(data, start, end - start, Charset.defaultCharset());
+		}
+
+		void truncate(final int new_len) {
+			len = new_len;
+		}
+
+		@NonNull
+		byte[] toByteArray() {
+			return Arrays.copyOf(data, len);
+		}
+	}
+}
@@ -90,13 +90,27 @@ public final class UtilsAudio {
 	 * @param gain the gain to apply to the data
 	 */
 	public static void adjustGainBuffer(@NonNull final short[] audio_bytes, final float gain) {
+		adjustGainBuffer(audio_bytes, 0, audio_bytes.length, gain);
+	}
+
+	/**
+	 * <p>Same as {@link #adjustGainBuffer(short[], float)} but only on part of the buffer.</p>
+	 *
+	 * @param audio_bytes the audio data
+	 * @param offset the index of the first sample to adjust
+	 * @param length the number of samples to adjust
+	 * @param gain the gain to apply to the data
+	 */
+	public static void adjustGainBuffer(@NonNull final short[] audio_bytes, final int offset, final int length,
+										final float gain) {
 		if (Float.compare(1.0f, gain) == 0) {
 			return;
 		}
 
-		final int audio_length = audio_bytes.length;
-		for (int i = 0; i < audio_length; ++i) {
-			audio_bytes[i] = (short)Math.min((int)((float) audio_bytes[i] * gain), (int)Short.MAX_VALUE);
+		final int end = offset + length;
+		for (int i = offset; i < end; ++i) {
+			final int sample = (int) ((float) audio_bytes[i] * gain);
+			audio_bytes[i] = (short) Math.max(Math.min(sample, (int) Short.MAX_VALUE), (int) Short.MIN_VALUE);
 		}
 	}
 
@@ -22,25 +22,65 @@
 package com.edw590.visor_c_a.GlobalUtils;
 
 import androidx.annotation.NonNull;
-
-import org.apache.commons.io.FileUtils;
+import androidx.annotation.Nullable;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
-
-import UtilsSWA.UtilsSWA;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * <p>Utilities related to cryptographic hashing algorithms.</p>
+ * <p>Files are hashed in one streaming pass for all the requested algorithms, and the hashes are cached by path, size
+ * and modification time, so checking an unchanged file again doesn't read it again.</p>
  */
 public final class UtilsCryptoHashing {
 
+	/** Index of the MD5 algorithm. */
+	public static final int IDX_MD5 = 0;
+	/** Index of the SHA-1 algorithm. */
+	public static final int IDX_SHA1 = 1;
+	/** Index of the SHA-256 algorithm. */
+	public static final int IDX_SHA256 = 2;
+	/** Index of the SHA-384 algorithm. */
+	public static final int IDX_SHA384 = 3;
+	/** Index of the SHA-512 algorithm (the one of {@link UtilsSWA.UtilsSWA#getHashStringOfBytesCRYPTOHASHING(byte[])}). */
+	public static final int IDX_SHA512 = 4;
+	/** The {@link MessageDigest} names of the algorithms, by index. */
+	private static final String[] ALGORITHMS = {"MD5", "SHA-1", "SHA-256", "SHA-384", "SHA-512"};
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final int MAX_CACHED_FILES = 32;
+
+	/** Cache of the hashes of files, by path. Guarded by itself. */
+	private static final Map<String, CachedHashes> hashes_cache = new LinkedHashMap<String, CachedHashes>(
+			MAX_CACHED_FILES, 0.75f, true) {
+		private static final long serialVersionUID = -5385146741434622170L;
+
+		@Override
+		protected boolean removeEldestEntry(@NonNull final Map.Entry<String, CachedHashes> eldest) {
+			return size() > MAX_CACHED_FILES;
+		}
+	};
+
 	/**
 	 * <p>Private empty constructor so the class can't be instantiated (utility class).</p>
 	 */
 	private UtilsCryptoHashing() {
 	}
 
+	/**
+	 * <p>Same as {@link #fileMatchesHash(String, int, String[])} with {@link #IDX_SHA512}.</p>
+	 */
+	public static boolean fileMatchesHash(@NonNull final String file_path, @NonNull final String[] hashes) {
+		return fileMatchesHash(file_path, IDX_SHA512, hashes);
+	}
+
 	/**
 	 * <p>Checks if a file matches at least one of the given hashes.</p>
 	 * <br>
@@ -53,26 +93,140 @@ public final class UtilsCryptoHashing {
 	 * <p><u>---CONSTANTS---</u></p>
 	 *
 	 * @param file_path the complete file path
-	 * @param hashes a list of hashes, all calculated with the same algorithm, to check the file against
+	 * @param index_hash_algorithm the index of the algorithm the hashes were calculated with
+	 * @param hashes a list of hashes, all calculated with the same algorithm, to check the file against (uppercase
+	 * hexadecimal, like {@link UtilsSWA.UtilsSWA#getHashStringOfBytesCRYPTOHASHING(byte[])})
 	 *
 	 * @return true if the file could be read (means it exists and is accessible) and matches at least one of the hashes,
 	 * false otherwise
 	 */
-	public static boolean fileMatchesHash(@NonNull final String file_path, @NonNull final String[] hashes) {
-		final byte[] file_bytes;
-		try {
-			file_bytes = FileUtils.readFileToByteArray(new File(file_path));
-		} catch (final IOException ignored) {
+	public static boolean fileMatchesHash(@NonNull final String file_path, final int index_hash_algorithm,
+										  @NonNull final String[] hashes) {
+		final String[] hashes_file = getFileHashes(file_path, index_hash_algorithm);
+		if (hashes_file == null) {
 			return false;
 		}
 
-		final String hash_file = UtilsSWA.getHashStringOfBytesCRYPTOHASHING(file_bytes);
 		for (final String hash : hashes) {
-			if (hash.equals(hash_file)) {
+			if (hash.equalsIgnoreCase(hashes_file[0])) {
 				return true;
 			}
 		}
 
 		return false;
 	}
+
+	/**
+	 * <p>Calculates hashes of a file with various algorithms, reading it only once (and not at all if the hashes are
+	 * cached and the file didn't change).</p>
+	 *
+	 * @param file_path the complete file path
+	 * @param indexes_hash_algorithms the indexes of the algorithms (the IDX_ constants)
+	 *
+	 * @return the hashes in uppercase hexadecimal, in the order of the algorithms, or null if the file could not be read
+	 */
+	@Nullable
+	public static String[] getFileHashes(@NonNull final String file_path, @NonNull final int... indexes_hash_algorithms) {
+		final File file = new File(file_path);
+		final long size = file.length();
+		final long mtime = file.lastModified();
+		if (mtime == 0) {
+			// The file doesn't exist or can't be accessed.
+			return null;
+		}
+
+		final String[] hashes = new String[indexes_hash_algorithms.length];
+		CachedHashes cached_hashes;
+		synchronized (hashes_cache) {
+			cached_hashes = hashes_cache.get(file_path);
+			if (cached_hashes == null || cached_hashes.size != size || cached_hashes.mtime != mtime) {
+				cached_hashes = new CachedHashes(size, mtime);
+			}
+
+			boolean all_cached = true;
+			for (int i = 0; i < indexes_hash_algorithms.length; ++i) {
+				hashes[i] = cached_hashes.hashes[indexes_hash_algorithms[i]];
+				all_cached = all_cached && hashes[i] != null;
+			}
+			if (all_cached) {
+				return hashes;
+			}
+		}
+
+		// Only the missing ones, all in the same pass.
+		final MessageDigest[] digests = new MessageDigest[indexes_hash_algorithms.length];
+		try {
+			for (int i = 0; i < indexes_hash_algorithms.length; ++i) {
+				if (hashes[i] == null) {
+					digests[i] = MessageDigest.getInstance(ALGORITHMS[indexes_hash_algorithms[i]]);
+				}
+			}
+		} catch (final NoSuchAlgorithmException ignored) {
+			return null;
+		}
+
+		try (final InputStream input = new FileInputStream(file)) {
+			final byte[] buffer = new byte[BUFFER_SIZE];
+			int len;
+			while ((len = input.read(buffer)) != -1) {
+				for (final MessageDigest digest : digests) {
+					if (digest != null) {
+						digest.update(buffer, 0, len);
+					}
+				}
+			}
+		} catch (final IOException ignored) {
+			return null;
+		}
+
+		for (int i = 0; i < digests.length; ++i) {
+			if (digests[i] != null) {
+				hashes[i] = toHex(digests[i].digest());
+			}
+		}
+
+		// Only cache if the file didn't change while it was being read.
+		if (file.length() == size && file.lastModified() == mtime) {
+			synchronized (hashes_cache) {
+				for (int i = 0; i < indexes_hash_algorithms.length; ++i) {
+					cached_hashes.hashes[indexes_hash_algorithms[i]] = hashes[i];
+				}
+				hashes_cache.put(file_path, cached_hashes);
+			}
+		}
+
+		return hashes;
+	}
+
+	/**
+	 * <p>Converts bytes to uppercase hexadecimal.</p>
+	 *
+	 * @param bytes the bytes
+	 *
+	 * @return the hexadecimal string
+	 */
+	@NonNull
+	private static String toHex(@NonNull final byte[] bytes) {
+		final StringBuilder hex = new StringBuilder(bytes.length * 2);
+		for (final byte b : bytes) {
+			hex.append(String.format(Locale.ENGLISH, "%02X", b));
+		}
+
+		return hex.toString();
+	}
+
+	/**
+	 * <p>Hashes of a file with a given size and modification time.</p>
+	 */
+	private static final class CachedHashes {
+		final long size;
+		final long mtime;
+		/** The hashes by algorithm index, null if not calculated. */
+		@NonNull final String[] hashes = new String[ALGORITHMS.length];
+
+		CachedHashes(final long size, final long mtime) {
+			this.size = size;
+			this.mtime = mtime;
+		}
+	}
 }
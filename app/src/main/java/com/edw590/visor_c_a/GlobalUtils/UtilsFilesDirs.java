@@ -28,9 +28,16 @@ import androidx.annotation.Nullable;
 
 import org.apache.commons.io.FileUtils;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
 
 import UtilsSWA.UtilsSWA;
 import kotlin.io.FilesKt;
@@ -40,9 +47,20 @@ import kotlin.io.FilesKt;
  * <p>All the functions try to do what they're supposed through SDK methods. If it's not possible (no permissions, for
  * example), they'll resort to shell commands, in which they will attempt to request SU permission.</p>
  * <p>For the reason above, all functions work with shell exit codes - get some from {@link UtilsShell.ErrCodes}.</p>
+ * <p>The shell fallbacks of the streams and of the file reads and writes transfer the data in chunks of at most
+ * {@link #SHELL_READ_CHUNK_SIZE} and {@link #SHELL_WRITE_CHUNK_SIZE} bytes, so they use constant memory.</p>
  */
 public final class UtilsFilesDirs {
 
+	/** Size of the chunks read from a file through the shell. */
+	private static final int SHELL_READ_CHUNK_SIZE = 256 * 1024;
+	/** Block size of dd when reading through the shell ({@link #SHELL_READ_CHUNK_SIZE} must be a multiple of it). */
+	private static final int SHELL_READ_BLOCK_SIZE = 64 * 1024;
+	/** Size of the chunks written to a file through the shell (each one is encoded into 4-5 times its size). */
+	private static final int SHELL_WRITE_CHUNK_SIZE = 16 * 1024;
+	/** Size of the buffer used to copy between streams. */
+	private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
 	/**
 	 * <p>Private empty constructor so the class can't be instantiated (utility class).</p>
 	 */
@@ -146,20 +164,90 @@ public final class UtilsFilesDirs {
 		} catch (final Exception ignored) {
 		}
 
-		final String command = "ls -l '" + file_path + "'";
+		// The column of the size on "ls -l" changes between toolbox and toybox, so this asks for the size only (wc is
+		// for where stat is not available).
+		final String command = "stat -c %s '" + file_path + "' 2>/dev/null || wc -c < '" + file_path + "'";
 		final UtilsShell.CmdOutput cmdOutput = UtilsShell.executeShellCmd(true, command);
 
-		if (cmdOutput.exit_code != 0) {
+		if (cmdOutput.exit_code != 0 || cmdOutput.output_stream == null) {
 			return -1L;
 		}
 
 		final String output_data = UtilsSWA.bytesToPrintableDATACONV(cmdOutput.output_stream, false);
+		try {
+			return Long.parseLong(output_data.trim());
+		} catch (final NumberFormatException ignored) {
+			return -1L;
+		}
+	}
+
+	/**
+	 * <p>Opens a file for reading, streaming it through the shell in chunks if it can't be opened directly.</p>
+	 * <p>The shell stream's errors are thrown on its read methods.</p>
+	 *
+	 * @param file_path the path to the file
+	 *
+	 * @return the stream
+	 */
+	@NonNull
+	private static InputStream openFileInput(@NonNull final GPath file_path) {
+		try {
+			return new FileInputStream(file_path.toString());
+		} catch (final Exception ignored) {
+		}
 
-		return Long.parseLong(output_data.split(" ")[3]);
+		return new ShellFileInputStream(file_path);
 	}
 
 	/**
-	 * <p>Reads the bytes from the given file using the cat shell command.</p>
+	 * <p>Opens a file for writing (replaces all file contents), streaming it through the shell in chunks if it can't be
+	 * opened directly.</p>
+	 * <p>ATTENTION: the shell stream does NOT create parent directories!</p>
+	 *
+	 * @param file_path the path to the file
+	 *
+	 * @return the stream, or null if the file couldn't be opened at all
+	 */
+	@Nullable
+	private static OutputStream openFileOutput(@NonNull final GPath file_path) {
+		try {
+			return new FileOutputStream(file_path.toString());
+		} catch (final Exception ignored) {
+		}
+
+		final String command = ": > '" + file_path + "'";
+		if (!UtilsShell.noErr(UtilsShell.executeShellCmd(true, command).exit_code)) {
+			return null;
+		}
+
+		return new ShellFileOutputStream(file_path);
+	}
+
+	/**
+	 * <p>Copies everything from a stream to another, with a fixed size buffer. Neither stream is closed.</p>
+	 *
+	 * @param input the stream to read from
+	 * @param output the stream to write to
+	 *
+	 * @return the number of bytes copied
+	 *
+	 * @throws IOException if an error occurs reading or writing
+	 */
+	private static long copyStream(@NonNull final InputStream input, @NonNull final OutputStream output)
+			throws IOException {
+		final byte[] buffer = new byte[COPY_BUFFER_SIZE];
+		long total = 0;
+		int len;
+		while ((len = input.read(buffer)) != -1) {
+			output.write(buffer, 0, len);
+			total += len;
+		}
+
+		return total;
+	}
+
+	/**
+	 * <p>Reads the bytes from the given file.</p>
 	 *
 	 * @param file_path the path to the file
 	 *
@@ -167,26 +255,32 @@ public final class UtilsFilesDirs {
 	 */
 	@Nullable
 	public static byte[] readFileBytes(@NonNull final GPath file_path) {
-		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-			try {
+		try {
+			if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
 				return Files.readAllBytes(new File(file_path.toString()).toPath());
-			} catch (final Exception ignored) {
-			} catch (final OutOfMemoryError ignored) {
-				return null;
+			} else {
+				return FileUtils.readFileToByteArray(new File(file_path.toString()));
 			}
+		} catch (final Exception ignored) {
+		} catch (final OutOfMemoryError ignored) {
+			return null;
 		}
 
-		final String command = "cat '" + file_path + "'";
+		final ShellFileInputStream input = new ShellFileInputStream(file_path);
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try {
+			copyStream(input, output);
+		} catch (final IOException ignored) {
+			return null;
+		} catch (final OutOfMemoryError ignored) {
+			return null;
+		}
 
-		// Ignore the warning about the clone. No problem with it. This is a utility method. It won't use the object
-		// for anything other than to return it. Performance gained (imagine it's a big file...).
-		return UtilsShell.executeShellCmd(true, command).output_stream;
+		return output.toByteArray();
 	}
 
 	/**
 	 * <p>Writes the given files bytes to a file (replaces all file contents).</p>
-	 * <p>ATTENTION: try not to give too big files to this function without checking write permissions, because the
-	 * function that uses shell commands is (notice the name) {@link #writeSmallFile(GPath, byte[])}.</p>
 	 * <p>ATTENTION: if {@link FileUtils#writeByteArrayToFile(File, byte[])} can't write the file,
 	 * {@link #writeSmallFile(GPath, byte[])} will be called which does NOT create parent directories!</p>
 	 *
@@ -207,38 +301,132 @@ public final class UtilsFilesDirs {
 	}
 
 	/**
-	 * <p>Same as {@link #writeFile(GPath, byte[])}, but only uses a shell command.</p>
-	 * <p>ONLY with small files!!! <strong>This function allocates 4-5 times the file size into memory!</strong></p>
-	 * <p>Allocates 4 times more on KitKat+, and 5 times more below that.</p>
+	 * <p>Same as {@link #writeFile(GPath, byte[])}, but atomically: the bytes are written to a temporary file next to
+	 * the given one, which then replaces it with a single rename. So the file always exists and has either the old or
+	 * the new contents, never half of them.</p>
+	 *
+	 * @param file_path the path to the file
+	 * @param file_bytes the bytes to write
+	 * @param backup_path the path to copy the old file to before replacing it, or null to not keep it
+	 *
+	 * @return same as {@link UtilsShell#executeShellCmd(boolean, String)}
+	 */
+	public static int writeFileAtomically(@NonNull final GPath file_path, @NonNull final byte[] file_bytes,
+										  @Nullable final GPath backup_path) {
+		final GPath temp_path = new GPath(false, file_path + ".tmp");
+
+		int ret = writeFile(temp_path, file_bytes);
+		if (ret != UtilsShell.ErrCodes.NO_ERR) {
+			removePath(temp_path, false);
+
+			return ret;
+		}
+
+		if (backup_path != null && checkPathExists(file_path) == UtilsShell.ErrCodes.NO_ERR) {
+			// Only done after the new file was written, so the backup is always of a complete file. Copied and not
+			// moved, so that the file is still there in case the rename below fails or the app dies before it.
+			ret = copyPath(file_path, backup_path);
+			if (ret != UtilsShell.ErrCodes.NO_ERR) {
+				removePath(temp_path, false);
+
+				return ret;
+			}
+		}
+
+		return renameOver(temp_path, file_path);
+	}
+
+	/**
+	 * <p>Renames a file over another one on the same directory, atomically replacing it.</p>
+	 *
+	 * @param src_path the path to the new file
+	 * @param dest_path the path to the file to replace
+	 *
+	 * @return same as {@link UtilsShell#executeShellCmd(boolean, String)}
+	 */
+	private static int renameOver(@NonNull final GPath src_path, @NonNull final GPath dest_path) {
+		try {
+			final File src_path_file = new File(src_path.toString());
+			final File dest_path_file = new File(dest_path.toString());
+			if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+				Files.move(src_path_file.toPath(), dest_path_file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+						StandardCopyOption.REPLACE_EXISTING);
+
+				return UtilsShell.ErrCodes.NO_ERR;
+			} else if (src_path_file.renameTo(dest_path_file)) {
+				// rename() - replaces the destination atomically.
+				return UtilsShell.ErrCodes.NO_ERR;
+			}
+		} catch (final Exception ignored) {
+		}
+
+		// Same directory, so mv is also a rename().
+		final String command = "mv -f '" + src_path + "' '" + dest_path + "'";
+
+		return UtilsShell.executeShellCmd(true, command).exit_code;
+	}
+
+	/**
+	 * <p>Same as {@link #writeFile(GPath, byte[])}, but only uses shell commands.</p>
+	 * <p>The bytes are written in chunks of {@link #SHELL_WRITE_CHUNK_SIZE} bytes, each encoded into 4-5 times its size
+	 * (4 times on KitKat+, and 5 times below that).</p>
 	 * <p>ATTENTION: this function does NOT create parent directories!</p>
 	 */
 	private static int writeSmallFile(@NonNull final GPath file_path, @NonNull final byte[] file_bytes) {
+		if (file_bytes.length == 0) {
+			return UtilsShell.executeShellCmd(true, ": > '" + file_path + "'").exit_code;
+		}
+
+		for (int offset = 0; offset < file_bytes.length; offset += SHELL_WRITE_CHUNK_SIZE) {
+			final int len = Math.min(SHELL_WRITE_CHUNK_SIZE, file_bytes.length - offset);
+			final int ret = writeChunkShell(file_path, file_bytes, offset, len, offset != 0);
+			if (ret != UtilsShell.ErrCodes.NO_ERR) {
+				return ret;
+			}
+		}
+
+		return UtilsShell.ErrCodes.NO_ERR;
+	}
+
+	/**
+	 * <p>Writes a chunk of bytes to a file using a shell command.</p>
+	 *
+	 * @param file_path the path to the file
+	 * @param bytes the array with the chunk
+	 * @param offset the index of the chunk on the array
+	 * @param len the length of the chunk
+	 * @param append true to append to the file, false to replace its contents
+	 *
+	 * @return same as {@link UtilsShell#executeShellCmd(boolean, String)}
+	 */
+	private static int writeChunkShell(@NonNull final GPath file_path, @NonNull final byte[] bytes, final int offset,
+									   final int len, final boolean append) {
+		final byte[] chunk = offset == 0 && len == bytes.length ? bytes : Arrays.copyOfRange(bytes, offset, offset + len);
 		final String bytes_data;
 		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
 			// This is here because hex takes less size on memory than octal when in string representation (2 vs 3 chars).
 			// On miTab Advance (KitKat 4.4.2), hex is supported, so I'm putting it as minimum for it (didn't check
 			// APIs 16-18 though).
-			bytes_data = "\\x" + UtilsSWA.bytesToHexDATACONV(file_bytes).replace(" ", "\\x"); // 4 * file size
+			bytes_data = "\\x" + UtilsSWA.bytesToHexDATACONV(chunk).replace(" ", "\\x"); // 4 * chunk size
 		} else {
 			// Leave it in octal form here. Android 4.0.3 doesn't support hex with echo, it seems - but supports octal.
-			bytes_data = "\\0" + UtilsSWA.bytesToOctalDATACONV(file_bytes).replace(" ", "\\0"); // 5 * file size
+			bytes_data = "\\0" + UtilsSWA.bytesToOctalDATACONV(chunk).replace(" ", "\\0"); // 5 * chunk size
 		}
 
-		final String command = "echo -ne '" + bytes_data + "' > '" + file_path + "'";
+		final String command = "echo -ne '" + bytes_data + "' " + (append ? ">>" : ">") + " '" + file_path + "'";
 
 		return UtilsShell.executeShellCmd(true, command).exit_code;
 	}
 
 	/**
 	 * <p>Copies the source path to the destination path (file, directory, whatever).</p>
-	 * <p>ATTENTION: try not to give too big files to this function without checking write permissions and SDK version,
-	 * because... read this: {@link #writeFile(GPath, byte[])} - can only happen below Android KitKat.</p>
+	 * <p>Below KitKat, if the SDK can't copy it, only files can be copied (streamed through the shell).</p>
 	 *
 	 * @param src_path the source file path
 	 * @param dest_path the destination file path
 	 *
 	 * @return if on KitKat+, same as {@link UtilsShell#executeShellCmd(boolean, String)}; else, aside from that,
-	 * -1 if the source file could not be read
+	 * -1 if the file could not be read or written
 	 */
 	public static int copyPath(@NonNull final GPath src_path, @NonNull final GPath dest_path) {
 		try {
@@ -254,12 +442,23 @@ public final class UtilsFilesDirs {
 
 			return UtilsShell.executeShellCmd(true, command).exit_code;
 		} else {
-			final byte[] src_bytes = readFileBytes(src_path);
-			if (src_bytes == null) {
+			final OutputStream output = openFileOutput(dest_path);
+			if (output == null) {
 				return -1;
 			}
+			try (final InputStream input = openFileInput(src_path)) {
+				copyStream(input, output);
+				output.close();
+			} catch (final IOException ignored) {
+				try {
+					output.close();
+				} catch (final IOException ignored1) {
+				}
 
-			return writeFile(dest_path, src_bytes); // 4 times the size
+				return -1;
+			}
+
+			return UtilsShell.ErrCodes.NO_ERR;
 		}
 	}
 
@@ -296,4 +495,130 @@ public final class UtilsFilesDirs {
 
 		return UtilsShell.executeShellCmd(true, command).exit_code;
 	}
+
+	/**
+	 * <p>Stream of a file read through the shell, in chunks of {@link #SHELL_READ_CHUNK_SIZE} bytes (each one a
+	 * dd command).</p>
+	 */
+	private static final class ShellFileInputStream extends InputStream {
+		@NonNull private final GPath file_path;
+		/** The current chunk. */
+		@NonNull private byte[] chunk = new byte[0];
+		private int chunk_pos = 0;
+		/** The number of the next chunk to read. */
+		private long next_chunk = 0;
+		private boolean eof = false;
+
+		ShellFileInputStream(@NonNull final GPath file_path) {
+			this.file_path = file_path;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (!fillChunk()) {
+				return -1;
+			}
+
+			return chunk[chunk_pos++] & 0xFF;
+		}
+
+		@Override
+		public int read(@NonNull final byte[] b, final int off, final int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (!fillChunk()) {
+				return -1;
+			}
+
+			final int copied = Math.min(len, chunk.length - chunk_pos);
+			System.arraycopy(chunk, chunk_pos, b, off, copied);
+			chunk_pos += copied;
+
+			return copied;
+		}
+
+		/**
+		 * <p>Reads the next chunk if the current one was consumed.</p>
+		 *
+		 * @return true if there are bytes available, false on end of file
+		 */
+		private boolean fillChunk() throws IOException {
+			if (chunk_pos < chunk.length) {
+				return true;
+			}
+			if (eof) {
+				return false;
+			}
+
+			final int blocks = SHELL_READ_CHUNK_SIZE / SHELL_READ_BLOCK_SIZE;
+			final String command = "dd if='" + file_path + "' bs=" + SHELL_READ_BLOCK_SIZE + " skip=" +
+					next_chunk * blocks + " count=" + blocks + " 2>/dev/null";
+			final UtilsShell.CmdOutput cmdOutput = UtilsShell.executeShellCmd(true, command);
+			if (cmdOutput.exit_code != UtilsShell.ErrCodes.NO_ERR || cmdOutput.output_stream == null) {
+				throw new IOException("Error " + cmdOutput.exit_code + " reading " + file_path);
+			}
+
+			chunk = cmdOutput.output_stream;
+			chunk_pos = 0;
+			++next_chunk;
+			eof = chunk.length < SHELL_READ_CHUNK_SIZE;
+
+			return chunk.length > 0;
+		}
+	}
+
+	/**
+	 * <p>Stream of a file written through the shell, in chunks of {@link #SHELL_WRITE_CHUNK_SIZE} bytes appended to
+	 * it (the file must have been truncated before).</p>
+	 */
+	private static final class ShellFileOutputStream extends OutputStream {
+		@NonNull private final GPath file_path;
+		@NonNull private final byte[] buffer = new byte[SHELL_WRITE_CHUNK_SIZE];
+		private int buffer_len = 0;
+
+		ShellFileOutputStream(@NonNull final GPath file_path) {
+			this.file_path = file_path;
+		}
+
+		@Override
+		public void write(final int b) throws IOException {
+			buffer[buffer_len++] = (byte) b;
+			if (buffer_len == buffer.length) {
+				flush();
+			}
+		}
+
+		@Override
+		public void write(@NonNull final byte[] b, int off, int len) throws IOException {
+			while (len > 0) {
+				final int copied = Math.min(len, buffer.length - buffer_len);
+				System.arraycopy(b, off, buffer, buffer_len, copied);
+				buffer_len += copied;
+				off += copied;
+				len -= copied;
+				if (buffer_len == buffer.length) {
+					flush();
+				}
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (buffer_len == 0) {
+				return;
+			}
+
+			final int ret = writeChunkShell(file_path, buffer, 0, buffer_len, true);
+			buffer_len = 0;
+			if (ret != UtilsShell.ErrCodes.NO_ERR) {
+				throw new IOException("Error " + ret + " writing " + file_path);
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			flush();
+		}
+	}
 }
@@ -25,6 +25,7 @@ import android.app.ActivityManager;
 import android.content.Context;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 /**
  * <p>Global processes-related utilities.</p>
@@ -79,4 +80,26 @@ public final class UtilsProcesses {
     public static int getCurrentPID() {
         return android.os.Process.myPid();
     }
+
+    /**
+     * <p>Gets the name of the current process.</p>
+     *
+     * @return the name of the current process, or null if it could not be found
+     */
+    @Nullable
+    public static String getCurrentProcessName() {
+        final ActivityManager manager = (ActivityManager) UtilsContext.getSystemService(Context.ACTIVITY_SERVICE);
+        if (manager == null || manager.getRunningAppProcesses() == null) {
+            return null;
+        }
+
+        final int pid = getCurrentPID();
+        for (final ActivityManager.RunningAppProcessInfo process_info : manager.getRunningAppProcesses()) {
+            if (process_info.pid == pid) {
+                return process_info.processName;
+            }
+        }
+
+        return null;
+    }
 }
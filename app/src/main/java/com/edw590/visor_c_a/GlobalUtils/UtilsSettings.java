@@ -21,7 +21,12 @@
 
 package com.edw590.visor_c_a.GlobalUtils;
 
+import android.os.SystemClock;
+
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.edw590.visor_c_a.Registry.UtilsRegistry;
 
 import java.nio.charset.Charset;
 
@@ -39,6 +44,25 @@ public final class UtilsSettings {
 	private UtilsSettings() {
 	}
 
+	/** Interval in which {@link #saveSettingsIfChanged(boolean)} is supposed to be called. */
+	public static final long SAVE_CHECK_INTERVAL = 5_000;
+	/** Maximum time the saving of changed settings can be postponed while they keep changing. */
+	private static final long MAX_SAVE_DELAY = 30_000;
+
+	/**
+	 * <p>Persistence state of a settings file.</p>
+	 */
+	private static final class SaveState {
+		/** The JSON last written to (or read from) the file, or null if none. */
+		@Nullable String written_json = null;
+		/** The changed JSON seen on the last check, or null if there were no changes. */
+		@Nullable String pending_json = null;
+		/** When {@link #pending_json} was first set, in {@link SystemClock#elapsedRealtime()} time. */
+		long pending_since = 0;
+	}
+	private static final SaveState user_save_state = new SaveState();
+	private static final SaveState gen_save_state = new SaveState();
+
 	/**
 	 * <p>Reads and loads the User and Generated settings from disk.</p>
 	 *
@@ -60,6 +84,13 @@ public final class UtilsSettings {
 			} else {
 				SettingsSync.loadGenSettings(UtilsSWA.bytesToPrintableDATACONV(file_bytes, false));
 			}
+
+			// The file is up to date, so don't write it again until something changes. If it was the backup that was
+			// loaded, the main file will be written on the next check.
+			final SaveState save_state = user_settings ? user_save_state : gen_save_state;
+			synchronized (save_state) {
+				save_state.written_json = getJson(user_settings);
+			}
 		} catch (final Exception e) {
 			file_bytes = UtilsFilesDirs.readFileBytes(backup_file);
 			try {
@@ -81,19 +112,79 @@ public final class UtilsSettings {
 	}
 
 	/**
-	 * <p>Writes the User and Generated settings to disk.</p>
+	 * <p>Writes the User or Generated settings to disk, but only if they changed since the last write.</p>
+	 * <p>Bursts of changes are coalesced: the settings are only written once they stop changing between calls, or once
+	 * they've been changing for {@link #MAX_SAVE_DELAY}.</p>
+	 * <p>Call every {@link #SAVE_CHECK_INTERVAL}.</p>
+	 *
+	 * @param user_settings true for the user settings, false for the generated settings
+	 */
+	public static void saveSettingsIfChanged(final boolean user_settings) {
+		final SaveState save_state = user_settings ? user_save_state : gen_save_state;
+		final String json = getJson(user_settings);
+
+		synchronized (save_state) {
+			if (json.equals(save_state.written_json)) {
+				save_state.pending_json = null;
+
+				return;
+			}
+
+			if (save_state.pending_json == null) {
+				if (save_state.written_json != null) {
+					// First change seen - wait one more check in case more changes come. If nothing was written yet,
+					// write right away.
+					save_state.pending_json = json;
+					save_state.pending_since = SystemClock.elapsedRealtime();
+
+					return;
+				}
+			} else if (!json.equals(save_state.pending_json) &&
+					SystemClock.elapsedRealtime() - save_state.pending_since < MAX_SAVE_DELAY) {
+				// Still changing - wait for it to settle.
+				save_state.pending_json = json;
+
+				return;
+			}
+
+			if (writeSettingsFile(json, user_settings)) {
+				save_state.written_json = json;
+				save_state.pending_json = null;
+			}
+		}
+	}
+
+	/**
+	 * <p>Gets the JSON of the User or Generated settings.</p>
+	 *
+	 * @param user_settings true for the user settings, false for the generated settings
+	 *
+	 * @return the JSON string
+	 */
+	@NonNull
+	private static String getJson(final boolean user_settings) {
+		// Write any Registry changes still only on the cache first.
+		UtilsRegistry.flush();
+
+		return user_settings ? SettingsSync.getJsonUserSettings() : SettingsSync.getJsonGenSettings();
+	}
+
+	/**
+	 * <p>Writes the User or Generated settings to disk, atomically, moving the previous file to the backup file.</p>
 	 *
 	 * @param json the JSON string to write
 	 * @param user_settings true if the user settings should be saved, false if the generated settings should be saved
+	 *
+	 * @return true if the settings were written, false otherwise
 	 */
-	public static void writeSettingsFile(@NonNull final String json, final boolean user_settings) {
+	public static boolean writeSettingsFile(@NonNull final String json, final boolean user_settings) {
 		String settings_file_str = user_settings ? UtilsSWA.USER_SETTINGS_FILE : UtilsSWA.GEN_SETTINGS_FILE_CLIENT;
 		String backup_file_str = settings_file_str + ".bak";
 
 		GPath settings_file = new GPath(true, GL_CONSTS.VISOR_EXT_FOLDER_PATH).add2(false, settings_file_str);
 		GPath backup_file = new GPath(true, GL_CONSTS.VISOR_EXT_FOLDER_PATH).add2(false, backup_file_str);
 
-		UtilsFilesDirs.writeFile(settings_file, json.getBytes(Charset.defaultCharset()));
-		UtilsFilesDirs.writeFile(backup_file, json.getBytes(Charset.defaultCharset()));
+		return UtilsFilesDirs.writeFileAtomically(settings_file, json.getBytes(Charset.defaultCharset()),
+				backup_file) == UtilsShell.ErrCodes.NO_ERR;
 	}
 }
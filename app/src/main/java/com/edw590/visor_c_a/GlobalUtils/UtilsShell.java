@@ -24,6 +24,7 @@ package com.edw590.visor_c_a.GlobalUtils;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 
@@ -50,6 +51,21 @@ public final class UtilsShell {
 		public static final int PERM_DENIED = 13;
 	}
 
+	/** Maximum number of root shell sessions open at the same time. */
+	private static final int ROOT_SESSIONS_MAX = 2;
+	/** Maximum time for commands to finish on a root shell session. */
+	private static final long ROOT_CMD_TIMEOUT = 120_000;
+	/** Time to wait before trying to start a root shell session again after it failed (like if root is denied). */
+	private static final long ROOT_SESSION_RETRY_DELAY = 60_000;
+
+	private static final Object root_sessions_lock = new Object();
+	/** The root shell sessions not executing commands. Guarded by {@link #root_sessions_lock}. */
+	private static final ArrayDeque<RootShellSession> idle_root_sessions = new ArrayDeque<>(ROOT_SESSIONS_MAX);
+	/** The root shell sessions open or starting. Guarded by {@link #root_sessions_lock}. */
+	private static int root_sessions_open = 0;
+	/** When starting a root shell session last failed, or 0. Guarded by {@link #root_sessions_lock}. */
+	private static long root_session_failed_when = 0;
+
 	/**
 	 * <p>Private empty constructor so the class can't be instantiated (utility class).</p>
 	 */
@@ -98,6 +114,10 @@ public final class UtilsShell {
 	 * <p>- Don't add empty commands or just new lines.</p>
 	 * <p>- The return values are byte arrays. To get their printable form, use
 	 * {@link UtilsSWA#bytesToPrintableDATACONV(byte[], boolean)}.</p>
+	 * <br>
+	 * <p>With {@code attempt_su} and root access available, the commands are executed on one of a few persistent root
+	 * shell sessions instead of a new su process, and fail with {@link UtilsSWA#GENERIC_ERR} if they don't finish in
+	 * {@link #ROOT_CMD_TIMEOUT}. If no session can be started, they're executed as before.</p>
 	 *
 	 * @param attempt_su true to, in case the app has root permissions, call su before the given commands, false
 	 * otherwise (useful to execute commands with or without root allowed without wanting the error
@@ -108,12 +128,24 @@ public final class UtilsShell {
 	 */
 	@NonNull
 	public static CmdOutput executeShellCmd(final boolean attempt_su, @NonNull final Iterable<String> commands_list) {
+		final String commands = String.join("\n", commands_list);
+
+		if (attempt_su) {
+			final RootShellSession session = acquireRootSession();
+			if (session != null) {
+				final CmdOutput cmd_output = session.execute(commands, ROOT_CMD_TIMEOUT);
+				releaseRootSession(session);
+
+				return cmd_output != null ? cmd_output : new CmdOutput((int) UtilsSWA.GENERIC_ERR, null, null);
+			}
+		}
+
 		int exit_code;
 		byte[] output_stream = null;
 		byte[] error_stream = null;
 
 		try {
-			final byte[] cmd_output = UtilsSWA.execCmdSHELL(attempt_su, String.join("\n", commands_list));
+			final byte[] cmd_output = UtilsSWA.execCmdSHELL(attempt_su, commands);
 
 			exit_code = (int) UtilsSWA.getExitCodeSHELL(cmd_output);
 			output_stream = UtilsSWA.getStdoutSHELL(cmd_output);
@@ -126,6 +158,78 @@ public final class UtilsShell {
 
 		return new CmdOutput(exit_code, output_stream, error_stream);
 	}
+
+	/**
+	 * <p>Gets an idle root shell session, starting one if there's none and the maximum was not reached, or waiting for
+	 * one to be released otherwise.</p>
+	 *
+	 * @return the session, or null if none could be started (no root access, for example)
+	 */
+	@Nullable
+	private static RootShellSession acquireRootSession() {
+		synchronized (root_sessions_lock) {
+			while (true) {
+				final RootShellSession idle_session = idle_root_sessions.pollFirst();
+				if (idle_session != null) {
+					if (idle_session.isAlive()) {
+						return idle_session;
+					}
+					--root_sessions_open;
+
+					continue;
+				}
+
+				if (root_session_failed_when != 0 &&
+						System.currentTimeMillis() < root_session_failed_when + ROOT_SESSION_RETRY_DELAY) {
+					return null;
+				}
+				if (root_sessions_open < ROOT_SESSIONS_MAX) {
+					++root_sessions_open;
+
+					break;
+				}
+
+				try {
+					root_sessions_lock.wait();
+				} catch (final InterruptedException ignored) {
+					Thread.currentThread().interrupt();
+
+					return null;
+				}
+			}
+		}
+
+		// Started outside the lock - it may wait for the user to grant root access.
+		final RootShellSession session = RootShellSession.start();
+		synchronized (root_sessions_lock) {
+			if (session == null) {
+				--root_sessions_open;
+				root_session_failed_when = System.currentTimeMillis();
+				root_sessions_lock.notifyAll();
+			} else {
+				root_session_failed_when = 0;
+			}
+		}
+
+		return session;
+	}
+
+	/**
+	 * <p>Gives back a session gotten from {@link #acquireRootSession()}. If it died meanwhile, it's discarded (and a
+	 * new one is started when needed).</p>
+	 *
+	 * @param session the session
+	 */
+	private static void releaseRootSession(@NonNull final RootShellSession session) {
+		synchronized (root_sessions_lock) {
+			if (session.isAlive()) {
+				idle_root_sessions.addLast(session);
+			} else {
+				--root_sessions_open;
+			}
+			root_sessions_lock.notifyAll();
+		}
+	}
 	/**
 	 * <p>Class to use for the returning value of {@link #executeShellCmd(boolean, String)}.</p>
 	 * <p>Read the documentation of the class constructor to know more about it.</p>
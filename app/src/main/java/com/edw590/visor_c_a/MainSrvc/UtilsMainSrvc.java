@@ -86,7 +86,7 @@ public final class UtilsMainSrvc {
 			@Override
 			public void onCloseSystemDialogs(final String reason) {
 				if ("globalactions".equals(reason)) { // "globalactions" == Power menu
-					if ((boolean) UtilsRegistry.getData(RegistryKeys.K_IS_RECORDING_AUDIO_INTERNALLY, true)) {
+					if (UtilsRegistry.getBool(RegistryKeys.K_IS_RECORDING_AUDIO_INTERNALLY)) {
 						// If it's recording audio, it must be stopped. So stop and start the hotword recognizer.
 						UtilsAudioRecorderBC.recordAudio(false, -1, true);
 					} else {
@@ -129,7 +129,7 @@ public final class AudioRecorder implements IModuleInst {
 	 *                             pocketsphinx it. Outside that situation this parameter is ignored.
 	 */
 	void recordAudio(final boolean start, final int audio_source, final boolean restart_pocketsphinx) {
-		final boolean is_recording = (boolean) UtilsRegistry.getData(RegistryKeys.K_IS_RECORDING_AUDIO_INTERNALLY, true);
+		final boolean is_recording = UtilsRegistry.getBool(RegistryKeys.K_IS_RECORDING_AUDIO_INTERNALLY);
 
 		if (start) {
 			if (is_recording) {
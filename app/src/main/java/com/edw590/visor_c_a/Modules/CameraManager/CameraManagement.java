@@ -419,7 +419,7 @@ public final class CameraManagement implements IModuleInst {
 			return ERROR_ACCESSING_CAMERA;
 		}
 
-		final boolean flashlight_new_on = (boolean) UtilsRegistry.getData(RegistryKeys.K_MAIN_FLASHLIGHT_ENABLED, true);
+		final boolean flashlight_new_on = UtilsRegistry.getBool(RegistryKeys.K_MAIN_FLASHLIGHT_ENABLED);
 		// Even if the state was unknown (value is null), set it as false so that VISOR will try anyway even if it
 		// doesn't know the state.
 		if (set_enabled) {
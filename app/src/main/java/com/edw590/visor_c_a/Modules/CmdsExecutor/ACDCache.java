@@ -0,0 +1,190 @@
+/*
+ * Copyright 2021-2024 Edw590
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.edw590.visor_c_a.Modules.CmdsExecutor;
+
+import androidx.annotation.NonNull;
+
+import com.edw590.visor_c_a.Registry.RegistryKeys;
+import com.edw590.visor_c_a.Registry.UtilsRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import ACD.ACD;
+
+/**
+ * <p>Memoizing front-end to the Advanced Commands Detection module.</p>
+ * <br>
+ * <p>Keeps the last {@link #MAX_ENTRIES} results of {@link ACD#main(String, boolean, boolean, String)} in an LRU cache
+ * keyed on the normalized sentence and the previous command information, so that sentences said many times a day
+ * don't cross JNI every time.</p>
+ * <p>ALL changes to the ACD commands list MUST go through this class, or the cache will return outdated results.</p>
+ */
+public final class ACDCache {
+
+	/**
+	 * <p>Private empty constructor so the class can't be instantiated (utility class).</p>
+	 */
+	private ACDCache() {
+	}
+
+	/** Maximum number of cached results. */
+	private static final int MAX_ENTRIES = 64;
+
+	private static final Map<String, String> cache = new LinkedHashMap<String, String>(MAX_ENTRIES, 0.75f, true) {
+		private static final long serialVersionUID = 3186471739853962017L;
+
+		@Override
+		protected boolean removeEldestEntry(@NonNull final Map.Entry<String, String> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+	/** Incremented on every commands list change, so that results computed with an old list are not cached. */
+	private static long cmds_list_version = 0;
+
+	private static long hits = 0;
+	private static long misses = 0;
+	/** Total time spent inside the ACD on cache misses, in nanoseconds. */
+	private static long misses_time_ns = 0;
+
+	/**
+	 * <p>Same as {@link ACD#main(String, boolean, boolean, String)} with {@code remove_repet_cmds} false and
+	 * {@code invalidate_detec_words} true, but cached.</p>
+	 *
+	 * @param sentence_str same as in {@link ACD#main(String, boolean, boolean, String)}
+	 * @param prev_cmd_info same as in {@link ACD#main(String, boolean, boolean, String)}
+	 *
+	 * @return same as in {@link ACD#main(String, boolean, boolean, String)}
+	 */
+	@NonNull
+	public static String main(@NonNull final String sentence_str, @NonNull final String prev_cmd_info) {
+		final String key = normalizeSentence(sentence_str) + '\0' + prev_cmd_info;
+
+		final long version;
+		synchronized (cache) {
+			final String cached_output = cache.get(key);
+			if (cached_output != null) {
+				++hits;
+				updateRegistry();
+
+				return cached_output;
+			}
+
+			version = cmds_list_version;
+		}
+
+		final long start = System.nanoTime();
+		final String output = ACD.main(sentence_str, false, true, prev_cmd_info);
+		final long time_ns = System.nanoTime() - start;
+
+		synchronized (cache) {
+			++misses;
+			misses_time_ns += time_ns;
+			// Errors are not cached so that they're still reported if they happen again. Results from before a commands
+			// list change aren't either.
+			if (version == cmds_list_version && !output.startsWith(ACD.ERR_CMD_DETECT)) {
+				cache.put(key, output);
+			}
+			updateRegistry();
+		}
+
+		return output;
+	}
+
+	/**
+	 * <p>Calls {@link ACD#reloadCmdsArray(String)} and invalidates the cache.</p>
+	 *
+	 * @param commands_str same as in {@link ACD#reloadCmdsArray(String)}
+	 */
+	public static void reloadCmdsArray(@NonNull final String commands_str) {
+		synchronized (cache) {
+			ACD.reloadCmdsArray(commands_str);
+			invalidate();
+		}
+	}
+
+	/**
+	 * <p>Calls {@link ACD#addUpdateCmd(String)} and invalidates the cache.</p>
+	 *
+	 * @param command_info_str same as in {@link ACD#addUpdateCmd(String)}
+	 */
+	public static void addUpdateCmd(@NonNull final String command_info_str) {
+		synchronized (cache) {
+			ACD.addUpdateCmd(command_info_str);
+			invalidate();
+		}
+	}
+
+	/**
+	 * <p>Clears the cache. Must be called with the cache lock held.</p>
+	 */
+	private static void invalidate() {
+		cache.clear();
+		++cmds_list_version;
+	}
+
+	/**
+	 * <p>Updates the cache statistics on the registry. Must be called with the cache lock held.</p>
+	 */
+	private static void updateRegistry() {
+		UtilsRegistry.setData(RegistryKeys.K_ACD_CACHE_HITS, hits, false);
+		UtilsRegistry.setData(RegistryKeys.K_ACD_CACHE_MISSES, misses, false);
+		if (misses > 0) {
+			// Each hit saves, on average, the time of a miss.
+			UtilsRegistry.setData(RegistryKeys.K_ACD_CACHE_SAVED_TIME_MS, hits * (misses_time_ns / misses) / 1_000_000,
+					false);
+		}
+	}
+
+	/**
+	 * <p>Normalizes a sentence to be used as a cache key: lower case, trimmed and with single spaces between words.</p>
+	 *
+	 * @param sentence_str the sentence
+	 *
+	 * @return the normalized sentence
+	 */
+	@NonNull
+	static String normalizeSentence(@NonNull final String sentence_str) {
+		final String lower_sentence = sentence_str.toLowerCase(Locale.getDefault());
+		final int length = lower_sentence.length();
+		final StringBuilder stringBuilder = new StringBuilder(length);
+		boolean prev_space = true; // True to skip leading spaces
+		for (int i = 0; i < length; ++i) {
+			final char c = lower_sentence.charAt(i);
+			if (Character.isWhitespace(c)) {
+				if (!prev_space) {
+					stringBuilder.append(' ');
+					prev_space = true;
+				}
+			} else {
+				stringBuilder.append(c);
+				prev_space = false;
+			}
+		}
+		if (prev_space && stringBuilder.length() > 0) {
+			stringBuilder.setLength(stringBuilder.length() - 1);
+		}
+
+		return stringBuilder.toString();
+	}
+}
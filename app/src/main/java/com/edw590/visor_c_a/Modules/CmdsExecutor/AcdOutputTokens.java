@@ -0,0 +1,176 @@
+/*
+ * Copyright 2021-2024 Edw590
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.edw590.visor_c_a.Modules.CmdsExecutor;
+
+import androidx.annotation.NonNull;
+
+import com.edw590.visor_c_a.Modules.CmdsExecutor.CmdsList.CmdsDispatchTable;
+
+import ACD.ACD;
+
+/**
+ * <p>Zero-regex tokenizer of the output of {@link ACD#main(String, boolean, boolean, String)}.</p>
+ * <br>
+ * <p>The output has the form "last it|last and|\\//CMD1, CMD2, ...", with each command being like "14.00003". This
+ * scans it only once and keeps the results in reusable arrays, so that nothing is allocated per call (except the
+ * "it" and "and" strings, and only when they're present).</p>
+ * <p>One instance must only be used by one thread at a time.</p>
+ */
+final class AcdOutputTokens {
+
+	/** Value of {@link #cmd_variants} for commands without variant (like {@link ACD#WARN_WHATS_IT}). */
+	static final int NO_VARIANT = -1;
+
+	/** The last "it" detected by the ACD, or an empty string. */
+	@NonNull String prev_it = "";
+	/** The last "and" detected by the ACD, or an empty string. */
+	@NonNull String prev_and = "";
+	/** Number of detected commands on {@link #cmd_ids} and {@link #cmd_variants}. */
+	int cmds_num = 0;
+	/** The integer IDs of the detected commands ("14.00003" --> 14). */
+	@NonNull int[] cmd_ids = new int[16];
+	/** The variants of the detected commands ("14.00003" --> 3), or {@link #NO_VARIANT}. */
+	@NonNull int[] cmd_variants = new int[16];
+	/** Whether any detected command has an ID of 1 or more. */
+	boolean any_valid_cmd = false;
+
+	/**
+	 * <p>Tokenizes the given ACD output.</p>
+	 *
+	 * @param acd_output the output of {@link ACD#main(String, boolean, boolean, String)}
+	 *
+	 * @return true if the output has the commands information part, false otherwise (in which case nothing else is
+	 * valid in the instance)
+	 */
+	boolean tokenize(@NonNull final String acd_output) {
+		prev_it = "";
+		prev_and = "";
+		cmds_num = 0;
+		any_valid_cmd = false;
+
+		final int info_sep_index = acd_output.indexOf(ACD.INFO_CMDS_SEPARATOR);
+		if (info_sep_index == -1) {
+			return false;
+		}
+
+		// Previous command information
+		final char prev_sep = ACD.PREV_CMD_INFO_SEPARATOR.charAt(0);
+		final int it_end = indexOf(acd_output, prev_sep, 0, info_sep_index);
+		if (it_end != -1) {
+			if (it_end > 0) {
+				prev_it = acd_output.substring(0, it_end);
+			}
+			int and_end = indexOf(acd_output, prev_sep, it_end + 1, info_sep_index);
+			if (and_end == -1) {
+				and_end = info_sep_index;
+			}
+			if (and_end > it_end + 1) {
+				prev_and = acd_output.substring(it_end + 1, and_end);
+			}
+		} else if (info_sep_index > 0) {
+			prev_it = acd_output.substring(0, info_sep_index);
+		}
+
+		// Detected commands
+		final int length = acd_output.length();
+		int i = info_sep_index + ACD.INFO_CMDS_SEPARATOR.length();
+		while (i < length) {
+			// Skip the separator (", ") and any other non-command characters
+			char c = acd_output.charAt(i);
+			if (c != '-' && (c < '0' || c > '9')) {
+				++i;
+
+				continue;
+			}
+
+			boolean negative = false;
+			if (c == '-') {
+				negative = true;
+				++i;
+			}
+
+			int cmd_id = 0;
+			while (i < length && (c = acd_output.charAt(i)) >= '0' && c <= '9') {
+				cmd_id = cmd_id * 10 + (c - '0');
+				++i;
+			}
+
+			int cmd_variant = NO_VARIANT;
+			if (i < length && acd_output.charAt(i) == '.') {
+				++i;
+				cmd_variant = 0;
+				int digits = 0;
+				while (i < length && (c = acd_output.charAt(i)) >= '0' && c <= '9') {
+					if (digits < CmdsDispatchTable.VARIANT_DIGITS) {
+						cmd_variant = cmd_variant * 10 + (c - '0');
+					}
+					++digits;
+					++i;
+				}
+				// "1.02" is the same as "1.02000"
+				for (; digits < CmdsDispatchTable.VARIANT_DIGITS; ++digits) {
+					cmd_variant *= 10;
+				}
+			}
+
+			if (negative) {
+				cmd_id = -cmd_id;
+			} else if (cmd_id >= 1) {
+				any_valid_cmd = true;
+			}
+
+			if (cmds_num == cmd_ids.length) {
+				final int[] new_cmd_ids = new int[cmds_num * 2];
+				final int[] new_cmd_variants = new int[cmds_num * 2];
+				System.arraycopy(cmd_ids, 0, new_cmd_ids, 0, cmds_num);
+				System.arraycopy(cmd_variants, 0, new_cmd_variants, 0, cmds_num);
+				cmd_ids = new_cmd_ids;
+				cmd_variants = new_cmd_variants;
+			}
+			cmd_ids[cmds_num] = cmd_id;
+			cmd_variants[cmds_num] = cmd_variant;
+			++cmds_num;
+		}
+
+		return true;
+	}
+
+	/**
+	 * <p>Same as {@link String#indexOf(int, int)} but with an exclusive end index.</p>
+	 *
+	 * @param str the string to search
+	 * @param c the character to find
+	 * @param from the index to start from
+	 * @param to the exclusive index to stop at
+	 *
+	 * @return the index of the character, or -1 if it wasn't found
+	 */
+	private static int indexOf(@NonNull final String str, final char c, final int from, final int to) {
+		for (int i = from; i < to; ++i) {
+			if (str.charAt(i) == c) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+}
@@ -49,4 +49,38 @@ final class CONSTS_BC_CmdsExec {
 	static final String EXTRA_CALL_PROCESS_TASK_2 = "CmdsExecutor_EXTRA_CALL_PROCESS_TASK_2";
 	static final String EXTRA_CALL_PROCESS_TASK_3 = "CmdsExecutor_EXTRA_CALL_PROCESS_TASK_3";
 	static final String EXTRA_CALL_PROCESS_TASK_4 = "CmdsExecutor_EXTRA_CALL_PROCESS_TASK_4";
+
+	/**
+	 * <p>Executed function: none - opens a new {@link CmdsDetectionSession} (replacing the current one, if any).</p>
+	 * <p>Is broadcast by the class(es): {@link UtilsCmdsExecutorBC}.</p>
+	 * <p>To be received only by the class(es): {@link CmdsExecutor}.</p>
+	 * <p>Extras (ordered parameters):</p>
+	 * <p>- {@link #EXTRA_OPEN_DETECTION_SESSION_1} (long): mandatory</p>
+	 */
+	static final String ACTION_OPEN_DETECTION_SESSION = "CmdsExecutor_OPEN_DETECTION_SESSION";
+	static final String EXTRA_OPEN_DETECTION_SESSION_1 = "CmdsExecutor_EXTRA_OPEN_DETECTION_SESSION_1";
+
+	/**
+	 * <p>Executed function: {@link CmdsDetectionSession#feedPartial(String)}.</p>
+	 * <p>Is broadcast by the class(es): {@link UtilsCmdsExecutorBC}.</p>
+	 * <p>To be received only by the class(es): {@link CmdsExecutor}.</p>
+	 * <p>Extras (ordered parameters):</p>
+	 * <p>- {@link #EXTRA_FEED_DETECTION_SESSION_1} (long): mandatory</p>
+	 * <p>- {@link #EXTRA_FEED_DETECTION_SESSION_2} (String): mandatory</p>
+	 */
+	static final String ACTION_FEED_DETECTION_SESSION = "CmdsExecutor_FEED_DETECTION_SESSION";
+	static final String EXTRA_FEED_DETECTION_SESSION_1 = "CmdsExecutor_EXTRA_FEED_DETECTION_SESSION_1";
+	static final String EXTRA_FEED_DETECTION_SESSION_2 = "CmdsExecutor_EXTRA_FEED_DETECTION_SESSION_2";
+
+	/**
+	 * <p>Executed function: {@link CmdsDetectionSession#finish(String)}.</p>
+	 * <p>Is broadcast by the class(es): {@link UtilsCmdsExecutorBC}.</p>
+	 * <p>To be received only by the class(es): {@link CmdsExecutor}.</p>
+	 * <p>Extras (ordered parameters):</p>
+	 * <p>- {@link #EXTRA_CLOSE_DETECTION_SESSION_1} (long): mandatory</p>
+	 * <p>- {@link #EXTRA_CLOSE_DETECTION_SESSION_2} (String): optional</p>
+	 */
+	static final String ACTION_CLOSE_DETECTION_SESSION = "CmdsExecutor_CLOSE_DETECTION_SESSION";
+	static final String EXTRA_CLOSE_DETECTION_SESSION_1 = "CmdsExecutor_EXTRA_CLOSE_DETECTION_SESSION_1";
+	static final String EXTRA_CLOSE_DETECTION_SESSION_2 = "CmdsExecutor_EXTRA_CLOSE_DETECTION_SESSION_2";
 }
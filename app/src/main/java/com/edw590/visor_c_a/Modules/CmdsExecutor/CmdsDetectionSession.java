@@ -0,0 +1,261 @@
+/*
+ * Copyright 2021-2024 Edw590
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.edw590.visor_c_a.Modules.CmdsExecutor;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.edw590.visor_c_a.Modules.CmdsExecutor.CmdsList.CmdsDispatchTable;
+
+import ACD.ACD;
+
+/**
+ * <p>An incremental commands detection session, fed with the growing partial results of a speech recognition.</p>
+ * <br>
+ * <p>The hypotheses are only evaluated from the end of the already confirmed words on. When a new command appears
+ * after the ones detected on the previous hypothesis, those are complete (the user already moved on to another
+ * command), so they're executed right away and their words confirmed. The last command is only executed with the final
+ * result, since more words may still change it ("reboot the phone" --> "reboot the phone into recovery").</p>
+ * <p>The context between the confirmed and the remaining words (the "it" and the "and") is kept by the
+ * {@link CmdsExecutor} itself when it executes the confirmed words.</p>
+ * <p>Must only be used from the {@link CmdsExecutor}'s thread.</p>
+ */
+final class CmdsDetectionSession {
+
+	/** The ID of the session, given by whoever opened it. */
+	final long session_id;
+	@NonNull private final CmdsExecutor cmds_executor;
+	@NonNull private final AcdOutputTokens acd_tokens = new AcdOutputTokens();
+
+	/** The (normalized) words of the sentence already executed, each followed by a space. */
+	@NonNull private String confirmed_prefix = "";
+	/** Number of words in {@link #confirmed_prefix}. */
+	private int confirmed_words = 0;
+	/** The unconfirmed part of the last hypothesis, or null if there's none. */
+	@Nullable private String prev_suffix = null;
+	private int prev_suffix_words = 0;
+	private int prev_cmds_num = 0;
+	@NonNull private int[] prev_cmd_ids = new int[16];
+	@NonNull private int[] prev_cmd_variants = new int[16];
+
+	/**
+	 * <p>Main class constructor.</p>
+	 *
+	 * @param session_id {@link #session_id}
+	 * @param cmds_executor the instance of the module
+	 */
+	CmdsDetectionSession(final long session_id, @NonNull final CmdsExecutor cmds_executor) {
+		this.session_id = session_id;
+		this.cmds_executor = cmds_executor;
+	}
+
+	/**
+	 * <p>Feeds a partial result to the session, executing any commands that got confirmed by it.</p>
+	 *
+	 * @param hypothesis the whole partial result (not only the new words)
+	 */
+	void feedPartial(@NonNull final String hypothesis) {
+		final String normalized = ACDCache.normalizeSentence(hypothesis);
+		if (!startsWithConfirmed(normalized)) {
+			// The recognizer revised words that were already executed - wait for the final result to continue.
+			prev_suffix = null;
+			prev_cmds_num = 0;
+
+			return;
+		}
+		final String suffix = getUnconfirmedSuffix(normalized);
+		if (suffix == null) {
+			return;
+		}
+		final int suffix_words = countWords(suffix);
+
+		final String cmds_info_str = ACDCache.main(suffix, cmds_executor.getPrevCmdInfo());
+		if (!acd_tokens.tokenize(cmds_info_str) || cmds_info_str.startsWith(ACD.ERR_CMD_DETECT)) {
+			// Errors are only reported with the final result.
+			return;
+		}
+		final int cmds_num = keepOnlyCommands();
+
+		if (prev_suffix != null && prev_cmds_num > 0 && cmds_num > prev_cmds_num && suffix_words > prev_suffix_words &&
+				startsWithPrevCmds()) {
+			// A new command appeared after the previous ones - these are complete, so execute them already, as a full
+			// result (or the commands only executed on full results would be lost - their words are confirmed now).
+			cmds_executor.processTask(prev_suffix, false, false, false, true);
+			confirmed_prefix += prev_suffix + " ";
+			confirmed_words += prev_suffix_words;
+			prev_suffix = null;
+			prev_cmds_num = 0;
+
+			// Evaluate the remaining words already, so that the next hypothesis has something to compare with.
+			feedPartial(hypothesis);
+
+			return;
+		}
+
+		prev_suffix = suffix;
+		prev_suffix_words = suffix_words;
+		if (cmds_num > prev_cmd_ids.length) {
+			prev_cmd_ids = new int[acd_tokens.cmd_ids.length];
+			prev_cmd_variants = new int[acd_tokens.cmd_variants.length];
+		}
+		System.arraycopy(acd_tokens.cmd_ids, 0, prev_cmd_ids, 0, cmds_num);
+		System.arraycopy(acd_tokens.cmd_variants, 0, prev_cmd_variants, 0, cmds_num);
+		prev_cmds_num = cmds_num;
+	}
+
+	/**
+	 * <p>Finishes the session with the final result, executing the commands that were not executed yet.</p>
+	 *
+	 * @param final_sentence the final result, or null if the recognition was cancelled
+	 */
+	void finish(@Nullable final String final_sentence) {
+		if (final_sentence == null) {
+			return;
+		}
+
+		if (confirmed_words == 0) {
+			// Nothing executed yet, so this is just a normal sentence.
+			cmds_executor.processTask(final_sentence, false, false, false);
+
+			return;
+		}
+
+		final String normalized = ACDCache.normalizeSentence(final_sentence);
+		final String suffix;
+		if (startsWithConfirmed(normalized)) {
+			suffix = getUnconfirmedSuffix(normalized);
+		} else {
+			// The final result changed some of the executed words (can't undo them now), so go with the words after
+			// as many as were executed.
+			suffix = skipWords(normalized, confirmed_words);
+		}
+		if (suffix != null) {
+			// Not sent to the GPT if it has no commands - the sentence as a whole had commands. But it's the final
+			// result, so all the commands on it must be executed.
+			cmds_executor.processTask(suffix, false, false, false, true);
+		}
+	}
+
+	/**
+	 * <p>Checks if the given sentence begins with the confirmed words.</p>
+	 *
+	 * @param normalized the sentence, as returned by {@link ACDCache#normalizeSentence(String)}
+	 *
+	 * @return true if it does, false otherwise
+	 */
+	private boolean startsWithConfirmed(@NonNull final String normalized) {
+		return (normalized + " ").startsWith(confirmed_prefix);
+	}
+
+	/**
+	 * <p>Gets the part of the given sentence after the confirmed words.</p>
+	 * <p>Only call after checking {@link #startsWithConfirmed(String)}.</p>
+	 *
+	 * @param normalized the sentence, as returned by {@link ACDCache#normalizeSentence(String)}
+	 *
+	 * @return the words after the confirmed ones, or null if there are none
+	 */
+	@Nullable
+	private String getUnconfirmedSuffix(@NonNull final String normalized) {
+		final int index = confirmed_prefix.length();
+
+		return index < normalized.length() ? normalized.substring(index) : null;
+	}
+
+	/**
+	 * <p>Gets the part of a sentence after the given number of words.</p>
+	 *
+	 * @param normalized the sentence, as returned by {@link ACDCache#normalizeSentence(String)}
+	 * @param num_words the number of words to skip
+	 *
+	 * @return the words after the skipped ones, or null if there are none
+	 */
+	@Nullable
+	private static String skipWords(@NonNull final String normalized, final int num_words) {
+		int index = 0;
+		for (int i = 0; i < num_words; ++i) {
+			index = normalized.indexOf(' ', index);
+			if (index == -1) {
+				return null;
+			}
+			++index;
+		}
+
+		return index < normalized.length() ? normalized.substring(index) : null;
+	}
+
+	/**
+	 * <p>Removes from {@link #acd_tokens} everything that is not a known command.</p>
+	 *
+	 * @return the number of commands left
+	 */
+	private int keepOnlyCommands() {
+		int cmds_num = 0;
+		for (int i = 0; i < acd_tokens.cmds_num; ++i) {
+			if (acd_tokens.cmd_variants[i] != AcdOutputTokens.NO_VARIANT &&
+					CmdsDispatchTable.getEntry(acd_tokens.cmd_ids[i]) != null) {
+				acd_tokens.cmd_ids[cmds_num] = acd_tokens.cmd_ids[i];
+				acd_tokens.cmd_variants[cmds_num] = acd_tokens.cmd_variants[i];
+				++cmds_num;
+			}
+		}
+
+		return cmds_num;
+	}
+
+	/**
+	 * <p>Checks if the commands on {@link #acd_tokens} begin with the commands of the previous hypothesis.</p>
+	 *
+	 * @return true if they do, false otherwise
+	 */
+	private boolean startsWithPrevCmds() {
+		for (int i = 0; i < prev_cmds_num; ++i) {
+			if (acd_tokens.cmd_ids[i] != prev_cmd_ids[i] || acd_tokens.cmd_variants[i] != prev_cmd_variants[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * <p>Counts the words of a normalized sentence.</p>
+	 *
+	 * @param normalized the sentence, as returned by {@link ACDCache#normalizeSentence(String)}
+	 *
+	 * @return the number of words
+	 */
+	private static int countWords(@NonNull final String normalized) {
+		if (normalized.isEmpty()) {
+			return 0;
+		}
+
+		int words = 1;
+		for (int i = 0; i < normalized.length(); ++i) {
+			if (normalized.charAt(i) == ' ') {
+				++words;
+			}
+		}
+
+		return words;
+	}
+}
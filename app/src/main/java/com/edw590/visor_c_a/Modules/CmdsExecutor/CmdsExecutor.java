@@ -49,6 +49,7 @@ import com.edw590.visor_c_a.Modules.AudioRecorder.AudioRecorder;
 import com.edw590.visor_c_a.Modules.AudioRecorder.UtilsAudioRecorderBC;
 import com.edw590.visor_c_a.Modules.CameraManager.CameraManagement;
 import com.edw590.visor_c_a.Modules.CameraManager.UtilsCameraManagerBC;
+import com.edw590.visor_c_a.Modules.CmdsExecutor.CmdsList.CmdsDispatchTable;
 import com.edw590.visor_c_a.Modules.CmdsExecutor.CmdsList.CmdsList;
 import com.edw590.visor_c_a.Modules.CmdsExecutor.CmdsList.UtilsCmdsList;
 import com.edw590.visor_c_a.Modules.Speech.Speech2;
@@ -85,9 +86,16 @@ public final class CmdsExecutor implements IModuleInst {
 	private String last_and = "";
 	private long last_and_when = 0;
 
+	/** Reusable tokens of the ACD output - only used on {@link #processTask(String, boolean, boolean, boolean)}. */
+	private final AcdOutputTokens acd_tokens = new AcdOutputTokens();
+	/** The current incremental commands detection session, or null if there's none. */
+	@Nullable private CmdsDetectionSession detection_session = null;
+
 	private final class Command {
 		/** The command code that comes out of the ACD. */
 		@NonNull final String command_code;
+		/** The dispatch table entry of the command, or null if there's no command. */
+		@Nullable final CmdsDispatchTable.Entry cmd_entry;
 		/** A description to be spoken of the command action. Complete the sentence: "This command is used to..." */
 		@NonNull final String cmd_spoken_action;
 		/** The {@link TasksList.Task#task_id} of the task to execute after the command is completed. */
@@ -100,6 +108,7 @@ public final class CmdsExecutor implements IModuleInst {
 		 */
 		Command() {
 			command_code = "";
+			cmd_entry = null;
 			cmd_spoken_action = "";
 			task_id = -1;
 			detection_when = 0;
@@ -108,13 +117,15 @@ public final class CmdsExecutor implements IModuleInst {
 		/**
 		 * <p>Main class constructor.</p>
 		 *
-		 * @param command_code {@link #command_code}
+		 * @param cmd_entry {@link #cmd_entry}
+		 * @param cmd_variant the variant of the command, to build {@link #command_code} with
 		 * @param cmd_spoken_action {@link #cmd_spoken_action}
 		 * @param what_to_do {@link #task_id}
 		 */
-		Command(@NonNull final String command_code, @NonNull final String cmd_spoken_action,
-				@Nullable final Runnable what_to_do) {
-			this.command_code = command_code;
+		Command(@NonNull final CmdsDispatchTable.Entry cmd_entry, @NonNull final String cmd_variant,
+				@NonNull final String cmd_spoken_action, @Nullable final Runnable what_to_do) {
+			this.command_code = cmd_entry.cmd_id + cmd_variant;
+			this.cmd_entry = cmd_entry;
 			this.cmd_spoken_action = cmd_spoken_action;
 			if (what_to_do == null) {
 				task_id = -1;
@@ -146,6 +157,7 @@ public final class CmdsExecutor implements IModuleInst {
 		UtilsGeneral.quitHandlerThread(main_handlerThread);
 
 		some_cmd_detected = false;
+		detection_session = null;
 
 		is_module_destroyed = true;
 	}
@@ -164,7 +176,7 @@ public final class CmdsExecutor implements IModuleInst {
 	 */
 	public CmdsExecutor() {
 		// Prepare the Advanced Commands Detection module commands array
-		ACD.reloadCmdsArray(UtilsCmdsList.prepareCommandsString());
+		UtilsCmdsList.reloadCmdsArray();
 
 		main_handlerThread.start();
 		main_handler = new Handler(main_handlerThread.getLooper());
@@ -183,7 +195,7 @@ public final class CmdsExecutor implements IModuleInst {
 	 * <p>- {@link #NOTHING_EXECUTED} --> for the returning value: if no task was detected</p>
 	 * <p>- {@link #SOMETHING_EXECUTED} --> for the returning value: if some task was detected</p>
 	 * <p>- {@link #ERR_PROC_CMDS} --> for the returning value: if there was an internal error with
-	 * {@link ACD#main(String, String)}</p>
+	 * {@link ACDCache#main(String, String)}</p>
 	 * <p>- {@link #APU_UNAVAILABLE} --> for the returning value: if the Assistant Platforms Unifier module is not
 	 * available</p>
 	 * <p><u>---CONSTANTS---</u></p>
@@ -200,6 +212,24 @@ public final class CmdsExecutor implements IModuleInst {
 	 */
 	int processTask(@NonNull final String sentence_str, final boolean partial_results,
 					final boolean only_returning, final boolean internal_usage) {
+		return processTask(sentence_str, partial_results, only_returning, internal_usage, partial_results);
+	}
+
+	/**
+	 * <p>Same as {@link #processTask(String, boolean, boolean, boolean)}, but with the sending to the GPT controlled
+	 * separately from the partial results mode.</p>
+	 *
+	 * @param sentence_str same as in {@link #processTask(String, boolean, boolean, boolean)}
+	 * @param partial_results same as in {@link #processTask(String, boolean, boolean, boolean)}
+	 * @param only_returning same as in {@link #processTask(String, boolean, boolean, boolean)}
+	 * @param internal_usage same as in {@link #processTask(String, boolean, boolean, boolean)}
+	 * @param no_gpt_fallback true to never send the sentence to the GPT if no command is detected on it (for example
+	 * because it's only a part of a sentence which already had commands), false to send it
+	 *
+	 * @return same as in {@link #processTask(String, boolean, boolean, boolean)}
+	 */
+	int processTask(@NonNull final String sentence_str, final boolean partial_results,
+					final boolean only_returning, final boolean internal_usage, final boolean no_gpt_fallback) {
 		if (!UtilsNativeLibs.isPrimaryNativeLibAvailable(UtilsNativeLibs.ACD_LIB_NAME)) {
 			final String speak = "ATTENTION - Commands detection is not available. APU's correct library file was not " +
 					"detected.";
@@ -220,30 +250,24 @@ public final class CmdsExecutor implements IModuleInst {
 		some_cmd_detected = false;
 		ask_anything_else = true;
 
-		if (System.currentTimeMillis() > last_it_when + 60*1000) {
-			last_it = "";
-		}
-		if (System.currentTimeMillis() > last_and_when + 60*1000) {
-			last_and = "";
-		}
-
-		final String cmds_info_str = ACD.main(sentence_str, false, true, last_it + "|" + last_and);
-		final String[] cmds_info = cmds_info_str.split(ACD.INFO_CMDS_SEPARATOR);
+		final String cmds_info_str = ACDCache.main(sentence_str, getPrevCmdInfo());
+		final long parse_start = System.nanoTime();
 		boolean send_to_GPT = false;
-		if (cmds_info.length < 2) {
-			sendToGPT(sentence_str);
+		if (!acd_tokens.tokenize(cmds_info_str)) {
+			if (!no_gpt_fallback) {
+				sendToGPT(sentence_str);
+			}
 
 			return NOTHING_EXECUTED;
 		}
-		final String[] prev_cmd_info = cmds_info[0].split("\\" + ACD.PREV_CMD_INFO_SEPARATOR);
-		final String[] detected_cmds = cmds_info[1].split(ACD.CMDS_SEPARATOR);
+		UtilsRegistry.setData(RegistryKeys.K_CMDS_PARSE_TIME_NS, System.nanoTime() - parse_start, false);
 
-		if (!prev_cmd_info[0].isEmpty()) {
-			last_it = prev_cmd_info[0];
+		if (!acd_tokens.prev_it.isEmpty()) {
+			last_it = acd_tokens.prev_it;
 			last_it_when = System.currentTimeMillis();
 		}
-		if (!prev_cmd_info[1].isEmpty()) {
-			last_and = prev_cmd_info[1];
+		if (!acd_tokens.prev_and.isEmpty()) {
+			last_and = acd_tokens.prev_and;
 			last_and_when = System.currentTimeMillis();
 		}
 
@@ -259,20 +283,8 @@ public final class CmdsExecutor implements IModuleInst {
 			return ERR_PROC_CMDS;
 		}
 
-		if (!partial_results) {
-			if (detected_cmds.length == 0) {
-				send_to_GPT = true;
-			} else {
-				send_to_GPT = true;
-				for (final String command : detected_cmds) {
-					float num = Float.parseFloat(command);
-					if (num >= 1) {
-						send_to_GPT = false;
-
-						break;
-					}
-				}
-			}
+		if (!no_gpt_fallback) {
+			send_to_GPT = !acd_tokens.any_valid_cmd;
 		}
 		if (send_to_GPT) {
 			sendToGPT(sentence_str);
@@ -280,26 +292,29 @@ public final class CmdsExecutor implements IModuleInst {
 			return NOTHING_EXECUTED;
 		}
 
-		for (final String command : detected_cmds) {
-			final int dot_index = command.indexOf((int) '.');
-			if (dot_index == -1) {
+		for (int cmd_index = 0; cmd_index < acd_tokens.cmds_num; ++cmd_index) {
+			final int cmd_variant_int = acd_tokens.cmd_variants[cmd_index];
+			if (cmd_variant_int == AcdOutputTokens.NO_VARIANT) {
 				// No command.
 				continue;
 			}
+			final CmdsDispatchTable.Entry cmd_entry = CmdsDispatchTable.getEntry(acd_tokens.cmd_ids[cmd_index]);
+			if (cmd_entry == null) {
+				// Unknown command.
+				continue;
+			}
 
-			final String cmd_id = command.substring(0, dot_index); // "14.3" --> "14"
-			final String cmd_variant = command.substring(dot_index); // "14.3" --> ".3"
+			final String cmd_variant = CmdsDispatchTable.getVariantStr(cmd_variant_int); // "14.00003" --> ".00003"
 
-			String cmd_to_check = cmd_id;
-			if (CmdsList.CmdAddInfo.CMDi_INF1_ASSIST_CMD.equals(CmdsList.CmdAddInfo.CMDi_INFO.get(cmd_to_check))) {
-				cmd_to_check = previous_cmd.command_code;
+			CmdsDispatchTable.Entry entry_to_check = cmd_entry;
+			if (cmd_entry.isAssistCmd()) {
+				entry_to_check = previous_cmd.cmd_entry;
 			}
-			// Keep it checking with CMDi_INF1_DO_SOMETHING and inverting the output. That way, if cmd_to_check is ""
-			// (no previous command), it won't equal DO_SOMETHING and will set cmdi_only_speak to true.
-			final int speech_mode2 = CmdsList.CmdAddInfo.CMDi_INF1_ONLY_SPEAK.
-					equals(CmdsList.CmdAddInfo.CMDi_INFO.get(cmd_to_check)) ? Speech2.MODE2_BYPASS_NO_SND : Speech2.MODE_DEFAULT;
+			// If entry_to_check is null (no previous command), it's not an only-speak command.
+			final int speech_mode2 = entry_to_check != null && entry_to_check.isOnlySpeak() ?
+					Speech2.MODE2_BYPASS_NO_SND : Speech2.MODE_DEFAULT;
 
-			switch (cmd_id) {
+			switch (cmd_entry.cmd_id) {
 				case (CmdsList.CmdIds.CMD_TOGGLE_FLASHLIGHT): {
 					some_cmd_detected = true;
 					if (only_returning) continue;
@@ -315,7 +330,7 @@ public final class CmdsExecutor implements IModuleInst {
 						UtilsSpeech2BC.speak(speak, speech_priority, speech_mode2, UtilsSpeech2BC.GPT_DUMB, false, null);
 					}
 
-					previous_cmd = new Command(command, "toggle flashlight", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "toggle flashlight", null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_ASK_TIME): {
@@ -325,7 +340,7 @@ public final class CmdsExecutor implements IModuleInst {
 					final String speak = "It's " + UtilsTimeDate.getTimeStr(-1);
 					UtilsSpeech2BC.speak(speak, speech_priority, speech_mode2, UtilsSpeech2BC.GPT_DUMB, false, null);
 
-					previous_cmd = new Command(command, "ask time", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "ask time", null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_ASK_DATE): {
@@ -335,7 +350,7 @@ public final class CmdsExecutor implements IModuleInst {
 					final String speak = "Today's " + UtilsTimeDate.getDateStr(-1);
 					UtilsSpeech2BC.speak(speak, speech_priority, speech_mode2, UtilsSpeech2BC.GPT_DUMB, false, null);
 
-					previous_cmd = new Command(command, "ask date", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "ask date", null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_TOGGLE_WIFI): {
@@ -394,7 +409,7 @@ public final class CmdsExecutor implements IModuleInst {
 						}
 					}
 
-					previous_cmd = new Command(command, "toggle wifi", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "toggle wifi", null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_TOGGLE_MOBILE_DATA): {
@@ -441,7 +456,7 @@ public final class CmdsExecutor implements IModuleInst {
 						}
 					}
 
-					previous_cmd = new Command(command, "toggle mobile data connection", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "toggle mobile data connection", null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_TOGGLE_BLUETOOTH): {
@@ -506,7 +521,7 @@ public final class CmdsExecutor implements IModuleInst {
 						}
 					}
 
-					previous_cmd = new Command(command, "toggle bluetooth", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "toggle bluetooth", null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_ANSWER_CALL): {
@@ -531,7 +546,7 @@ public final class CmdsExecutor implements IModuleInst {
 						}
 					}
 
-					previous_cmd = new Command(command, "answer call", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "answer call", null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_END_CALL): {
@@ -556,12 +571,12 @@ public final class CmdsExecutor implements IModuleInst {
 						}
 					}
 
-					previous_cmd = new Command(command, "end call", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "end call", null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_TOGGLE_SPEAKERS): {
 					final String speak;
-					if (((String) UtilsRegistry.getData(RegistryKeys.K_CURR_PHONE_CALL_NUMBER, true)).isEmpty()) {
+					if (UtilsRegistry.getString(RegistryKeys.K_CURR_PHONE_CALL_NUMBER).isEmpty()) {
 						speak = "The device not in a phone call.";
 					} else {
 						if (UtilsAndroidTelephony.setCallSpeakerphoneEnabled(cmd_variant.equals(CmdsList.CmdRetIds.RET_ON))) {
@@ -573,7 +588,7 @@ public final class CmdsExecutor implements IModuleInst {
 					}
 					UtilsSpeech2BC.speak(speak, speech_priority, speech_mode2, UtilsSpeech2BC.GPT_DUMB, false, null);
 
-					previous_cmd = new Command(command, "toggle speakerphone", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "toggle speakerphone", null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_TOGGLE_AIRPLANE_MODE): {
@@ -614,7 +629,7 @@ public final class CmdsExecutor implements IModuleInst {
 						}
 					}
 
-					previous_cmd = new Command(command, "toggle airplane mode", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "toggle airplane mode", null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_ASK_BATTERY_PERCENT): {
@@ -630,11 +645,11 @@ public final class CmdsExecutor implements IModuleInst {
 					some_cmd_detected = true;
 					if (only_returning) continue;
 
-					final int battery_percentage = (int) UtilsRegistry.getData(RegistryKeys.K_BATTERY_LEVEL, true);
+					final int battery_percentage = UtilsRegistry.getInt(RegistryKeys.K_BATTERY_LEVEL);
 					final String speak = "Battery percentage: " + battery_percentage + "%.";
 					UtilsSpeech2BC.speak(speak, speech_priority, speech_mode2, UtilsSpeech2BC.GPT_DUMB, false, null);
 
-					previous_cmd = new Command(command, "ask battery percentage", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "ask battery percentage", null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_POWER_SHUT_DOWN): {
@@ -673,7 +688,7 @@ public final class CmdsExecutor implements IModuleInst {
 						}
 					}
 
-					previous_cmd = new Command(command, "shut down device", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "shut down device", null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_POWER_REBOOT): {
@@ -739,7 +754,7 @@ public final class CmdsExecutor implements IModuleInst {
 						}
 					}
 
-					previous_cmd = new Command(command, "reboot device", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "reboot device", null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_TAKE_PHOTO): {
@@ -754,7 +769,7 @@ public final class CmdsExecutor implements IModuleInst {
 					String speak = "Taking a " + (rear_pic ? "rear" : "frontal") + " picture...";
 					UtilsSpeech2BC.speak(speak, speech_priority, speech_mode2, UtilsSpeech2BC.GPT_DUMB, false, null);
 
-					previous_cmd = new Command(command, "take photo", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "take photo", null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_RECORD_MEDIA): {
@@ -784,7 +799,7 @@ public final class CmdsExecutor implements IModuleInst {
 									UtilsAudioRecorderBC.recordAudio(true, MediaRecorder.AudioSource.MIC, false);
 								});
 
-								previous_cmd = new Command(command, "record audio", null);
+								previous_cmd = new Command(cmd_entry, cmd_variant, "record audio", null);
 							}
 
 							break;
@@ -811,14 +826,14 @@ public final class CmdsExecutor implements IModuleInst {
 					// Also make sure if there are things with higher priority on the lists that the last thing said is
 					// the last thing said when it was requested.
 
-					previous_cmd = new Command(command, "repeat last speech", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "repeat last speech", null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_CALL_CONTACT): {
 					some_cmd_detected = true;
 					if (only_returning) continue;
 
-					final int contact_index = (int) ACD.getSubCmdIndex(cmd_variant);
+					final int contact_index = cmd_variant_int - 1; // Same as ACD.getSubCmdIndex(cmd_variant)
 					final String[][] contacts_list = TelephonyManagement.getContactsList();
 					final String contact_name = contacts_list[contact_index][0];
 					final String contact_number = contacts_list[contact_index][1];
@@ -856,7 +871,7 @@ public final class CmdsExecutor implements IModuleInst {
 					final String speak = "Calling " + contact_name + " now, sir.";
 					UtilsSpeech2BC.speak(speak, speech_priority, speech_mode2, UtilsSpeech2BC.GPT_NONE, false, runnable);
 
-					previous_cmd = new Command(command, "phone call " + contact_name, null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "phone call " + contact_name, null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_STOP_RECORD_MEDIA): {
@@ -895,7 +910,7 @@ public final class CmdsExecutor implements IModuleInst {
 						// todo
 					}
 
-					previous_cmd = new Command(command, "stop recording media", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "stop recording media", null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_TOGGLE_POWER_SAVER_MODE): {
@@ -929,7 +944,7 @@ public final class CmdsExecutor implements IModuleInst {
 						}
 					}
 
-					previous_cmd = new Command(command, "toggle power saver mode", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "toggle power saver mode", null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_CONTROL_MEDIA): {
@@ -996,14 +1011,14 @@ public final class CmdsExecutor implements IModuleInst {
 						UtilsSpeech2BC.speak(speak, speech_priority, speech_mode2, UtilsSpeech2BC.GPT_DUMB, false, null);
 					}
 
-					previous_cmd = new Command(command, "stop media", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "stop media", null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_STOP_LISTENING): {
 					some_cmd_detected = true;
 					if (only_returning) continue;
 
-					if ((boolean) UtilsRegistry.getData(RegistryKeys.K_POCKETSPHINX_REQUEST_STOP, true)) {
+					if (UtilsRegistry.getBool(RegistryKeys.K_POCKETSPHINX_REQUEST_STOP)) {
 						final String speak = "Background hot-word recognition already stopped.";
 						UtilsSpeech2BC.speak(speak, speech_priority, speech_mode2, UtilsSpeech2BC.GPT_DUMB, false, null);
 					} else {
@@ -1014,14 +1029,14 @@ public final class CmdsExecutor implements IModuleInst {
 						UtilsSpeech2BC.speak(speak, speech_priority, speech_mode2, UtilsSpeech2BC.GPT_DUMB, false, null);
 					}
 
-					previous_cmd = new Command(command, "stop hot-word listening in the background", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "stop hot-word listening in the background", null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_START_LISTENING): {
 					some_cmd_detected = true;
 					if (only_returning) continue;
 
-					if ((boolean) UtilsRegistry.getData(RegistryKeys.K_POCKETSPHINX_REQUEST_STOP, true)) {
+					if (UtilsRegistry.getBool(RegistryKeys.K_POCKETSPHINX_REQUEST_STOP)) {
 						UtilsRegistry.setData(RegistryKeys.K_POCKETSPHINX_REQUEST_STOP, false, false);
 						// We could wait for the controller to restart it, but this way it's faster.
 						UtilsSpeechRecognizersBC.startPocketSphinxRecognition();
@@ -1033,7 +1048,7 @@ public final class CmdsExecutor implements IModuleInst {
 						UtilsSpeech2BC.speak(speak, speech_priority, speech_mode2, UtilsSpeech2BC.GPT_DUMB, false, null);
 					}
 
-					previous_cmd = new Command(command, "start hot-word listening in the background", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "start hot-word listening in the background", null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_TELL_WEATHER): {
@@ -1045,7 +1060,7 @@ public final class CmdsExecutor implements IModuleInst {
 
 					final boolean data_was_enabled = UtilsAndroidConnectivity.getMobileDataEnabled();
 					final boolean wifi_was_enabled = UtilsAndroidConnectivity.getWifiEnabled();
-					if ((int) UtilsRegistry.getData(RegistryKeys.K_CURR_NETWORK_TYPE, true) == -1) {
+					if (UtilsRegistry.getInt(RegistryKeys.K_CURR_NETWORK_TYPE) == -1) {
 						UtilsAndroidConnectivity.setMobileDataEnabled(true);
 						UtilsAndroidConnectivity.setWifiEnabled(true);
 					}
@@ -1081,7 +1096,7 @@ public final class CmdsExecutor implements IModuleInst {
 						UtilsSpeech2BC.speak(speak, speech_priority, speech_mode2, UtilsSpeech2BC.GPT_DUMB, false, null);
 					}
 
-					previous_cmd = new Command(command, "tell the weather", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "tell the weather", null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_TELL_NEWS): {
@@ -1093,7 +1108,7 @@ public final class CmdsExecutor implements IModuleInst {
 
 					final boolean data_was_enabled = UtilsAndroidConnectivity.getMobileDataEnabled();
 					final boolean wifi_was_enabled = UtilsAndroidConnectivity.getWifiEnabled();
-					if ((int) UtilsRegistry.getData(RegistryKeys.K_CURR_NETWORK_TYPE, true) == -1) {
+					if (UtilsRegistry.getInt(RegistryKeys.K_CURR_NETWORK_TYPE) == -1) {
 						UtilsAndroidConnectivity.setMobileDataEnabled(true);
 						UtilsAndroidConnectivity.setWifiEnabled(true);
 					}
@@ -1131,7 +1146,7 @@ public final class CmdsExecutor implements IModuleInst {
 						UtilsSpeech2BC.speak(speak, speech_priority, speech_mode2, UtilsSpeech2BC.GPT_DUMB, false, null);
 					}
 
-					previous_cmd = new Command(command, "tell the news", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "tell the news", null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_ASK_EVENTS): {
@@ -1143,7 +1158,7 @@ public final class CmdsExecutor implements IModuleInst {
 
 					final boolean data_was_enabled = UtilsAndroidConnectivity.getMobileDataEnabled();
 					final boolean wifi_was_enabled = UtilsAndroidConnectivity.getWifiEnabled();
-					if ((int) UtilsRegistry.getData(RegistryKeys.K_CURR_NETWORK_TYPE, true) == -1) {
+					if (UtilsRegistry.getInt(RegistryKeys.K_CURR_NETWORK_TYPE) == -1) {
 						UtilsAndroidConnectivity.setMobileDataEnabled(true);
 						UtilsAndroidConnectivity.setWifiEnabled(true);
 					}
@@ -1170,7 +1185,7 @@ public final class CmdsExecutor implements IModuleInst {
 						UtilsSpeech2BC.speak(speak, speech_priority, speech_mode2, UtilsSpeech2BC.GPT_DUMB, false, null);
 					}
 
-					previous_cmd = new Command(command, "tell events and tasks", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "tell events and tasks", null);
 					break;
 				}
 				case (CmdsList.CmdIds.CMD_GONNA_SLEEP): {
@@ -1180,7 +1195,7 @@ public final class CmdsExecutor implements IModuleInst {
 					//UtilsAndroidConnectivity.setAirplaneModeEnabled(true); todo Needs root commands implementation
 					//UtilsRegistry.setValue(ValuesRegistry.Keys.IS_USER_SLEEPING, true);
 
-					previous_cmd = new Command(command, "get ready to sleep", null);
+					previous_cmd = new Command(cmd_entry, cmd_variant, "get ready to sleep", null);
 					break;
 				}
 			}
@@ -1214,6 +1229,24 @@ public final class CmdsExecutor implements IModuleInst {
 		}
 	}
 
+	/**
+	 * <p>Gets the previous command information to send to the ACD, forgetting the "it" and the "and" if they're more
+	 * than 1 minute old.</p>
+	 *
+	 * @return the information, in the format wanted by {@link ACDCache#main(String, String)}
+	 */
+	@NonNull
+	String getPrevCmdInfo() {
+		if (System.currentTimeMillis() > last_it_when + 60*1000) {
+			last_it = "";
+		}
+		if (System.currentTimeMillis() > last_and_when + 60*1000) {
+			last_and = "";
+		}
+
+		return last_it + ACD.PREV_CMD_INFO_SEPARATOR + last_and;
+	}
+
 	private void sendToGPT(final String sentence_str) {
 		if (!UtilsSWA.isCommunicatorConnectedSERVER()) {
 			String speak = "GPT unavailable. Not connected to the server.";
@@ -1226,6 +1259,8 @@ public final class CmdsExecutor implements IModuleInst {
 		if (!GPTComm.sendText(sentence_str, true)) {
 			String speak = "Sorry, the GPT is busy at the moment. Text on hold.";
 			UtilsSpeech2BC.speak(speak, Speech2.PRIORITY_USER_ACTION, 0, UtilsSpeech2BC.GPT_NONE, false, null);
+		} else {
+			UtilsSpeech2BC.gptTextSent();
 		}
 	}
 
@@ -1238,6 +1273,9 @@ public final class CmdsExecutor implements IModuleInst {
 		final IntentFilter intentFilter = new IntentFilter();
 
 		intentFilter.addAction(CONSTS_BC_CmdsExec.ACTION_CALL_PROCESS_TASK);
+		intentFilter.addAction(CONSTS_BC_CmdsExec.ACTION_OPEN_DETECTION_SESSION);
+		intentFilter.addAction(CONSTS_BC_CmdsExec.ACTION_FEED_DETECTION_SESSION);
+		intentFilter.addAction(CONSTS_BC_CmdsExec.ACTION_CLOSE_DETECTION_SESSION);
 
 		try {
 			UtilsContext.getContext().registerReceiver(broadcastReceiver, intentFilter, null, main_handler);
@@ -1269,6 +1307,31 @@ public final class CmdsExecutor implements IModuleInst {
 							false);
 					processTask(sentence_str, partial_results, only_returning, internal_usage);
 
+					break;
+				}
+				case (CONSTS_BC_CmdsExec.ACTION_OPEN_DETECTION_SESSION): {
+					final long session_id = intent.getLongExtra(CONSTS_BC_CmdsExec.EXTRA_OPEN_DETECTION_SESSION_1, 0);
+					detection_session = new CmdsDetectionSession(session_id, CmdsExecutor.this);
+
+					break;
+				}
+				case (CONSTS_BC_CmdsExec.ACTION_FEED_DETECTION_SESSION): {
+					final long session_id = intent.getLongExtra(CONSTS_BC_CmdsExec.EXTRA_FEED_DETECTION_SESSION_1, 0);
+					final String hypothesis = intent.getStringExtra(CONSTS_BC_CmdsExec.EXTRA_FEED_DETECTION_SESSION_2);
+					if (detection_session != null && detection_session.session_id == session_id && hypothesis != null) {
+						detection_session.feedPartial(hypothesis);
+					}
+
+					break;
+				}
+				case (CONSTS_BC_CmdsExec.ACTION_CLOSE_DETECTION_SESSION): {
+					final long session_id = intent.getLongExtra(CONSTS_BC_CmdsExec.EXTRA_CLOSE_DETECTION_SESSION_1, 0);
+					final String final_sentence = intent.getStringExtra(CONSTS_BC_CmdsExec.EXTRA_CLOSE_DETECTION_SESSION_2);
+					if (detection_session != null && detection_session.session_id == session_id) {
+						detection_session.finish(final_sentence);
+						detection_session = null;
+					}
+
 					break;
 				}
 			}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2021-2024 Edw590
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.edw590.visor_c_a.Modules.CmdsExecutor.CmdsList;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * <p>Pre-built dispatch table of all the commands, indexed by their integer ID.</p>
+ * <br>
+ * <p>Built once from {@link CmdsList#CMDS_LIST} and {@link CmdsList.AutoCmds}, so that the commands returned by the ACD
+ * can be looked up without any string parsing or allocation.</p>
+ */
+public final class CmdsDispatchTable {
+
+	/**
+	 * <p>Private empty constructor so the class can't be instantiated (utility class).</p>
+	 */
+	private CmdsDispatchTable() {
+	}
+
+	/** Number of decimal digits of a command variant (5 for "14.00003", with LOCAL_MAX_SUB_CMDS of 100k). */
+	public static final int VARIANT_DIGITS = String.valueOf(CmdsList.CmdRetIds.LOCAL_MAX_SUB_CMDS).length() - 1;
+
+	/**
+	 * <p>An entry of the dispatch table.</p>
+	 */
+	public static final class Entry {
+		/** The ID of the command, one of the {@link CmdsList.CmdIds} constants (the very same object). */
+		@NonNull public final String cmd_id;
+		/** The integer form of {@link #cmd_id}. */
+		public final int cmd_id_int;
+		/** The additional info of the command, one of the {@code CMDi_INF1_} constants in {@link CmdsList.CmdAddInfo}. */
+		@Nullable public final String add_info;
+
+		/**
+		 * <p>Main class constructor.</p>
+		 *
+		 * @param cmd_id {@link #cmd_id}
+		 */
+		Entry(@NonNull final String cmd_id) {
+			this.cmd_id = cmd_id;
+			cmd_id_int = Integer.parseInt(cmd_id);
+			add_info = CmdsList.CmdAddInfo.CMDi_INFO.get(cmd_id);
+		}
+
+		/**
+		 * <p>Checks if the command only requires the assistant to say something.</p>
+		 *
+		 * @return true if it's a {@link CmdsList.CmdAddInfo#CMDi_INF1_ONLY_SPEAK} command, false otherwise
+		 */
+		public boolean isOnlySpeak() {
+			return CmdsList.CmdAddInfo.CMDi_INF1_ONLY_SPEAK.equals(add_info);
+		}
+
+		/**
+		 * <p>Checks if the command is an assistance to another command.</p>
+		 *
+		 * @return true if it's a {@link CmdsList.CmdAddInfo#CMDi_INF1_ASSIST_CMD} command, false otherwise
+		 */
+		public boolean isAssistCmd() {
+			return CmdsList.CmdAddInfo.CMDi_INF1_ASSIST_CMD.equals(add_info);
+		}
+	}
+
+	private static final Entry[] ENTRIES = buildEntries();
+
+	/** Cache of variant strings in the {@link CmdsList.CmdRetIds} form, indexed by the variant number. */
+	private static String[] variant_strs = new String[16];
+
+	/**
+	 * <p>Builds the dispatch table from the commands list.</p>
+	 *
+	 * @return the table, indexed by the integer command ID
+	 */
+	@NonNull
+	private static Entry[] buildEntries() {
+		int max_id = Integer.parseInt(CmdsList.AutoCmds.CMD_CALL_CONTACT[0]);
+		for (final String[] cmd_info : CmdsList.CMDS_LIST) {
+			max_id = Math.max(max_id, Integer.parseInt(cmd_info[0]));
+		}
+
+		final Entry[] entries = new Entry[max_id + 1];
+		for (final String[] cmd_info : CmdsList.CMDS_LIST) {
+			final Entry entry = new Entry(cmd_info[0]);
+			entries[entry.cmd_id_int] = entry;
+		}
+		final Entry entry = new Entry(CmdsList.AutoCmds.CMD_CALL_CONTACT[0]);
+		entries[entry.cmd_id_int] = entry;
+
+		return entries;
+	}
+
+	/**
+	 * <p>Gets the table entry of a command.</p>
+	 *
+	 * @param cmd_id the integer ID of the command
+	 *
+	 * @return the entry, or null if there's no command with the given ID
+	 */
+	@Nullable
+	public static Entry getEntry(final int cmd_id) {
+		if (cmd_id < 0 || cmd_id >= ENTRIES.length) {
+			return null;
+		}
+
+		return ENTRIES[cmd_id];
+	}
+
+	/**
+	 * <p>Gets the string form of a command variant, as in the {@link CmdsList.CmdRetIds} constants (for example, 3
+	 * returns ".00003").</p>
+	 * <p>The strings are cached, so each variant is only allocated the first time it's requested.</p>
+	 *
+	 * @param variant the variant number (the sub-command index + 1)
+	 *
+	 * @return the string form of the variant
+	 */
+	@NonNull
+	public static synchronized String getVariantStr(final int variant) {
+		if (variant >= variant_strs.length) {
+			final String[] new_variant_strs = new String[Math.max(variant + 1, variant_strs.length * 2)];
+			System.arraycopy(variant_strs, 0, new_variant_strs, 0, variant_strs.length);
+			variant_strs = new_variant_strs;
+		}
+
+		String variant_str = variant_strs[variant];
+		if (variant_str == null) {
+			final StringBuilder stringBuilder = new StringBuilder(VARIANT_DIGITS + 1);
+			final String digits = String.valueOf(variant);
+			stringBuilder.append('.');
+			for (int i = digits.length(); i < VARIANT_DIGITS; ++i) {
+				stringBuilder.append('0');
+			}
+			stringBuilder.append(digits);
+
+			variant_str = stringBuilder.toString();
+			variant_strs[variant] = variant_str;
+		}
+
+		return variant_str;
+	}
+}
@@ -23,12 +23,11 @@ package com.edw590.visor_c_a.Modules.CmdsExecutor.CmdsList;
 
 import androidx.annotation.NonNull;
 
+import com.edw590.visor_c_a.Modules.CmdsExecutor.ACDCache;
 import com.edw590.visor_c_a.Modules.TelephonyManagement.TelephonyManagement;
 
 import java.util.Locale;
 
-import ACD.ACD;
-
 /**
  * <p>Utilities related to the commands list to send to the ACD module.</p>
  */
@@ -40,10 +39,19 @@ public final class UtilsCmdsList {
 	private UtilsCmdsList() {
 	}
 
+	/**
+	 * <p>Reloads the whole commands array on the ACD module, including the automatic commands (like the contacts names
+	 * list), which are not part of {@link CmdsList#CMDS_LIST}.</p>
+	 */
+	public static synchronized void reloadCmdsArray() {
+		ACDCache.reloadCmdsArray(prepareCommandsString());
+		updateMakeCallCmdContacts();
+	}
+
 	/**
 	 * <p>Update the contacts names list on the ACD module.</p>
 	 */
-	public static void updateMakeCallCmdContacts() {
+	public static synchronized void updateMakeCallCmdContacts() {
 		final String[][] contacts_list = TelephonyManagement.getContactsList();
 		if (contacts_list.length == 0) {
 			return;
@@ -56,11 +64,11 @@ public final class UtilsCmdsList {
 
 		CmdsList.AutoCmds.CMD_CALL_CONTACT[4] = contacts_names_list.substring(0, contacts_names_list.length()-1);
 
-		ACD.addUpdateCmd(UtilsCmdsList.prepareCommandString(CmdsList.AutoCmds.CMD_CALL_CONTACT));
+		ACDCache.addUpdateCmd(UtilsCmdsList.prepareCommandString(CmdsList.AutoCmds.CMD_CALL_CONTACT));
 	}
 
 	/**
-	 * <p>Encodes a command information array into a string ready to be sent to {@link ACD#addUpdateCmd(String)}.</p>
+	 * <p>Encodes a command information array into a string ready to be sent to {@link ACDCache#addUpdateCmd(String)}.</p>
 	 *
 	 * @param cmd_info the array with the command information
 	 *
@@ -72,7 +80,7 @@ public final class UtilsCmdsList {
 	}
 
 	/**
-	 * <p>Encodes {@link CmdsList#CMDS_LIST} into a string ready to be sent to {@link ACD#reloadCmdsArray(String)}.</p>
+	 * <p>Encodes {@link CmdsList#CMDS_LIST} into a string ready to be sent to {@link ACDCache#reloadCmdsArray(String)}.</p>
 	 *
 	 * @return the string
 	 */
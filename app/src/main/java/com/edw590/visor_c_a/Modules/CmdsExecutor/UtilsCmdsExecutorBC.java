@@ -24,6 +24,7 @@ package com.edw590.visor_c_a.Modules.CmdsExecutor;
 import android.content.Intent;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.edw590.visor_c_a.GlobalUtils.UtilsApp;
 
@@ -56,4 +57,48 @@ public final class UtilsCmdsExecutorBC {
 
 		UtilsApp.sendInternalBroadcast(broadcast_intent);
 	}
+
+	/**
+	 * <p>Broadcasts a request - more info on {@link CONSTS_BC_CmdsExec#ACTION_OPEN_DETECTION_SESSION}.</p>
+	 *
+	 * @return the ID of the session, to use with the other session functions
+	 */
+	public static long openDetectionSession() {
+		final long session_id = System.currentTimeMillis();
+
+		final Intent broadcast_intent = new Intent(CONSTS_BC_CmdsExec.ACTION_OPEN_DETECTION_SESSION);
+		broadcast_intent.putExtra(CONSTS_BC_CmdsExec.EXTRA_OPEN_DETECTION_SESSION_1, session_id);
+
+		UtilsApp.sendInternalBroadcast(broadcast_intent);
+
+		return session_id;
+	}
+
+	/**
+	 * <p>Broadcasts a request - more info on {@link CONSTS_BC_CmdsExec#ACTION_FEED_DETECTION_SESSION}.</p>
+	 *
+	 * @param session_id read the action's documentation
+	 * @param hypothesis read the action's documentation
+	 */
+	public static void feedDetectionSession(final long session_id, @NonNull final String hypothesis) {
+		final Intent broadcast_intent = new Intent(CONSTS_BC_CmdsExec.ACTION_FEED_DETECTION_SESSION);
+		broadcast_intent.putExtra(CONSTS_BC_CmdsExec.EXTRA_FEED_DETECTION_SESSION_1, session_id);
+		broadcast_intent.putExtra(CONSTS_BC_CmdsExec.EXTRA_FEED_DETECTION_SESSION_2, hypothesis);
+
+		UtilsApp.sendInternalBroadcast(broadcast_intent);
+	}
+
+	/**
+	 * <p>Broadcasts a request - more info on {@link CONSTS_BC_CmdsExec#ACTION_CLOSE_DETECTION_SESSION}.</p>
+	 *
+	 * @param session_id read the action's documentation
+	 * @param final_sentence read the action's documentation
+	 */
+	public static void closeDetectionSession(final long session_id, @Nullable final String final_sentence) {
+		final Intent broadcast_intent = new Intent(CONSTS_BC_CmdsExec.ACTION_CLOSE_DETECTION_SESSION);
+		broadcast_intent.putExtra(CONSTS_BC_CmdsExec.EXTRA_CLOSE_DETECTION_SESSION_1, session_id);
+		broadcast_intent.putExtra(CONSTS_BC_CmdsExec.EXTRA_CLOSE_DETECTION_SESSION_2, final_sentence);
+
+		UtilsApp.sendInternalBroadcast(broadcast_intent);
+	}
 }
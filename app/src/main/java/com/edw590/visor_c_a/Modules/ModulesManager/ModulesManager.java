@@ -21,21 +21,41 @@
 
 package com.edw590.visor_c_a.Modules.ModulesManager;
 
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.SystemClock;
+
+import androidx.annotation.Nullable;
+
 import com.edw590.visor_c_a.GlobalInterfaces.IModuleInst;
+import com.edw590.visor_c_a.GlobalUtils.UtilsContext;
 import com.edw590.visor_c_a.GlobalUtils.UtilsGeneral;
 import com.edw590.visor_c_a.Modules.Speech.Speech2;
 import com.edw590.visor_c_a.Modules.Speech.UtilsSpeech2BC;
 import com.edw590.visor_c_a.ModulesList;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * <p>The module which ensures all the other modules are working properly.</p>
+ * <br>
+ * <p>The elements are checked when something reports a change (an element stopped, or a broadcast that may change the
+ * support of some element was received) and, as a fallback, every {@link #CHECK_INTERVAL}. Their support is cached
+ * and only checked again on those broadcasts or every {@link #SUPPORT_CHECK_INTERVAL}, since the elements'
+ * {@code isSupported()} methods check permissions and hardware (and Android doesn't broadcast permission grants).</p>
  */
 public final class ModulesManager implements IModuleInst {
 
 	public static final long CHECK_INTERVAL = 10_000;
+	public static final long SUPPORT_CHECK_INTERVAL = 60_000;
+
+	private static final Object check_lock = new Object();
+	/** True if a check of the elements was requested since the last one. */
+	private static boolean check_requested = false;
+	/** True if a check of the elements' support was requested since the last one. */
+	private static boolean support_check_requested = false;
+	/** The thread of the running instance of the module, if any. */
+	@Nullable private static volatile Thread manager_thread = null;
 
 	///////////////////////////////////////////////////////////////
 	// IModuleInst stuff
@@ -50,6 +70,10 @@ public final class ModulesManager implements IModuleInst {
 	}
 	@Override
 	public void destroy() {
+		try {
+			UtilsContext.getContext().unregisterReceiver(broadcastReceiver);
+		} catch (final IllegalArgumentException ignored) {
+		}
 		infinity_thread.interrupt();
 
 		is_module_destroyed = true;
@@ -69,28 +93,99 @@ public final class ModulesManager implements IModuleInst {
 	 */
 	public ModulesManager() {
 		infinity_thread.start();
+
+		try {
+			// Installed, removed, enabled or disabled apps (the Phone app or the speech recognizer, for example).
+			final IntentFilter intentFilter = new IntentFilter();
+			intentFilter.addAction(Intent.ACTION_PACKAGE_ADDED);
+			intentFilter.addAction(Intent.ACTION_PACKAGE_REMOVED);
+			intentFilter.addAction(Intent.ACTION_PACKAGE_CHANGED);
+			intentFilter.addAction(Intent.ACTION_PACKAGE_REPLACED);
+			intentFilter.addDataScheme("package");
+
+			UtilsContext.getContext().registerReceiver(broadcastReceiver, intentFilter);
+		} catch (final IllegalArgumentException ignored) {
+		}
+	}
+
+	/**
+	 * <p>Reports that an element stopped, so that the Manager checks all elements right away instead of only on the
+	 * next periodic check.</p>
+	 * <p>Called when an element is stopped and when any thread of the app dies from an uncaught exception (which may
+	 * be a module's thread).</p>
+	 * <p>Reports from the Manager itself are ignored, as it already knows about them.</p>
+	 */
+	public static void reportElementStopped() {
+		if (Thread.currentThread() == manager_thread) {
+			return;
+		}
+
+		requestCheck(false);
+	}
+
+	/**
+	 * <p>Requests the Manager to check right away the support of all elements (for example after permissions were
+	 * granted to the app) and then all elements.</p>
+	 */
+	public static void requestSupportCheck() {
+		requestCheck(true);
+	}
+
+	/**
+	 * <p>Wakes up the Manager to check the elements.</p>
+	 *
+	 * @param check_support true to also check the elements' support, false otherwise
+	 */
+	private static void requestCheck(final boolean check_support) {
+		synchronized (check_lock) {
+			check_requested = true;
+			if (check_support) {
+				support_check_requested = true;
+			}
+			check_lock.notifyAll();
+		}
 	}
 
 	final Thread infinity_thread = new Thread(new Runnable() {
 		@Override
 		public void run() {
-			boolean module_startup = true;
+			manager_thread = Thread.currentThread();
 
-			final List<Class<?>> elements_classes = new ArrayList<>(ModulesList.ELEMENTS_LIST_LENGTH);
+			boolean module_startup = true;
 
 			// Check all modules' support and put on a list to later warn if there were changes of support or not.
 			final boolean[] elements_support = new boolean[ModulesList.ELEMENTS_LIST_LENGTH];
 			for (int module_index = 0; module_index < ModulesList.ELEMENTS_LIST_LENGTH; ++module_index) {
-				final Class<?> element_class = (Class<?>) ModulesList.getElementValue(module_index, ModulesList.ELEMENT_CLASS);
-				elements_classes.add(element_class);
-				elements_support[module_index] = ModulesList.isElementSupported(element_class);
+				elements_support[module_index] = ModulesList.isElementSupported(module_index);
+				ModulesList.setElementValue(module_index, ModulesList.ELEMENT_SUPPORTED, elements_support[module_index]);
 			}
+			long last_support_check = SystemClock.elapsedRealtime();
+			// On the startup, the modules are all started at the same time at the end of the first check (with the
+			// dependencies in mind), instead of one by one.
+			final boolean[] to_start = new boolean[ModulesList.ELEMENTS_LIST_LENGTH];
 
 			while (true) {
+				final boolean check_support;
+				synchronized (check_lock) {
+					check_support = support_check_requested ||
+							SystemClock.elapsedRealtime() - last_support_check >= SUPPORT_CHECK_INTERVAL;
+					check_requested = false;
+					support_check_requested = false;
+				}
+				if (check_support) {
+					last_support_check = SystemClock.elapsedRealtime();
+				}
+
 				for (int module_index = 0; module_index < ModulesList.ELEMENTS_LIST_LENGTH; ++module_index) {
-					final boolean element_supported = ModulesList.isElementSupported(elements_classes.get(module_index));
-					// Keep updating if the modules are supported or not, in case the user changes the app permissions.
-					ModulesList.setElementValue(module_index, ModulesList.ELEMENT_SUPPORTED, element_supported);
+					final boolean element_supported;
+					if (check_support) {
+						element_supported = ModulesList.isElementSupported(module_index);
+						// Keep updating if the modules are supported or not, in case the user changes the app
+						// permissions.
+						ModulesList.setElementValue(module_index, ModulesList.ELEMENT_SUPPORTED, element_supported);
+					} else {
+						element_supported = elements_support[module_index];
+					}
 
 					if (element_supported) {
 						if (!elements_support[module_index]) {
@@ -106,9 +201,12 @@ public final class ModulesManager implements IModuleInst {
 						// not to check only (in which case the TYP2 value would be negative).
 						if (!ModulesList.isElementFullyWorking(module_index) &&
 								((int) ModulesList.getElementValue(module_index, ModulesList.ELEMENT_TYPE1) > 0)) {
-							ModulesList.restartElement(module_index);
 							// Start everything the first time. If it has to restart a module, warn about it.
-							if (!module_startup) {
+							if (module_startup) {
+								to_start[module_index] = true;
+							} else {
+								ModulesList.restartElement(module_index);
+
 								final String speak = "Attention - Module restarted: " +
 										ModulesList.getElementValue(module_index, ModulesList.ELEMENT_NAME);
 								UtilsSpeech2BC.speak(speak, Speech2.PRIORITY_HIGH, 0, UtilsSpeech2BC.GPT_DUMB, false, null);
@@ -131,14 +229,34 @@ public final class ModulesManager implements IModuleInst {
 					elements_support[module_index] = element_supported;
 				}
 
-				module_startup = false;
-
 				try {
-					Thread.sleep(CHECK_INTERVAL);
+					if (module_startup) {
+						new ModulesStartup(to_start).startAll();
+					}
+
+					module_startup = false;
+
+					synchronized (check_lock) {
+						if (!check_requested) {
+							check_lock.wait(CHECK_INTERVAL);
+						}
+					}
 				} catch (final InterruptedException ignored) {
 					return;
 				}
 			}
 		}
 	});
+
+	final BroadcastReceiver broadcastReceiver = new BroadcastReceiver() {
+		@Override
+		public void onReceive(@Nullable final Context context, @Nullable final Intent intent) {
+			if (intent == null || intent.getAction() == null) {
+				return;
+			}
+
+			// Any of the registered actions may change the support of some element.
+			requestSupportCheck();
+		}
+	};
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021-2024 Edw590
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.edw590.visor_c_a.Modules.ModulesManager;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import com.edw590.visor_c_a.ModulesList;
+import com.edw590.visor_c_a.Registry.RegistryKeys;
+import com.edw590.visor_c_a.Registry.UtilsRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * <p>Starts a group of elements at the same time, respecting their dependencies
+ * ({@link ModulesList#ELEMENT_DEPENDENCIES}).</p>
+ * <br>
+ * <p>Each element is (re)started as soon as all its dependencies in the group finished starting - the ones not in the
+ * group are assumed to be started already. The time each element took to start is stored on
+ * {@link RegistryKeys#K_MODULES_STARTUP_TIMES}.</p>
+ */
+final class ModulesStartup {
+
+	/** Maximum number of elements being started at the same time. */
+	private static final int MAX_THREADS = 4;
+
+	@NonNull private final boolean[] to_start;
+	/** Number of dependencies of each element that didn't finish starting yet. */
+	@NonNull private final int[] pending_deps;
+	/** Indexes of the elements in the group that depend on each element. */
+	@NonNull private final List<List<Integer>> dependents;
+	/** Time each element took to start, in milliseconds. */
+	@NonNull private final long[] times_ms;
+	private final int to_start_num;
+
+	private ExecutorService executor = null;
+	private CountDownLatch countDownLatch = null;
+
+	/**
+	 * <p>Main class constructor.</p>
+	 *
+	 * @param to_start the elements to start, by their index
+	 */
+	ModulesStartup(@NonNull final boolean[] to_start) {
+		this.to_start = to_start;
+		pending_deps = new int[to_start.length];
+		dependents = new ArrayList<>(to_start.length);
+		times_ms = new long[to_start.length];
+
+		for (int element_index = 0; element_index < to_start.length; ++element_index) {
+			dependents.add(new ArrayList<>(2));
+		}
+
+		int to_start_num = 0;
+		for (int element_index = 0; element_index < to_start.length; ++element_index) {
+			if (!to_start[element_index]) {
+				continue;
+			}
+
+			++to_start_num;
+			final Class<?>[] dependencies = (Class<?>[])
+					ModulesList.getElementValue(element_index, ModulesList.ELEMENT_DEPENDENCIES);
+			for (final Class<?> dependency : dependencies) {
+				final int dependency_index = ModulesList.getElementIndex(dependency);
+				if (dependency_index >= 0 && to_start[dependency_index]) {
+					++pending_deps[element_index];
+					dependents.get(dependency_index).add(element_index);
+				}
+			}
+		}
+		this.to_start_num = to_start_num;
+	}
+
+	/**
+	 * <p>(Re)starts all the elements of the group and waits for them to finish starting.</p>
+	 *
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	void startAll() throws InterruptedException {
+		if (to_start_num == 0) {
+			return;
+		}
+
+		final long start = SystemClock.elapsedRealtime();
+
+		executor = Executors.newFixedThreadPool(Math.min(to_start_num, MAX_THREADS));
+		countDownLatch = new CountDownLatch(to_start_num);
+		try {
+			synchronized (pending_deps) {
+				for (int element_index = 0; element_index < to_start.length; ++element_index) {
+					if (to_start[element_index] && pending_deps[element_index] == 0) {
+						submit(element_index);
+					}
+				}
+			}
+
+			countDownLatch.await();
+		} finally {
+			executor.shutdownNow();
+		}
+
+		final StringBuilder times = new StringBuilder(to_start_num * 32);
+		for (int element_index = 0; element_index < to_start.length; ++element_index) {
+			if (to_start[element_index]) {
+				if (times.length() > 0) {
+					times.append(", ");
+				}
+				times.append(ModulesList.getElementValue(element_index, ModulesList.ELEMENT_NAME)).append(": ").
+						append(times_ms[element_index]).append(" ms");
+			}
+		}
+		UtilsRegistry.setData(RegistryKeys.K_MODULES_STARTUP_TIMES, times.toString(), false);
+		UtilsRegistry.setData(RegistryKeys.K_MODULES_STARTUP_TIME_MS, SystemClock.elapsedRealtime() - start, false);
+	}
+
+	/**
+	 * <p>Submits an element to be (re)started on the {@link #executor}, and then the elements depending on it that got
+	 * no pending dependencies.</p>
+	 *
+	 * @param element_index the index of the element
+	 */
+	private void submit(final int element_index) {
+		executor.execute(() -> {
+			try {
+				final long start = SystemClock.elapsedRealtime();
+				ModulesList.restartElement(element_index);
+				times_ms[element_index] = SystemClock.elapsedRealtime() - start;
+			} finally {
+				synchronized (pending_deps) {
+					for (final int dependent_index : dependents.get(element_index)) {
+						--pending_deps[dependent_index];
+						if (pending_deps[dependent_index] == 0) {
+							submit(dependent_index);
+						}
+					}
+				}
+
+				countDownLatch.countDown();
+			}
+		});
+	}
+}
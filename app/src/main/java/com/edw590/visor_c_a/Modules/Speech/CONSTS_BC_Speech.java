@@ -70,7 +70,8 @@ public final class CONSTS_BC_Speech {
 
 	/**
 	 * <p>Executed function: {@link Speech2#speak(String, int, int)}.</p>
-	 * <p>Is broadcast by the class(es): {@link UtilsSpeech2BC}.</p>
+	 * <p>Is broadcast by the class(es): {@link UtilsSpeech2BC} - only when not on the module's process, else it uses
+	 * {@link SpeechRequestsBus}.</p>
 	 * <p>To be received only by the class(es): {@link Speech2}.</p>
 	 * <p>Extras (ordered parameters):</p>
 	 * <p>- {@link #EXTRA_CALL_SPEAK_1}: mandatory</p>
@@ -95,6 +96,15 @@ public final class CONSTS_BC_Speech {
 	 */
 	static final String ACTION_SAY_AGAIN = "Speech_ACTION_SAY_AGAIN";
 
+	/**
+	 * <p>Explanation: warns that text was sent to the GPT, so that its answer starts being spoken as soon as it's
+	 * ready.</p>
+	 * <p>Is broadcast by the class(es): {@link UtilsSpeech2BC}.</p>
+	 * <p>To be received only by the class(es): {@link Speech2}.</p>
+	 * <p>Extras: none.</p>
+	 */
+	static final String ACTION_GPT_TEXT_SENT = "Speech_ACTION_GPT_TEXT_SENT";
+
 	/**
 	 * <p>Private empty constructor so the class can't be instantiated (utility class).</p>
 	 */
@@ -35,6 +35,7 @@ import android.os.Build;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.HandlerThread;
+import android.os.SystemClock;
 import android.speech.tts.TextToSpeech;
 import android.speech.tts.UtteranceProgressListener;
 import android.speech.tts.Voice;
@@ -195,6 +196,7 @@ public final class Speech2 implements IModuleInst {
 	}
 	@Override
 	public void destroy() {
+		SpeechRequestsBus.detach(this);
 		try {
 			UtilsContext.getContext().unregisterReceiver(broadcastReceiver);
 		} catch (final IllegalArgumentException ignored) {
@@ -260,20 +262,58 @@ public final class Speech2 implements IModuleInst {
 		infinity_thread.start();
 	}
 
+	/** Interval to check for new GPT sentences right after some GPT activity. */
+	private static final long GPT_ACTIVE_CHECK_INTERVAL = 50;
+	/** Maximum interval to check for the first sentence of an answer, while it's expected. */
+	private static final long GPT_ANSWER_CHECK_INTERVAL = 250;
+	/** For how long after sending text to the GPT the first sentence of the answer is expected. */
+	private static final long GPT_ANSWER_TIMEOUT = 60_000;
+	/** Interval to check for new GPT sentences with no recent activity (speeches can also come from other devices). */
+	private static final long GPT_IDLE_CHECK_INTERVAL = 1000;
+
+	private final Object gpt_lock = new Object();
+	/** Current interval to check for new GPT sentences, doubled on each check without one until
+	 * {@link #GPT_IDLE_CHECK_INTERVAL}. */
+	private long gpt_check_interval = GPT_IDLE_CHECK_INTERVAL;
+	/** Time the last text was sent to the GPT in {@link SystemClock#elapsedRealtime()} time, or -1 if the first
+	 * sentence of its answer was already received. */
+	private long gpt_text_sent_time = -1;
+
 	private final Thread infinity_thread = new Thread(() -> {
 		GPTComm.setPreparations(System.currentTimeMillis());
 		while (true) {
-			// Keep getting the next sentence to speak from the server
+			// Keep getting the next sentence to speak from the server. The library has no way of notifying when one is
+			// ready, so the only signals are the text being sent (wakes this thread up right away) and the sentences
+			// being received. After each, check often for the next sentence and back off from there, so that waiting
+			// for an answer that already ended costs only a few checks. Until the first sentence of an answer arrives
+			// though, don't back off as much, or it would be spoken late.
 			String speak = GPTComm.getNextSpeechSentence();
 			if (speak.isEmpty() || GPTComm.END_ENTRY.equals(speak)) {
 				try {
-					Thread.sleep(1000);
+					synchronized (gpt_lock) {
+						final boolean answer_expected = gpt_text_sent_time != -1 &&
+								SystemClock.elapsedRealtime() - gpt_text_sent_time < GPT_ANSWER_TIMEOUT;
+						final long interval = gpt_check_interval;
+						gpt_check_interval = Math.min(gpt_check_interval * 2,
+								answer_expected ? GPT_ANSWER_CHECK_INTERVAL : GPT_IDLE_CHECK_INTERVAL);
+						gpt_lock.wait(interval);
+					}
 				} catch (final InterruptedException ignored) {
 				}
 
 				continue;
 			}
 
+			synchronized (gpt_lock) {
+				// More sentences of the same answer may be on the way.
+				gpt_check_interval = GPT_ACTIVE_CHECK_INTERVAL;
+				if (gpt_text_sent_time != -1) {
+					UtilsRegistry.setData(RegistryKeys.K_GPT_FIRST_SENTENCE_LATENCY_MS,
+							SystemClock.elapsedRealtime() - gpt_text_sent_time, false);
+					gpt_text_sent_time = -1;
+				}
+			}
+
 			speak(speak, PRIORITY_USER_ACTION, MODE_DEFAULT);
 		}
 	});
@@ -562,7 +602,7 @@ public final class Speech2 implements IModuleInst {
 		// The utteranceIDs (their indexes in the array) are used by me to identify the corresponding Runnable and speech.
 
 		int actual_mode = mode;
-		if ((boolean) UtilsRegistry.getData(RegistryKeys.K_SPEECH_ALWAYS_NOTIFY, true)) {
+		if (UtilsRegistry.getBool(RegistryKeys.K_SPEECH_ALWAYS_NOTIFY)) {
 			actual_mode |= MODE1_ALWAYS_NOTIFY;
 		}
 
@@ -773,7 +813,7 @@ public final class Speech2 implements IModuleInst {
 
 			// Set the volume
 			final int current_volume = audioManager.getStreamVolume(curr_speech.getAudioStream());
-			int new_volume = (int) UtilsRegistry.getData(RegistryKeys.K_SPEECH_CRITICAL_VOL, true);
+			int new_volume = UtilsRegistry.getInt(RegistryKeys.K_SPEECH_CRITICAL_VOL);
 			int max_volume = audioManager.getStreamMaxVolume(curr_speech.getAudioStream());
 			int actual_new_volume = new_volume * max_volume / 100;
 			if (current_volume < actual_new_volume) {
@@ -809,7 +849,7 @@ public final class Speech2 implements IModuleInst {
 				// RING or NOTIFICATION (for example with STREAM_MUSIC).
 				final int current_volume = audioManager.getStreamVolume(curr_speech.getAudioStream());
 				final int max_volume = audioManager.getStreamMaxVolume(curr_speech.getAudioStream());
-				final int new_volume = (int) UtilsRegistry.getData(RegistryKeys.K_SPEECH_NORMAL_VOL, true);
+				final int new_volume = UtilsRegistry.getInt(RegistryKeys.K_SPEECH_NORMAL_VOL);
 				int actual_new_volume = new_volume * max_volume / 100;
 				if (current_volume < actual_new_volume) {
 					volumeDndState.audio_stream = curr_speech.getAudioStream();
@@ -989,7 +1029,7 @@ public final class Speech2 implements IModuleInst {
 		}
 
 		if (skip_speaking) {
-			new Thread(TasksList.removeTask(curr_speech.getTaskID()).runnable).start();
+			TasksList.runTask(curr_speech.getTaskID());
 			UtilsApp.sendInternalBroadcast(new Intent(CONSTS_BC_Speech.ACTION_AFTER_SPEAK_ID).
 					putExtra(CONSTS_BC_Speech.EXTRA_AFTER_SPEAK_ID_1, curr_speech.getID()));
 
@@ -1140,8 +1180,8 @@ public final class Speech2 implements IModuleInst {
 
 			// todo Remake this module from scratch.... And organize it this time
 
-			// If there's an ID of a Task to run after the speech is finished, run it in a new thread.
-			new Thread(TasksList.removeTask(last_speech.getTaskID()).runnable).start();
+			// If there's an ID of a Task to run after the speech is finished, run it on another thread.
+			TasksList.runTask(last_speech.getTaskID());
 
 			UtilsApp.sendInternalBroadcast(new Intent(CONSTS_BC_Speech.ACTION_AFTER_SPEAK_ID).
 					putExtra(CONSTS_BC_Speech.EXTRA_AFTER_SPEAK_ID_1, last_speech.getID()));
@@ -1232,11 +1272,13 @@ public final class Speech2 implements IModuleInst {
 		intentFilter.addAction(CONSTS_BC_Speech.ACTION_SKIP_SPEECH);
 		intentFilter.addAction(CONSTS_BC_Speech.ACTION_REMOVE_SPEECH);
 		intentFilter.addAction(CONSTS_BC_Speech.ACTION_SAY_AGAIN);
+		intentFilter.addAction(CONSTS_BC_Speech.ACTION_GPT_TEXT_SENT);
 
 		intentFilter.addAction(ACTION_CLEAR_NOTIF_MSGS);
 
 		try {
 			UtilsContext.getContext().registerReceiver(broadcastReceiver, intentFilter, null, main_handler);
+			SpeechRequestsBus.attach(this, main_handler);
 
 			// Don't take this out of here. This way, this function can be called as many times as needed and it will
 			// only act if it's the first time - else, the exception will be thrown (the receiver is already registered)
@@ -1290,6 +1332,15 @@ public final class Speech2 implements IModuleInst {
 
 					break;
 				}
+				case (CONSTS_BC_Speech.ACTION_GPT_TEXT_SENT): {
+					synchronized (gpt_lock) {
+						gpt_text_sent_time = SystemClock.elapsedRealtime();
+						gpt_check_interval = GPT_ACTIVE_CHECK_INTERVAL;
+						gpt_lock.notifyAll();
+					}
+
+					break;
+				}
 				case (CONSTS_BC_Speech.ACTION_SAY_AGAIN): {
 					if (last_speech.getTime() > System.currentTimeMillis() + 120*1000) {
 						// 1.5 minutes at most until he forgets what he said (seems a good number)
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2021-2024 Edw590
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.edw590.visor_c_a.Modules.Speech;
+
+import android.os.Handler;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>In-process bus of speech requests to {@link Speech2}.</p>
+ * <br>
+ * <p>The requests made from the Main Service process are put on a lock-free queue, which is drained on the module's
+ * thread, instead of going through the system as a broadcast ({@link CONSTS_BC_Speech#ACTION_CALL_SPEAK} is still
+ * used by other processes).</p>
+ */
+final class SpeechRequestsBus {
+
+	/**
+	 * <p>Private empty constructor so the class can't be instantiated (utility class).</p>
+	 */
+	private SpeechRequestsBus() {
+	}
+
+	/**
+	 * <p>A speech request - same parameters as on {@link CONSTS_BC_Speech#ACTION_CALL_SPEAK}.</p>
+	 */
+	private static final class SpeakRequest {
+		@NonNull final String txt_to_speak;
+		final int speech_priority;
+		final int mode;
+		@NonNull final String speech_id;
+		final int task_id;
+
+		/**
+		 * <p>Main class constructor.</p>
+		 *
+		 * @param txt_to_speak {@link #txt_to_speak}
+		 * @param speech_priority {@link #speech_priority}
+		 * @param mode {@link #mode}
+		 * @param speech_id {@link #speech_id}
+		 * @param task_id {@link #task_id}
+		 */
+		SpeakRequest(@NonNull final String txt_to_speak, final int speech_priority, final int mode,
+					 @NonNull final String speech_id, final int task_id) {
+			this.txt_to_speak = txt_to_speak;
+			this.speech_priority = speech_priority;
+			this.mode = mode;
+			this.speech_id = speech_id;
+			this.task_id = task_id;
+		}
+	}
+
+	private static final Queue<SpeakRequest> requests = new ConcurrentLinkedQueue<>();
+	/** True if a drain of {@link #requests} is already posted to the module's handler. */
+	private static final AtomicBoolean drain_posted = new AtomicBoolean(false);
+
+	/** The module instance receiving the requests, or null if it's not ready (or this is another process). */
+	@Nullable private static volatile Speech2 speech2 = null;
+	@Nullable private static volatile Handler speech2_handler = null;
+
+	private static final Runnable drain_runnable = new Runnable() {
+		@Override
+		public void run() {
+			// Reset before draining so that a request added meanwhile posts a new drain.
+			drain_posted.set(false);
+
+			final Speech2 speech2_local = speech2;
+			SpeakRequest request;
+			while ((request = requests.poll()) != null) {
+				if (speech2_local == null) {
+					// The module was destroyed - the request is lost, as it would be with the broadcast.
+					continue;
+				}
+
+				speech2_local.speakInternal(request.txt_to_speak, request.speech_priority, request.mode,
+						request.speech_id, request.task_id);
+			}
+		}
+	};
+
+	/**
+	 * <p>Attaches the module instance that will receive the requests.</p>
+	 *
+	 * @param speech2_instance the instance
+	 * @param handler the handler of the thread to speak on (the same as the broadcast receiver's)
+	 */
+	static void attach(@NonNull final Speech2 speech2_instance, @NonNull final Handler handler) {
+		speech2_handler = handler;
+		speech2 = speech2_instance;
+	}
+
+	/**
+	 * <p>Detaches the given module instance, if it's the attached one.</p>
+	 *
+	 * @param speech2_instance the instance
+	 */
+	static void detach(@NonNull final Speech2 speech2_instance) {
+		if (speech2 == speech2_instance) {
+			speech2 = null;
+			speech2_handler = null;
+		}
+	}
+
+	/**
+	 * <p>Sends a speech request through the bus, if the module is running in this process.</p>
+	 *
+	 * @param txt_to_speak same as in {@link CONSTS_BC_Speech#EXTRA_CALL_SPEAK_1}
+	 * @param speech_priority same as in {@link CONSTS_BC_Speech#EXTRA_CALL_SPEAK_3}
+	 * @param mode same as in {@link CONSTS_BC_Speech#EXTRA_CALL_SPEAK_2}
+	 * @param speech_id same as in {@link CONSTS_BC_Speech#EXTRA_CALL_SPEAK_5}
+	 * @param task_id same as in {@link CONSTS_BC_Speech#EXTRA_CALL_SPEAK_4}, or -1 for none
+	 *
+	 * @return true if the request was sent, false if it must be broadcast instead
+	 */
+	static boolean post(@NonNull final String txt_to_speak, final int speech_priority, final int mode,
+						@NonNull final String speech_id, final int task_id) {
+		final Handler handler = speech2_handler;
+		if (handler == null) {
+			return false;
+		}
+
+		final SpeakRequest request = new SpeakRequest(txt_to_speak, speech_priority, mode, speech_id, task_id);
+		requests.add(request);
+		if (drain_posted.compareAndSet(false, true) && !handler.post(drain_runnable)) {
+			// The module's thread is gone.
+			drain_posted.set(false);
+
+			return !requests.remove(request);
+		}
+
+		return true;
+	}
+}
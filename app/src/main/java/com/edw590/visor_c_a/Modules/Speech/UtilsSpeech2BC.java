@@ -68,6 +68,8 @@ public final class UtilsSpeech2BC {
 			if (!GPTComm.sendText(text, gpt_mode == GPT_SMART)) {
 				String speak = "Sorry, the GPT is busy at the moment. Text on hold.";
 				speakInternal(speak, speech_priority, mode, null);
+			} else {
+				gptTextSent();
 			}
 
 			return "";
@@ -83,14 +85,21 @@ public final class UtilsSpeech2BC {
 
 	private static String speakInternal(@NonNull final String txt_to_speak, final int speech_priority, final int mode,
 										@Nullable final Runnable after_speaking) {
+		final int task_id = after_speaking == null ? -1 : TasksList.addTask(after_speaking);
+		final String speech_id = SpeechQueue.generateSpeechID();
+
+		// Directly to the module if it's on this process, else through the system.
+		if (SpeechRequestsBus.post(txt_to_speak, speech_priority, mode, speech_id, task_id)) {
+			return speech_id;
+		}
+
 		final Intent broadcast_intent = new Intent(CONSTS_BC_Speech.ACTION_CALL_SPEAK);
 		broadcast_intent.putExtra(CONSTS_BC_Speech.EXTRA_CALL_SPEAK_1, txt_to_speak);
 		broadcast_intent.putExtra(CONSTS_BC_Speech.EXTRA_CALL_SPEAK_2, mode);
 		broadcast_intent.putExtra(CONSTS_BC_Speech.EXTRA_CALL_SPEAK_3, speech_priority);
-		if (after_speaking != null) {
-			broadcast_intent.putExtra(CONSTS_BC_Speech.EXTRA_CALL_SPEAK_4, TasksList.addTask(after_speaking));
+		if (task_id != -1) {
+			broadcast_intent.putExtra(CONSTS_BC_Speech.EXTRA_CALL_SPEAK_4, task_id);
 		}
-		final String speech_id = SpeechQueue.generateSpeechID();
 		broadcast_intent.putExtra(CONSTS_BC_Speech.EXTRA_CALL_SPEAK_5, speech_id);
 
 		UtilsApp.sendInternalBroadcast(broadcast_intent);
@@ -98,6 +107,16 @@ public final class UtilsSpeech2BC {
 		return speech_id;
 	}
 
+	/**
+	 * <p>Broadcasts a request - more info on {@link CONSTS_BC_Speech#ACTION_GPT_TEXT_SENT}.</p>
+	 * <p>Call after each {@link GPTComm#sendText(String, boolean)} with text that returned true (not put on hold).</p>
+	 */
+	public static void gptTextSent() {
+		final Intent broadcast_intent = new Intent(CONSTS_BC_Speech.ACTION_GPT_TEXT_SENT);
+
+		UtilsApp.sendInternalBroadcast(broadcast_intent);
+	}
+
 	/**
 	 * <p>Broadcasts a request - more info on {@link CONSTS_BC_Speech#ACTION_SKIP_SPEECH}.</p>
 	 */
@@ -40,9 +40,12 @@ final class CONSTS_BC_SpeechRecog {
 	 * <p>Explanation: commands {@link SpeechRecognitionCtrl} to start the commands recognition.</p>
 	 * <p>Is broadcast by the class(es): {@link UtilsSpeechRecognizersBC}.</p>
 	 * <p>To be received only by the class(es): {@link SpeechRecognitionCtrl}.</p>
-	 * <p>Extras: none.</p>
+	 * <p>Extras:</p>
+	 * <p>- {@link #EXTRA_START_CMDS_RECOG_1} (long): the result of {@link System#currentTimeMillis()} at the moment
+	 * of the request.</p>
 	 */
 	static final String ACTION_START_CMDS_RECOG = "SpeechRecognition_ACTION_START_CMDS_RECOG";
+	static final String EXTRA_START_CMDS_RECOG_1 = "SpeechRecognition_EXTRA_START_CMDS_RECOG_1";
 
 	/**
 	 * <p>Explanation: commands {@link SpeechRecognitionCtrl} to start the PocketSphinx recognition.</p>
@@ -85,4 +88,15 @@ final class CONSTS_BC_SpeechRecog {
 	 * <p>Extras: none.</p>
 	 */
 	public static final String ACTION_CMDS_RECOG_STOPPED = "SpeechRecognition_ACTION_CMDS_RECOG_STOPPED";
+
+	/**
+	 * <p>Explanation: informs that the commands speech recognizer is ready to listen.</p>
+	 * <p>Is broadcast by the class(es): {@link CommandsRecognition}.</p>
+	 * <p>To be received only by the class(es): {@link SpeechRecognitionCtrl}.</p>
+	 * <p>Extras:</p>
+	 * <p>- {@link #EXTRA_CMDS_RECOG_READY_1} (long): milliseconds since the recognition was requested, or -1 if
+	 * unknown.</p>
+	 */
+	static final String ACTION_CMDS_RECOG_READY = "SpeechRecognition_ACTION_CMDS_RECOG_READY";
+	static final String EXTRA_CMDS_RECOG_READY_1 = "SpeechRecognition_EXTRA_CMDS_RECOG_READY_1";
 }
@@ -31,6 +31,11 @@ public final class CONSTS_SpeechRecog {
 	static final String EXTRA_TIME_START = "EXTRA_TIME_START";
 	/** Use this to enable or disable partial recognition results. If not used, partial results will not be used. */
 	static final String EXTRA_PARTIAL_RESULTS = "EXTRA_PARTIAL_RESULTS";
+	/** Use this to give the result of {@link System#currentTimeMillis()} at the moment the commands recognition was
+	 * requested (for example, when the hotword was detected), to measure the time until it's ready to listen. */
+	static final String EXTRA_TIME_REQUESTED = "EXTRA_TIME_REQUESTED";
+	/** Use this to stop the current commands recognition session, keeping the recognizer ready for the next one. */
+	static final String EXTRA_STOP_SESSION = "EXTRA_STOP_SESSION";
 
 	/**
 	 * <p>Private empty constructor so the class can't be instantiated (utility class).</p>
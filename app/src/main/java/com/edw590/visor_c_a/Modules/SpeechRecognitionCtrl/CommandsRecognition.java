@@ -23,6 +23,7 @@ package com.edw590.visor_c_a.Modules.SpeechRecognitionCtrl;
 
 import android.app.Service;
 import android.content.BroadcastReceiver;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
 import android.content.Intent;
 import android.content.IntentFilter;
@@ -33,6 +34,7 @@ import android.os.Handler;
 import android.os.HandlerThread;
 import android.os.IBinder;
 import android.os.Looper;
+import android.os.SystemClock;
 import android.speech.RecognitionListener;
 import android.speech.RecognizerIntent;
 import android.speech.SpeechRecognizer;
@@ -67,7 +69,11 @@ import java.util.Map;
 
 /**
  * <p>This class activates the available commands speech recognizer and broadcasts the results.</p>
- * <p>The results can be either final results or partial results, and both will be processed (NOT YET - NOT READY).</p>
+ * <p>The results can be either final results or partial results, and both will be processed (the partial ones through
+ * an incremental commands detection session, so that complete commands are executed before the final results).</p>
+ * <p>Between sessions the service stays idle in its process with the {@link SpeechRecognizer} kept, so that the next
+ * session doesn't have to start a new process and recognizer. The process is only terminated if the recognizer
+ * freezes; the recognizer is released on recognition errors and when the system is low on memory.</p>
  * <p>NOTE: the class is public but it's NOT to be used outside its package! It's only public for the service to be
  * instantiated (meaning if it would be put package-private now, no error would appear on the entire project).</p>
  */
@@ -77,6 +83,8 @@ public final class CommandsRecognition extends Service implements IModuleSrv {
 	private final HandlerThread main_handlerThread = new HandlerThread((String) ModulesList.getElementValue(element_index,
 			ModulesList.ELEMENT_NAME));
 	private Handler main_handler;
+	/** Handler of the main thread of the process, on which the {@link SpeechRecognizer} must be used. */
+	private final Handler main_thread_handler = new Handler(Looper.getMainLooper());
 
 	@Nullable private SpeechRecognizer recognizer = null;
 
@@ -86,22 +94,22 @@ public final class CommandsRecognition extends Service implements IModuleSrv {
 
 	String listening_speech_id = "";
 	boolean visor_spoke = false;
-	boolean wait = true;
 
-	private FrozenMethodsChecker frozen_methods_checker = null;
-
-	//String last_processed_speech = "";
-	//int partial_results_last_index = 0;
-	//long partial_results_last_time = 0;
-	//String process_speech_string = "";
-	//String total_processed_speech = "";
+	/** The ID of the incremental commands detection session, if {@link #partial_results} is true. */
+	long detection_session_id = 0;
+	/** When the current session was requested (0 if unknown or already reported), to report the time until the
+	 * recognizer is ready to listen. */
+	long session_requested_when = 0;
 
 	private static final int ON_START_COMMAND_STR = 0;
 	private static final int ON_READY_FOR_SPEECH_STR = 1;
 	private static final int ON_BEGINNING_OF_SPEECH_STR = 2;
 	private static final int ON_END_OF_SPEECH_STR = 3;
-	int last_method_called = -1;
-	long last_method_called_when = 0;
+	/** The state of the session: the last of the methods above to be called, or -1 if there's no session. */
+	volatile int last_method_called = -1;
+	volatile long last_method_called_when = 0;
+	/** Token of the {@link #checkFrozen(int, long)} calls on {@link #main_handler}. */
+	private static final Object FROZEN_CHECK_TOKEN = new Object();
 	static final Map<Integer, Long> last_methods_called_map = new LinkedHashMap<Integer, Long>() {
 		private static final long serialVersionUID = 2268708824566655410L;
 		@NonNull
@@ -110,14 +118,13 @@ public final class CommandsRecognition extends Service implements IModuleSrv {
 		}
 
 		{
-			// Don't forget the sleep time of the thread is 1 second, so the waiting time here must be a multiple of
-			// that (or not, but 1.5 seconds == 2 seconds in this case of 1 second sleep).
 			// PS: these times are now also including user action and method action delay, not just probable good frozen
 			// timings.
 			put(ON_START_COMMAND_STR, 3_000L); // 3 seconds to call onReadyForSpeech() after starting the service
-			put(ON_READY_FOR_SPEECH_STR, 5_000L); // Waits for user speech to begin - give people some time (this is
+			put(ON_READY_FOR_SPEECH_STR, 8_000L); // Waits for user speech to begin - give people some time (this is
 			// also decided by the recognizer itself - if it sees there's no speech, it will call onEndOfSpeech() (or
-			// onError(), I think, not sure anymore))
+			// onError(), I think, not sure anymore)). Longer than the recognizer's own timeout so that its error stops
+			// the session normally, instead of this terminating the warm process.
 			put(ON_BEGINNING_OF_SPEECH_STR, Long.MAX_VALUE); // Speech duration - as long as the user wants. If there's
 			// no one actually talking, let the recognizer decide that. I hasn't froze so far on onBeginningOfSpeech().
 			put(ON_END_OF_SPEECH_STR, 3_000L); // Time since speech ending until results are gotten - Internet
@@ -149,7 +156,6 @@ public final class CommandsRecognition extends Service implements IModuleSrv {
 		speech_recognizer_intent.putExtra(RecognizerIntent.EXTRA_SPEECH_INPUT_POSSIBLY_COMPLETE_SILENCE_LENGTH_MILLIS, 1500L);
 		speech_recognizer_intent.putExtra(RecognizerIntent.EXTRA_SPEECH_INPUT_COMPLETE_SILENCE_LENGTH_MILLIS, 3000L);
 		speech_recognizer_intent.putExtra(RecognizerIntent.EXTRA_MAX_RESULTS, 1);
-		//speech_recognizer_intent.putExtra(RecognizerIntent.EXTRA_PARTIAL_RESULTS, true);
 	}
 
 	///////////////////////////////////////////////////////////////
@@ -171,8 +177,7 @@ public final class CommandsRecognition extends Service implements IModuleSrv {
 		main_handler = new Handler(main_handlerThread.getLooper());
 
 		try {
-			// This must be started in another thread to change the 'wait' variable. Else it would run on the main
-			// process thread, like the while loop (not very useful...).
+			// Received on the module's thread, not to wait for the main thread (which is the recognizer's).
 			UtilsContext.getContext().registerReceiver(broadcastReceiver,
 					new IntentFilter(CONSTS_BC_Speech.ACTION_AFTER_SPEAK_ID), null, main_handler);
 		} catch (final IllegalArgumentException ignored) {
@@ -191,6 +196,19 @@ public final class CommandsRecognition extends Service implements IModuleSrv {
         This below is supposed to fix that - if there's not EXTRA_TIME_START on the intent with a time that is 1 second
         or less ago relative to the current time, the service will be stopped immediately.
         */
+		if (intent != null && intent.getBooleanExtra(CONSTS_SpeechRecog.EXTRA_STOP_SESSION, false)) {
+			main_thread_handler.removeCallbacks(start_if_mic_available);
+			if (is_working) {
+				if (partial_results && last_method_called != ON_START_COMMAND_STR) {
+					// The detection session is only opened after the "Listening..." speech.
+					UtilsCmdsExecutorBC.closeDetectionSession(detection_session_id, null);
+				}
+				stopListening(true);
+			}
+
+			return START_NOT_STICKY;
+		}
+
 		boolean stop_now = true;
 		if (intent != null) {
 			if (intent.hasExtra(CONSTS_SpeechRecog.EXTRA_TIME_START)) {
@@ -198,6 +216,7 @@ public final class CommandsRecognition extends Service implements IModuleSrv {
 				stop_now = intent.getLongExtra(CONSTS_SpeechRecog.EXTRA_TIME_START, 0) + 1000 < System.currentTimeMillis();
 			}
 			partial_results = intent.getBooleanExtra(CONSTS_SpeechRecog.EXTRA_PARTIAL_RESULTS, false);
+			session_requested_when = intent.getLongExtra(CONSTS_SpeechRecog.EXTRA_TIME_REQUESTED, 0);
 		}
 		if (stop_now) {
 			stopSelf();
@@ -217,88 +236,106 @@ public final class CommandsRecognition extends Service implements IModuleSrv {
 			stopListening(true);
 			wait_mic = true;
 		}
+		main_thread_handler.removeCallbacks(start_if_mic_available);
 		if (wait_mic) {
-			try {
-				// Wait 1 second if the microphone is busy, to see if it stops being.
-				Thread.sleep(1000);
-			} catch (final InterruptedException ignored) {
-				return START_NOT_STICKY;
-			}
-		}
-
-		if (UtilsAudio.isAudioSourceAvailable(MediaRecorder.AudioSource.MIC)) {
-			startListening();
+			// Wait 1 second if the microphone is busy, to see if it stops being.
+			main_thread_handler.postDelayed(start_if_mic_available, 1000);
 		} else {
-			// Else, if the microphone doesn't stop being busy, means it's in use elsewhere (recording, in a call, who
-			// knows), so warn about it and don't do anything.
-			final String speak = "Resources are busy";
-			UtilsSpeech2BC.speak(speak, Speech2.PRIORITY_HIGH, 0, UtilsSpeech2BC.GPT_DUMB, false, null);
-
-			stopListening(true);
-			stopSelf();
-			UtilsProcesses.terminatePID(UtilsProcesses.getCurrentPID());
+			start_if_mic_available.run();
 		}
 
 		return START_NOT_STICKY;
 	}
 
-	boolean startListening() {
-		last_method_called = -1;
-		last_method_called_when = 0;
+	final Runnable start_if_mic_available = new Runnable() {
+		@Override
+		public void run() {
+			if (UtilsAudio.isAudioSourceAvailable(MediaRecorder.AudioSource.MIC)) {
+				startListening();
+			} else {
+				// Else, if the microphone doesn't stop being busy, means it's in use elsewhere (recording, in a call,
+				// who knows), so warn about it and don't do anything.
+				final String speak = "Resources are busy";
+				UtilsSpeech2BC.speak(speak, Speech2.PRIORITY_HIGH, 0, UtilsSpeech2BC.GPT_DUMB, false, null);
+
+				stopListening(true);
+			}
+		}
+	};
 
-		// This must be done before starting the thread.
-		last_method_called = ON_START_COMMAND_STR;
+	/**
+	 * <p>Starts a session: says "Listening..." and then {@link #begin_listening} is posted when the speech finishes.</p>
+	 */
+	void startListening() {
+		// This must be done before anything else - it also starts the frozen methods check, without which this could
+		// stay working forever without being working (if a problem occurred while starting it, the controller will
+		// restart it).
+		setLastMethodCalled(ON_START_COMMAND_STR);
+		is_working = true;
 
 		if (recognizer == null) {
 			recognizer = SpeechRecognizer.createSpeechRecognizer(UtilsContext.getContext());
 			recognizer.setRecognitionListener(new SpeechRecognitionListener());
 		}
 
-		// Start the recognition frozen methods checker (which means if any of the recognition methods froze and now the
-		// service won't stop because it's frozen, the thread will take care of that and kill the service.)
-		if (frozen_methods_checker != null) {
-			// In case the previous one wasn't interrupted.
-			frozen_methods_checker.interrupt();
-		}
-		frozen_methods_checker = new FrozenMethodsChecker();
-		frozen_methods_checker.start();
-
-		// After starting the thread - without the thread, this can stay working forever without being working, and if
-		// a problem occurred while starting it, the controller will restart t
 		UtilsApp.sendInternalBroadcast(new Intent(CONSTS_BC_SpeechRecog.ACTION_CMDS_RECOG_STARTING));
 
-		wait = true;
 		// Don't notify about the speech if there was no sound - there's already a notification.
 		listening_speech_id = UtilsSpeech2BC.speak("Listening...", Speech2.PRIORITY_USER_ACTION, Speech2.MODE1_NO_NOTIF,
 				UtilsSpeech2BC.GPT_NONE, false, null);
 		visor_spoke = UtilsSpeech2.mightSpeak();
 
-		// Right before calling startListening() but also before the while true just in case it would get stuck.
-		last_method_called_when = System.currentTimeMillis();
-
 		// Don't begin recognizing if VISOR didn't finish speaking (else he will recognize his own speech and end
-		// the recognition if there's nothing said right after it).
-		// Also no problem if this gets stuck because the Speech module is restarting or something - the checker
-		// thread will terminate the recognizer in that case.
-		while (wait) {
-			try {
-				Thread.sleep(100);
-			} catch (final InterruptedException ignored) {
-				return false;
-			}
-		}
+		// the recognition if there's nothing said right after it) - the broadcast receiver posts begin_listening when
+		// he finishes.
+		// Also no problem if that never happens because the Speech module is restarting or something - the frozen
+		// methods check will terminate the recognizer in that case.
+	}
 
-		// todo Instead of this, have VISOR detect if he's on speakers or headphones. If on speakers, mute the
-		//  microphone with AudioManager.setMicrophoneMute() until he stops speaking.
+	/**
+	 * <p>Begins the recognition of the session started by {@link #startListening()}, after VISOR finished saying
+	 * "Listening...".</p>
+	 */
+	final Runnable begin_listening = new Runnable() {
+		@Override
+		public void run() {
+			if (last_method_called != ON_START_COMMAND_STR) {
+				// The session was stopped meanwhile.
+				return;
+			}
 
-		is_working = true;
+			// todo Instead of this, have VISOR detect if he's on speakers or headphones. If on speakers, mute the
+			//  microphone with AudioManager.setMicrophoneMute() until he stops speaking.
 
-		recognizer.startListening(speech_recognizer_intent);
+			speech_recognizer_intent.putExtra(RecognizerIntent.EXTRA_PARTIAL_RESULTS, partial_results);
+			if (partial_results) {
+				detection_session_id = UtilsCmdsExecutorBC.openDetectionSession();
+			}
+			recognizer.startListening(speech_recognizer_intent);
 
-		UtilsContext.getNotificationManager().notify(GL_CONSTS.NOTIF_ID_COMMANDS_RECOG_FOREGROUND,
-				UtilsNotifications.getNotification(notificationInfo).setOngoing(true).build());
+			UtilsContext.getNotificationManager().notify(GL_CONSTS.NOTIF_ID_COMMANDS_RECOG_FOREGROUND,
+					UtilsNotifications.getNotification(notificationInfo).setOngoing(true).build());
+		}
+	};
 
-		return true;
+	/**
+	 * <p>Moves the session to the given state and schedules on {@link #main_handler} the {@link #checkFrozen(int, long)}
+	 * for it, replacing the previous one.</p>
+	 *
+	 * @param method one of the ON_[...]_STR constants
+	 */
+	void setLastMethodCalled(final int method) {
+		final long method_called_when = System.currentTimeMillis();
+		last_method_called_when = method_called_when;
+		last_method_called = method;
+
+		main_handler.removeCallbacksAndMessages(FROZEN_CHECK_TOKEN);
+		final long timeout = last_methods_called_map.get(method);
+		if (timeout != Long.MAX_VALUE) {
+			// Don't check the time if the method has no wait time (MAX_VALUE).
+			main_handler.postAtTime(() -> checkFrozen(method, method_called_when), FROZEN_CHECK_TOKEN,
+					SystemClock.uptimeMillis() + timeout);
+		}
 	}
 
 	final Runnable stop_listening = new Runnable() {
@@ -306,12 +343,12 @@ public final class CommandsRecognition extends Service implements IModuleSrv {
 		public void run() {
 			last_method_called = -1;
 			last_method_called_when = 0;
+			main_handler.removeCallbacksAndMessages(FROZEN_CHECK_TOKEN);
+			main_thread_handler.removeCallbacks(begin_listening);
 			if (recognizer != null) {
+				// Only cancelled (which releases the microphone) - the recognizer is kept for the next session.
 				recognizer.cancel();
-				recognizer.destroy();
-				recognizer = null;
 			}
-			frozen_methods_checker.interrupt();
 			UtilsNotifications.cancelNotification(GL_CONSTS.NOTIF_ID_COMMANDS_RECOG_FOREGROUND);
 			UtilsApp.sendInternalBroadcast(new Intent(CONSTS_BC_SpeechRecog.ACTION_CMDS_RECOG_STOPPED));
 			is_listening = false;
@@ -323,10 +360,47 @@ public final class CommandsRecognition extends Service implements IModuleSrv {
 		if (main_thread) {
 			stop_listening.run();
 		} else {
-			new Handler(Looper.getMainLooper()).post(stop_listening);
+			main_thread_handler.post(stop_listening);
 		}
 	}
 
+	/**
+	 * <p>Destroys the {@link SpeechRecognizer}, so that a new one is created on the next session.</p>
+	 * <p>Must be called on the main thread.</p>
+	 */
+	void releaseRecognizer() {
+		if (recognizer != null) {
+			recognizer.destroy();
+			recognizer = null;
+		}
+	}
+
+	@Override
+	public void onTrimMemory(final int level) {
+		super.onTrimMemory(level);
+
+		// Keep the recognizer warm unless the system really needs the memory.
+		if (!is_working && level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE) {
+			releaseRecognizer();
+		}
+	}
+
+	@Override
+	public void onDestroy() {
+		super.onDestroy();
+
+		main_thread_handler.removeCallbacks(start_if_mic_available);
+		if (is_working) {
+			stopListening(true);
+		}
+		releaseRecognizer();
+		try {
+			UtilsContext.getContext().unregisterReceiver(broadcastReceiver);
+		} catch (final IllegalArgumentException ignored) {
+		}
+		UtilsGeneral.quitHandlerThread(main_handlerThread);
+	}
+
 	/**
 	 * <p>{@link RecognitionListener} implementation as required by {@link SpeechRecognizer}.</p>
 	 */
@@ -334,8 +408,13 @@ public final class CommandsRecognition extends Service implements IModuleSrv {
 
 		@Override
 		public void onReadyForSpeech(final Bundle params) {
-			last_method_called_when = System.currentTimeMillis();
-			last_method_called = ON_READY_FOR_SPEECH_STR;
+			setLastMethodCalled(ON_READY_FOR_SPEECH_STR);
+
+			final Intent ready_intent = new Intent(CONSTS_BC_SpeechRecog.ACTION_CMDS_RECOG_READY);
+			ready_intent.putExtra(CONSTS_BC_SpeechRecog.EXTRA_CMDS_RECOG_READY_1, session_requested_when == 0 ? -1 :
+					last_method_called_when - session_requested_when);
+			UtilsApp.sendInternalBroadcast(ready_intent);
+			session_requested_when = 0;
 
 			// Indicate it's ready to listen. Also disable the battery saver temporarily (if it's enabled) to be able to
 			// vibrate if VISOR could not speak (must warn it's ready to listen somehow).
@@ -378,8 +457,7 @@ public final class CommandsRecognition extends Service implements IModuleSrv {
 
 		@Override
 		public void onBeginningOfSpeech() {
-			last_method_called_when = System.currentTimeMillis();
-			last_method_called = ON_BEGINNING_OF_SPEECH_STR;
+			setLastMethodCalled(ON_BEGINNING_OF_SPEECH_STR);
 			is_listening = true;
 		}
 
@@ -390,8 +468,7 @@ public final class CommandsRecognition extends Service implements IModuleSrv {
 
 		@Override
 		public void onEndOfSpeech() {
-			last_method_called_when = System.currentTimeMillis();
-			last_method_called = ON_END_OF_SPEECH_STR;
+			setLastMethodCalled(ON_END_OF_SPEECH_STR);
 			is_listening = false; // Must be here or this will stay in loop for speech recognition in some cases...
 		}
 
@@ -410,46 +487,36 @@ public final class CommandsRecognition extends Service implements IModuleSrv {
              case. If is_listening is still true when it gets here, then there was really an error because the results
              functions were not called.
 
-             So, adapted to this code, !is_listening is equivalent to mSuccess above.
+             So, adapted to this code, the session having been stopped already is equivalent to mSuccess above. (It
+             used to be !is_listening, but that also ignored the errors before the speech began or after it ended,
+             leaving them to the frozen methods checker - which terminated the process.)
             */
-			if (!is_listening) {
+			if (last_method_called == -1) {
 				return;
 			}
 			is_listening = false;
 
+			if (partial_results) {
+				UtilsCmdsExecutorBC.closeDetectionSession(detection_session_id, null);
+			}
+
 			stopListening(true);
-			stopSelf();
-			UtilsProcesses.terminatePID(UtilsProcesses.getCurrentPID());
+			// Don't trust the recognizer after an error - a new one is created on the next session.
+			releaseRecognizer();
 		}
 
 		@Override
 		public void onPartialResults(final Bundle partialResults) {
-			//if (partial_results) {
-			//	ArrayList<String> matches = partialResults.getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION);
-			//	final String match = matches.get(0).toLowerCase(Locale.ENGLISH);
-
-			//	if (!match.equals(last_processed_speech) && match.length() - 1 > partial_results_last_index) {
-			//		process_speech_string = match.substring(partial_results_last_index);
-			//		partial_results_last_time = System.currentTimeMillis();
-			//	}
+			if (!partial_results) {
+				return;
+			}
 
-			//	//Atualiza a Google App e o reconhecimento de voz e mete isto a funcionar decentemente.
+			final List<String> matches = partialResults.getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION);
+			if (matches == null || matches.isEmpty()) {
+				return;
+			}
 
-			//	// TO DO ISTO FALA PELAS COLUNAS COM OS PHONES LIGADOS SE A TAREFA FOR CHAMADA POR AQUI, MAS SE FOR PELO onResults JÁ É SÓ PELOS PHONES!!!!!!!!!!!!!!!
-			//	//  PS: Pela MainAct também vai pelos 2 sítios. Só pelo onResults é que não vai, ao que parece.
-			//}
-			// todo
-			// todo
-			// todo
-			// todo
-			// todo
-			// todo
-			// todo
-			// todo
-			// todo
-			// todo
-			// todo
-			// todo Take care of this!!!! This seems to need the other thread (that has been missing since a few years)
+			UtilsCmdsExecutorBC.feedDetectionSession(detection_session_id, matches.get(0).toLowerCase(Locale.ENGLISH));
 		}
 
 		@Override
@@ -458,6 +525,10 @@ public final class CommandsRecognition extends Service implements IModuleSrv {
 
 			final List<String> matches = results.getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION);
 			if (matches == null || matches.isEmpty()) {
+				if (partial_results) {
+					UtilsCmdsExecutorBC.closeDetectionSession(detection_session_id, null);
+				}
+
 				return;
 			}
 
@@ -467,25 +538,12 @@ public final class CommandsRecognition extends Service implements IModuleSrv {
 			System.out.println(matches);
 			System.out.println("--------------------------");
 
-			UtilsCmdsExecutorBC.processTask(first_match, false, false, false);
-
-
-
-			//if (!matches.isEmpty()) {
-			//	if (first_match.length() - 1 > partial_results_last_index && !first_match.equals(total_processed_speech.toString())) {
-			//		process_speech_string = first_match.substring(partial_results_last_index);
-			//		System.out.println("A------------------------A");
-			//		System.out.println(process_speech_string);
-			//		System.out.println("A------------------------A");
-			//		if (!process_speech_string.equals(last_processed_speech)) {
-			//			UtilsCmdsExecutorBC.processTask(first_match.substring(partial_results_last_index), false, false);
-			//		}
-			//	}
-			//}
-
-			stopListening(true);
-			stopSelf();
-			UtilsProcesses.terminatePID(UtilsProcesses.getCurrentPID());
+			if (partial_results) {
+				// The commands already confirmed by the partial results were executed - this executes the rest.
+				UtilsCmdsExecutorBC.closeDetectionSession(detection_session_id, first_match);
+			} else {
+				UtilsCmdsExecutorBC.processTask(first_match, false, false, false);
+			}
 		}
 
 		@Override
@@ -501,7 +559,7 @@ public final class CommandsRecognition extends Service implements IModuleSrv {
 
 
 	/**
-	 * <p>This thread fixes a problem which Google doesn't seem to have fixed yet on its recognizer implementation. Not
+	 * <p>This check fixes a problem which Google doesn't seem to have fixed yet on its recognizer implementation. Not
 	 * the best solution, but I don't have a better one.</p>
 	 * <p>When the speech recognition ends on this class, it must call the always-listening recognizer - or at least
 	 * say the recognition finished. So on some function, after all ends, this sends a signal. Now the problem...</p>
@@ -513,13 +571,13 @@ public final class CommandsRecognition extends Service implements IModuleSrv {
 	 * know an error happened.</p>
 	 * <br>
 	 * <p>When this happens, no signal of finished recognition is sent back, nor the service is stopped - not supposed
-	 * to happen. So the idea of this thread is to keep checking if onEndOfSpeech() was the last one to be called with a
-	 * timer (currently 10 seconds).</p>
-	 * <p>If it goes more than 10 seconds and no other function is called, signal that the recognition ended and kill
-	 * the service. Why 10 seconds? Because from onEndOfSpeech() to onResults() or onPartialResults() it takes a bit,
-	 * also depending on if there is Internet connection or not, and how slow it is. So 10 seconds seems a good trade-off
-	 * between Internet waiting time and actual finished speech (the user will need to wait 10 seconds if the bug
-	 * happens - could be worse).</p>
+	 * to happen. So the idea of this check is to see if onEndOfSpeech() is still the last one to be called after a
+	 * timeout (on {@link #last_methods_called_map}).</p>
+	 * <p>If it goes more than that and no other function is called, signal that the recognition ended and kill the
+	 * service. Why wait? Because from onEndOfSpeech() to onResults() or onPartialResults() it takes a bit, also
+	 * depending on if there is Internet connection or not, and how slow it is. So the timeout is a trade-off between
+	 * Internet waiting time and actual finished speech (the user will need to wait a bit if the bug happens - could be
+	 * worse).</p>
 	 * <p>Link for a StackOverflow question of mine about this:
 	 * <a href="https://stackoverflow.com/questions/59685909">link</a>.</p>
 	 * <br>
@@ -527,36 +585,30 @@ public final class CommandsRecognition extends Service implements IModuleSrv {
 	 * <p>REPLACE THIS BY ANOTHER METHOD IF THERE IS ONE!!!!!!!!!</p>
 	 * <p>-------------------------------------------------------</p>
 	 * <br>
-	 * <p>UPDATE: now this thread checks if the recognition froze anywhere. It might have frozen on onReadyForSpeech,
+	 * <p>UPDATE: now this checks if the recognition froze anywhere. It might have frozen on onReadyForSpeech,
 	 * or on onBeginningOfSpeech (or on onEndOfSpeech...) - sometimes it happens on various functions, it seems. If it
-	 * freezes, the thread terminates the process. So, if it's to replace this, think in a way of replacing the other
+	 * freezes, the check terminates the process. So, if it's to replace this, think in a way of replacing the other
 	 * checks too.</p>
-	 * <p>The thread stops when one of the results functions are called (which will terminate the process when it
-	 * finishes) - everything went fine.</p>
+	 * <br>
+	 * <p>UPDATE 2: this is no longer a thread polling the state every second. Each state change done with
+	 * {@link #setLastMethodCalled(int)} schedules this check for the timeout of the new state, and stopping the
+	 * session cancels it - so it only runs if the state didn't change meanwhile.</p>
+	 *
+	 * @param method the state the check was scheduled for
+	 * @param method_called_when when the state began
 	 */
-	final class FrozenMethodsChecker extends Thread {
-		@Override
-		public void run() {
-			while (last_method_called != -1) {
-				if (last_method_called_when == 0) {
-					continue;
-				}
-
-				if (last_methods_called_map.get(last_method_called) != Long.MAX_VALUE &&
-						System.currentTimeMillis() >= last_method_called_when + last_methods_called_map.get(last_method_called)) {
-					// If the recognizer got frozen, stop listening.
-					// Also don't check the time if the method has no wait time (MAX_VALUE).
-					stopListening(false);
-					stopSelf();
-					UtilsProcesses.terminatePID(UtilsProcesses.getCurrentPID());
-				}
-				try {
-					Thread.sleep(1_000);
-				} catch (final InterruptedException ignored) {
-					return;
-				}
-			}
+	void checkFrozen(final int method, final long method_called_when) {
+		if (last_method_called != method || last_method_called_when != method_called_when) {
+			// The state changed meanwhile.
+			return;
 		}
+
+		// If the recognizer got frozen, stop listening. The process is terminated right after, so inform about it
+		// here too, or the stop might not be informed at all.
+		stopListening(false);
+		UtilsApp.sendInternalBroadcast(new Intent(CONSTS_BC_SpeechRecog.ACTION_CMDS_RECOG_STOPPED));
+		stopSelf();
+		UtilsProcesses.terminatePID(UtilsProcesses.getCurrentPID());
 	}
 
 	private final BroadcastReceiver broadcastReceiver = new BroadcastReceiver() {
@@ -575,7 +627,7 @@ public final class CommandsRecognition extends Service implements IModuleSrv {
 
 				case (CONSTS_BC_Speech.ACTION_AFTER_SPEAK_ID): {
 					if (listening_speech_id.equals(intent.getStringExtra(CONSTS_BC_Speech.EXTRA_AFTER_SPEAK_ID_1))) {
-						wait = false;
+						main_thread_handler.post(begin_listening);
 					}
 
 					break;
@@ -36,6 +36,7 @@ import com.edw590.visor_c_a.Modules.Speech.Speech2;
 import com.edw590.visor_c_a.Modules.Speech.UtilsSpeech2BC;
 import com.edw590.visor_c_a.ModulesList;
 import com.edw590.visor_c_a.Registry.RegistryKeys;
+import com.edw590.visor_c_a.Registry.RegistryObserver;
 import com.edw590.visor_c_a.Registry.UtilsRegistry;
 
 import java.io.File;
@@ -67,6 +68,47 @@ public final class PocketSphinxRecognition implements IModuleInst {
 
 	static boolean is_listening = false;
 
+	/** Hot-words to start the commands recognition. */
+	private static final WakePhrasesMatcher wake_matcher = new WakePhrasesMatcher(new String[][]{
+			{"ok", "visor"},
+			{"hey", "visor"},
+			{"visor", "you", "there"},
+			{"visor", "come", "in"},
+			{"visor", "wake", "up"},
+			{"visor", "talk", "me"},
+	});
+	/** Hot-words to start listening in the background again after being requested to stop. */
+	private static final WakePhrasesMatcher come_back_matcher = new WakePhrasesMatcher(new String[][]{
+			{"visor", "come", "back"},
+			{"visor", "listen", "again"},
+			{"visor", "recognize", "again"},
+	});
+
+	/** Cache of {@link RegistryKeys#K_POCKETSPHINX_REQUEST_STOP}, updated by {@link #request_stop_observer}. */
+	static volatile boolean request_stop = false;
+	@NonNull private final RegistryObserver request_stop_observer;
+	@NonNull private final RegistryObserver vad_amplitude_observer;
+	@NonNull private final RegistryObserver vad_zcr_observer;
+
+	/** Interval between updates of the voice activity gate and dropped samples counters on the Registry. */
+	private static final long VAD_STATS_INTERVAL = 60_000;
+	private final Runnable vad_stats_runnable = new Runnable() {
+		@Override
+		public void run() {
+			final SpeechRecognizer recognizer_local = recognizer;
+			if (recognizer_local != null) {
+				UtilsRegistry.setData(RegistryKeys.K_POCKETSPHINX_DECODED_FRAMES, recognizer_local.getDecodedFrames(),
+						false);
+				UtilsRegistry.setData(RegistryKeys.K_POCKETSPHINX_GATED_FRAMES, recognizer_local.getGatedFrames(),
+						false);
+				UtilsRegistry.setData(RegistryKeys.K_POCKETSPHINX_DROPPED_SAMPLES, recognizer_local.getDroppedSamples(),
+						false);
+			}
+
+			main_handler.postDelayed(this, VAD_STATS_INTERVAL);
+		}
+	};
+
 	///////////////////////////////////////////////////////////////
 	// IModuleInst stuff
 	private boolean is_module_destroyed = false;
@@ -81,6 +123,9 @@ public final class PocketSphinxRecognition implements IModuleInst {
 	}
 	@Override
 	public void destroy() {
+		request_stop_observer.unregister();
+		vad_amplitude_observer.unregister();
+		vad_zcr_observer.unregister();
 		UtilsGeneral.quitHandlerThread(main_handlerThread);
 
 		shutdownRecognizer();
@@ -104,12 +149,22 @@ public final class PocketSphinxRecognition implements IModuleInst {
 		main_handlerThread.start();
 		main_handler = new Handler(main_handlerThread.getLooper());
 
+		request_stop = UtilsRegistry.getBool(RegistryKeys.K_POCKETSPHINX_REQUEST_STOP);
+		request_stop_observer = RegistryObserver.observeBool(RegistryKeys.K_POCKETSPHINX_REQUEST_STOP, main_handler,
+				value -> request_stop = value);
+		vad_amplitude_observer = RegistryObserver.observeInt(RegistryKeys.K_POCKETSPHINX_VAD_MIN_AMPLITUDE,
+				main_handler, value -> applyVadThresholds());
+		vad_zcr_observer = RegistryObserver.observeInt(RegistryKeys.K_POCKETSPHINX_VAD_MAX_ZCR, main_handler,
+				value -> applyVadThresholds());
+
 		// To be sure the recognizer is always shut down when the module starts (it's a static variable, so can remain
 		// active even if the module has an issue and crashes somewhere other than with the recognizer object). Must be
 		// a complete module restart, like what happens with the other modules.
 		shutdownRecognizer();
 
 		prepareRecognizer();
+
+		main_handler.postDelayed(vad_stats_runnable, VAD_STATS_INTERVAL);
 	}
 
 	/**
@@ -148,6 +203,7 @@ public final class PocketSphinxRecognition implements IModuleInst {
 					.getRecognizer(main_handler);
 
 			recognizer.addListener(recognitionListener);
+			applyVadThresholds();
 
 			// Create keyword-activation search.
 			recognizer.addKeywordSearch(KEYWORD_WAKEUP, new File(assetsDir, "visor_keywords.gram"));
@@ -163,6 +219,17 @@ public final class PocketSphinxRecognition implements IModuleInst {
 		return true;
 	}
 
+	/**
+	 * <p>Gives the voice activity gate thresholds on the Registry to the recognizer.</p>
+	 */
+	private static void applyVadThresholds() {
+		final SpeechRecognizer recognizer_local = recognizer;
+		if (recognizer_local != null) {
+			recognizer_local.setVadThresholds(UtilsRegistry.getInt(RegistryKeys.K_POCKETSPHINX_VAD_MIN_AMPLITUDE),
+					UtilsRegistry.getInt(RegistryKeys.K_POCKETSPHINX_VAD_MAX_ZCR));
+		}
+	}
+
 	/**
 	 * <p>Shuts down the recognizer instance and a call to {@link #prepareRecognizer()} will be needed again.</p>
 	 */
@@ -257,55 +324,17 @@ public final class PocketSphinxRecognition implements IModuleInst {
 
 			// getBestScore() and getProb() both are always returning 0. Don't use them.
 			final String hypothesis_str = hypothesis.getHypstr();
-			final String[] hypothesis_list = hypothesis_str.split(" {2}"); // The string is separated by 2 spaces
 
-
-			final String[][] options;
 			// If it's to stop listening in the background, don't stop completely to be able to listen when to start
 			// listening again. If it's not to stop, listen to the hot-words.
-			if ((boolean) UtilsRegistry.getData(RegistryKeys.K_POCKETSPHINX_REQUEST_STOP, true)) {
-				options = new String[][]{
-						{"visor", "come", "back"},
-						{"visor", "listen", "again"},
-						{"visor", "recognize", "again"},
-				};
-			} else {
-
-				options = new String[][]{
-						{"ok", "visor"},
-						{"hey", "visor"},
-						{"visor", "you", "there"},
-						{"visor", "come", "in"},
-						{"visor", "wake", "up"},
-						{"visor", "talk", "me"},
-				};
-			}
-
-			boolean match = false;
-			for_hypos: for (int i = 0; i < 2; ++i) { // Check on the 1st and 2nd hypothesis
-				if (hypothesis_list.length <= i) {
-					break;
-				}
-				for (final String[] option : options) {
-					match = true;
-					for (final String word : option) {
-						if (!hypothesis_list[i].contains(word)) {
-							match = false;
-
-							break;
-						}
-					}
-
-					if (match) {
-						break for_hypos;
-					}
-				}
-			}
-			if (!match) {
+			final boolean request_stop_local = request_stop;
+			final WakePhrasesMatcher matcher = request_stop_local ? come_back_matcher : wake_matcher;
+			if (!matcher.matches(hypothesis_str, 2)) { // Check on the 1st and 2nd hypothesis
 				return;
 			}
 
-			if ((boolean) UtilsRegistry.getData(RegistryKeys.K_POCKETSPHINX_REQUEST_STOP, true)) {
+			if (request_stop_local) {
+				request_stop = false;
 				UtilsRegistry.setData(RegistryKeys.K_POCKETSPHINX_REQUEST_STOP, false, false);
 				UtilsSpeech2BC.speak("Listening in the background again...", Speech2.PRIORITY_USER_ACTION,
 						Speech2.MODE2_BYPASS_NO_SND, UtilsSpeech2BC.GPT_NONE, false, null);
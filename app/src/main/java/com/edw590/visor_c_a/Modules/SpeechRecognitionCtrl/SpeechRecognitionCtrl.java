@@ -41,6 +41,7 @@ import com.edw590.visor_c_a.GlobalUtils.UtilsPermsAuths;
 import com.edw590.visor_c_a.ModulesList;
 import com.edw590.visor_c_a.Registry.UtilsRegistry;
 import com.edw590.visor_c_a.Registry.RegistryKeys;
+import com.edw590.visor_c_a.Registry.RegistryObserver;
 import com.edw590.visor_c_a.TasksList;
 
 /**
@@ -60,10 +61,19 @@ public final class SpeechRecognitionCtrl implements IModuleInst {
 	@Nullable Class<?> current_recognizer = NO_RECOGNIZER;
 
 	long cmds_recog_requested_when = 0;
+	/** When the commands recognition was requested by the user (for example, by the hotword), to measure the time until
+	 * it's ready to listen. */
+	long cmds_recog_user_requested_when = 0;
 	boolean cmds_recog_is_listening = false;
 
-	private static final long DEFAULT_WAIT_TIME = 5_000;
-	long wait_time = DEFAULT_WAIT_TIME;
+	/** Time between checks of the recognizers when nothing wakes up the {@link #infinity_thread} before. The state
+	 * changes wake it up right away, so this is only for failures that aren't informed (like a recognizer dying). */
+	private static final long WAIT_TIME = 5_000;
+	/** Time after which the commands recognizer is started again if it was requested but didn't start. */
+	private static final long CMDS_RECOG_START_TIMEOUT = 2_000;
+	/** Used to wake up the {@link #infinity_thread} before the {@link #WAIT_TIME} ends. */
+	private final Object check_lock = new Object();
+	@Nullable private RegistryObserver request_stop_observer = null;
 
 	private final int element_index = ModulesList.getElementIndex(this.getClass());
 	private final HandlerThread main_handlerThread = new HandlerThread((String) ModulesList.getElementValue(element_index,
@@ -84,6 +94,9 @@ public final class SpeechRecognitionCtrl implements IModuleInst {
 	@Override
 	public void destroy() {
 		infinity_thread.interrupt();
+		if (request_stop_observer != null) {
+			request_stop_observer.unregister();
+		}
 		try {
 			UtilsContext.getContext().unregisterReceiver(broadcastReceiver);
 		} catch (final IllegalArgumentException ignored) {
@@ -125,6 +138,7 @@ public final class SpeechRecognitionCtrl implements IModuleInst {
 
 			intentFilter.addAction(CONSTS_BC_SpeechRecog.ACTION_CMDS_RECOG_STARTING);
 			intentFilter.addAction(CONSTS_BC_SpeechRecog.ACTION_CMDS_RECOG_STOPPED);
+			intentFilter.addAction(CONSTS_BC_SpeechRecog.ACTION_CMDS_RECOG_READY);
 
 			intentFilter.addAction(CONSTS_BC_SpeechRecog.ACTION_START_CMDS_RECOG);
 			intentFilter.addAction(CONSTS_BC_SpeechRecog.ACTION_START_POCKET_SPHINX);
@@ -134,9 +148,23 @@ public final class SpeechRecognitionCtrl implements IModuleInst {
 		} catch (final IllegalArgumentException ignored) {
 		}
 
+		// Check the recognizers right away when the hotword recognition is requested to stop or to start again.
+		request_stop_observer = RegistryObserver.observeBool(RegistryKeys.K_POCKETSPHINX_REQUEST_STOP, main_handler,
+				value -> check_now.run());
+
 		infinity_thread.start();
 	}
 
+	/** Wakes up the {@link #infinity_thread} to check the recognizers right away. */
+	final Runnable check_now = new Runnable() {
+		@Override
+		public void run() {
+			synchronized (check_lock) {
+				check_lock.notifyAll();
+			}
+		}
+	};
+
 	private final Thread infinity_thread = new Thread(new Runnable() {
 		@Override
 		public void run() {
@@ -153,19 +181,17 @@ public final class SpeechRecognitionCtrl implements IModuleInst {
 						if (!ModulesList.isElementFullyWorking(cmds_recog_module_index)) {
 							cmds_recog_requested_when = 0;
 							current_recognizer = NO_RECOGNIZER;
-							wait_time = DEFAULT_WAIT_TIME;
 						}
 					} else if (current_recognizer == POCKETSPHINX_RECOGNIZER) {
 						if (!PocketSphinxRecognition.isListening()) {
 							cmds_recog_requested_when = 0;
 							current_recognizer = NO_RECOGNIZER;
-							wait_time = DEFAULT_WAIT_TIME;
 						}
 					}
 
 					if (current_recognizer == NO_RECOGNIZER) {
 						if (cmds_recog_requested_when == 0) {
-							if (!(boolean) UtilsRegistry.getData(RegistryKeys.K_POCKETSPHINX_REQUEST_STOP, true) ||
+							if (!UtilsRegistry.getBool(RegistryKeys.K_POCKETSPHINX_REQUEST_STOP) ||
 									PocketSphinxRecognition.getAudioSource() == MediaRecorder.AudioSource.HOTWORD) {
 								// todo Falta no executor esta linha acima, ligar o PocketSphinx se for HOTWORD e tiver sido pedido para parar.
 								// todo 		Além disso "visor come back" para o reiniciar (só disponível para HOTWORD) e falta
@@ -178,24 +204,25 @@ public final class SpeechRecognitionCtrl implements IModuleInst {
 								// MIC (give the mic to other apps). If it's HOTWORD, keep listening but only for
 								// "visor come back".
 								if (cmds_recog_is_listening) {
-									UtilsSpeechRecognizers.stopCommandsRecognizer();
+									UtilsSpeechRecognizers.stopCommandsRecognition();
 								}
 								if (UtilsSpeechRecognizers.startPocketSphinxRecognition()) {
 									current_recognizer = POCKETSPHINX_RECOGNIZER;
-									wait_time = DEFAULT_WAIT_TIME;
 								}
 							}
-						} else if (System.currentTimeMillis() > cmds_recog_requested_when + 2000) {
+						} else if (System.currentTimeMillis() >= cmds_recog_requested_when + CMDS_RECOG_START_TIMEOUT) {
 							// If the cmds recognizer was requested but could not be started for some reason (probably
 							// some error starting the service, who knows), keep trying to start it.
 							UtilsSpeechRecognizers.stopPocketSphinxRecognition();
-							UtilsSpeechRecognizers.startCommandsRecognition();
+							UtilsSpeechRecognizers.startCommandsRecognition(cmds_recog_user_requested_when);
 						}
 					}
 				}
 
 				try {
-					Thread.sleep(wait_time);
+					synchronized (check_lock) {
+						check_lock.wait(WAIT_TIME);
+					}
 				} catch (final InterruptedException ignored) {
 					return;
 				}
@@ -220,7 +247,7 @@ public final class SpeechRecognitionCtrl implements IModuleInst {
 				case (CONSTS_BC_SpeechRecog.ACTION_CMDS_RECOG_STARTING): {
 					cmds_recog_is_listening = true;
 					current_recognizer = COMMANDS_RECOGNIZER;
-					wait_time = 500;
+					main_handler.removeCallbacks(check_now);
 
 					break;
 				}
@@ -228,54 +255,63 @@ public final class SpeechRecognitionCtrl implements IModuleInst {
 					cmds_recog_requested_when = 0;
 					cmds_recog_is_listening = false;
 					current_recognizer = NO_RECOGNIZER;
-					wait_time = DEFAULT_WAIT_TIME;
+					// Go back to the hotword recognition right away.
+					check_now.run();
+
+					break;
+				}
+				case (CONSTS_BC_SpeechRecog.ACTION_CMDS_RECOG_READY): {
+					final long wake_to_listen_ms = intent.getLongExtra(CONSTS_BC_SpeechRecog.EXTRA_CMDS_RECOG_READY_1, -1);
+					if (wake_to_listen_ms >= 0) {
+						UtilsRegistry.setData(RegistryKeys.K_COMMANDS_RECOG_WAKE_TO_LISTEN_MS, wake_to_listen_ms, false);
+					}
 
 					break;
 				}
 
 
 				case (CONSTS_BC_SpeechRecog.ACTION_START_CMDS_RECOG): {
+					cmds_recog_user_requested_when = intent.getLongExtra(CONSTS_BC_SpeechRecog.EXTRA_START_CMDS_RECOG_1,
+							System.currentTimeMillis());
 					UtilsSpeechRecognizers.stopPocketSphinxRecognition();
-					UtilsSpeechRecognizers.startCommandsRecognition();
+					UtilsSpeechRecognizers.startCommandsRecognition(cmds_recog_user_requested_when);
 
 					cmds_recog_requested_when = System.currentTimeMillis();
 					stop_speech_recognition = false;
-					wait_time = DEFAULT_WAIT_TIME;
+					// In case it doesn't start, check again when it's time to retry.
+					main_handler.removeCallbacks(check_now);
+					main_handler.postDelayed(check_now, CMDS_RECOG_START_TIMEOUT);
 
 					break;
 				}
 				case (CONSTS_BC_SpeechRecog.ACTION_START_POCKET_SPHINX): {
 					if (cmds_recog_is_listening) {
-						UtilsSpeechRecognizers.stopCommandsRecognizer();
+						UtilsSpeechRecognizers.stopCommandsRecognition();
 					}
-					if (!(boolean) UtilsRegistry.getData(RegistryKeys.K_POCKETSPHINX_REQUEST_STOP, true)) {
+					if (!UtilsRegistry.getBool(RegistryKeys.K_POCKETSPHINX_REQUEST_STOP)) {
 						// Still stop. Just don't restart PocketSphinx.
 						UtilsSpeechRecognizers.startPocketSphinxRecognition();
 					}
 
 					cmds_recog_requested_when = 0;
 					stop_speech_recognition = false;
-					wait_time = DEFAULT_WAIT_TIME;
 
 					break;
 				}
 				case (CONSTS_BC_SpeechRecog.ACTION_STOP_RECOGNITION): {
 					cmds_recog_requested_when = 0;
 					stop_speech_recognition = true;
-					wait_time = DEFAULT_WAIT_TIME;
 					cmds_recog_is_listening = false;
 
 					UtilsSpeechRecognizers.stopSpeechRecognizers();
 
-					new Thread(TasksList.removeTask(
-							intent.getIntExtra(CONSTS_BC_SpeechRecog.EXTRA_STOP_RECOGNITION_1, -1)).runnable).start();
+					TasksList.runTask(intent.getIntExtra(CONSTS_BC_SpeechRecog.EXTRA_STOP_RECOGNITION_1, -1));
 
 					break;
 				}
 				case (CONSTS_BC_SpeechRecog.ACTION_TERMINATE_RECOGNIZERS): {
 					//stop_speech_recognition = false; - this doesn't change with this call
 					cmds_recog_requested_when = 0;
-					wait_time = DEFAULT_WAIT_TIME;
 					cmds_recog_is_listening = false;
 
 					UtilsSpeechRecognizers.stopSpeechRecognizers();
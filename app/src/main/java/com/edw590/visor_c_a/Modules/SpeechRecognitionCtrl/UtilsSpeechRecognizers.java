@@ -86,13 +86,18 @@ public final class UtilsSpeechRecognizers {
 
 	/**
 	 * <p>Start the commands speech recognition asynchronously.</p>
+	 *
+	 * @param requested_when the result of {@link System#currentTimeMillis()} at the moment the recognition was
+	 * requested, or 0 if unknown
 	 */
-	static void startCommandsRecognition() {
+	static void startCommandsRecognition(final long requested_when) {
 		// No need to check if the cmds recognition is supported or not because the Controller will only be activated if
 		// the recognition is available (checked on isSupported() every CHECK_TIME on the Manager).
 
 		final Intent intent = new Intent(UtilsContext.getContext(), CommandsRecognition.class);
 		intent.putExtra(CONSTS_SpeechRecog.EXTRA_TIME_START, System.currentTimeMillis());
+		intent.putExtra(CONSTS_SpeechRecog.EXTRA_TIME_REQUESTED, requested_when);
+		intent.putExtra(CONSTS_SpeechRecog.EXTRA_PARTIAL_RESULTS, true);
 		UtilsServices.startService(CommandsRecognition.class, intent, false, false);
 	}
 
@@ -141,7 +146,23 @@ public final class UtilsSpeechRecognizers {
 	}
 
 	/**
-	 * <p>Stop the commands speech recognizer synchronously.</p>
+	 * <p>Stop the commands speech recognition session asynchronously, keeping the recognizer process warm for the next
+	 * session.</p>
+	 */
+	static void stopCommandsRecognition() {
+		// Don't start the process just to stop nothing.
+		if (!UtilsServices.isServiceRunning(CommandsRecognition.class)) {
+			return;
+		}
+
+		final Intent intent = new Intent(UtilsContext.getContext(), CommandsRecognition.class);
+		intent.putExtra(CONSTS_SpeechRecog.EXTRA_STOP_SESSION, true);
+		// Not checking if it's already running here, or the intent would never reach it.
+		UtilsServices.startService(CommandsRecognition.class, intent, false, false);
+	}
+
+	/**
+	 * <p>Stop the commands speech recognizer synchronously, terminating its process.</p>
 	 */
 	static void stopCommandsRecognizer() {
 		UtilsProcesses.terminatePID(UtilsProcesses.getRunningServicePID(CommandsRecognition.class));
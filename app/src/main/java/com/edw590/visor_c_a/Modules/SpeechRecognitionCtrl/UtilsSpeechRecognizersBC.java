@@ -48,6 +48,7 @@ public final class UtilsSpeechRecognizersBC {
 	 */
 	public static void startCommandsRecognition() {
 		final Intent broadcast_intent = new Intent(CONSTS_BC_SpeechRecog.ACTION_START_CMDS_RECOG);
+		broadcast_intent.putExtra(CONSTS_BC_SpeechRecog.EXTRA_START_CMDS_RECOG_1, System.currentTimeMillis());
 
 		UtilsApp.sendInternalBroadcast(broadcast_intent);
 	}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021-2024 Edw590
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.edw590.visor_c_a.Modules.SpeechRecognitionCtrl;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Precompiled matcher of wake phrases on PocketSphinx hypotheses.</p>
+ * <br>
+ * <p>A phrase matches a hypothesis if all its words are contained in it (in any order). The distinct words of all the
+ * phrases are searched only once per hypothesis, each phrase being a bit mask of its words, so matching doesn't
+ * allocate anything.</p>
+ */
+final class WakePhrasesMatcher {
+
+	/** Separator of the hypotheses on the string given by PocketSphinx. */
+	private static final String HYPOTHESES_SEPARATOR = "  ";
+
+	/** The distinct words of all the phrases. */
+	@NonNull private final String[] words;
+	/** The bits of the {@link #words} of each phrase. */
+	@NonNull private final long[] phrases_masks;
+
+	/**
+	 * <p>Main class constructor.</p>
+	 *
+	 * @param phrases the phrases, each as a list of words (at most 64 distinct words in total)
+	 */
+	WakePhrasesMatcher(@NonNull final String[][] phrases) {
+		final List<String> words_list = new ArrayList<>(16);
+		phrases_masks = new long[phrases.length];
+		for (int i = 0; i < phrases.length; ++i) {
+			for (final String word : phrases[i]) {
+				int word_index = words_list.indexOf(word);
+				if (word_index == -1) {
+					word_index = words_list.size();
+					words_list.add(word);
+				}
+				phrases_masks[i] |= 1L << word_index;
+			}
+		}
+		if (words_list.size() > Long.SIZE) {
+			throw new IllegalArgumentException("Too many distinct words: " + words_list.size());
+		}
+		words = words_list.toArray(new String[0]);
+	}
+
+	/**
+	 * <p>Checks if any of the phrases matches any of the first hypotheses.</p>
+	 *
+	 * @param hypotheses_str the hypotheses string from PocketSphinx (separated by {@link #HYPOTHESES_SEPARATOR})
+	 * @param max_hypotheses how many of the first hypotheses to check
+	 *
+	 * @return true if there's a match, false otherwise
+	 */
+	boolean matches(@NonNull final String hypotheses_str, final int max_hypotheses) {
+		int start = 0;
+		for (int i = 0; i < max_hypotheses && start <= hypotheses_str.length(); ++i) {
+			int end = hypotheses_str.indexOf(HYPOTHESES_SEPARATOR, start);
+			if (end == -1) {
+				end = hypotheses_str.length();
+			}
+
+			if (matchesHypothesis(hypotheses_str, start, end)) {
+				return true;
+			}
+
+			start = end + HYPOTHESES_SEPARATOR.length();
+		}
+
+		return false;
+	}
+
+	/**
+	 * <p>Checks if any of the phrases matches a hypothesis.</p>
+	 *
+	 * @param hypotheses_str the hypotheses string
+	 * @param start the index of the hypothesis on the string
+	 * @param end the index of the end of the hypothesis on the string (exclusive)
+	 *
+	 * @return true if there's a match, false otherwise
+	 */
+	private boolean matchesHypothesis(@NonNull final String hypotheses_str, final int start, final int end) {
+		long found_mask = 0;
+		for (int i = 0; i < words.length; ++i) {
+			final int index = hypotheses_str.indexOf(words[i], start);
+			if (index != -1 && index + words[i].length() <= end) {
+				found_mask |= 1L << i;
+			}
+		}
+
+		for (final long phrase_mask : phrases_masks) {
+			if ((found_mask & phrase_mask) == phrase_mask) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
@@ -38,8 +38,6 @@ import com.edw590.visor_c_a.GlobalUtils.UtilsContext;
 import com.edw590.visor_c_a.GlobalUtils.UtilsPermsAuths;
 import com.edw590.visor_c_a.GlobalUtils.UtilsShell;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Locale;
 
 public final class BluetoothChecker {
@@ -60,7 +58,7 @@ public final class BluetoothChecker {
 
 	int attempts = 0;
 
-	public static final List<ExtDevice> nearby_devices_bt = new ArrayList<>(64);
+	public static final ExtDevicesStore nearby_devices_bt = new ExtDevicesStore();
 
 	void setBluetoothEnabled(final boolean enable) {
 		if (UtilsAndroidConnectivity.setBluetoothEnabled(enable) == UtilsShell.ErrCodes.NO_ERR) {
@@ -92,6 +90,9 @@ public final class BluetoothChecker {
 				enabled_by_visor = false;
 				if (UtilsPermsAuths.checkSelfPermission(Manifest.permission.BLUETOOTH_SCAN)) {
 					bluetooth_adapter.startDiscovery();
+				} else {
+					// No permission to discover devices, so don't keep reporting the old ones.
+					nearby_devices_bt.clear();
 				}
 			} else {
 				setBluetoothEnabled(true);
@@ -135,16 +136,7 @@ public final class BluetoothChecker {
 		short rssi = intent.getShortExtra(BluetoothDevice.EXTRA_RSSI, Short.MAX_VALUE);
 
 		String address = bluetoothDevice.getAddress().toUpperCase(Locale.getDefault());
-		int nearby_devices_size = nearby_devices_bt.size();
-		for (int i = 0; i < nearby_devices_size; ++i) {
-			ExtDevice device = nearby_devices_bt.get(i);
-			if (device.type == ExtDevice.TYPE_BLUETOOTH && device.address.equals(address)) {
-				nearby_devices_bt.remove(i);
-
-				break;
-			}
-		}
-		nearby_devices_bt.add(new ExtDevice(
+		nearby_devices_bt.put(new ExtDevice(
 				ExtDevice.TYPE_BLUETOOTH,
 				address,
 				time_detection,
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2021-2024 Edw590
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.edw590.visor_c_a.Modules.SystemChecker;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import java.util.Collections;
+import java.util.List;
+
+import SCLink.SCLink;
+
+/**
+ * <p>The state of the device sent to the server with {@link SCLink#updateDeviceInfo}.</p>
+ * <br>
+ * <p>The fields are updated by the {@link SystemChecker} as the broadcasts about them arrive, and the state is only
+ * published when any of them changed - or after {@link #HEARTBEAT_INTERVAL} without changes, to keep the last time
+ * the device was used up to date on the server. The nearby devices are only serialized again when their stores
+ * changed.</p>
+ */
+final class DeviceState {
+
+	/** Maximum time between publications of the state, even if nothing changed. */
+	private static final long HEARTBEAT_INTERVAL = 30_000;
+
+	private long last_time_used_s;
+	private boolean airplane_mode_enabled = false;
+	private boolean wifi_enabled = false;
+	private boolean bluetooth_enabled = false;
+	private boolean power_connected = false;
+	private int battery_level = -1;
+	private boolean screen_on = false;
+	private int screen_brightness = -1;
+	private int sound_volume = -1;
+	private boolean sound_muted = false;
+
+	/** The snapshots the nearby devices strings were made from. */
+	@NonNull private List<ExtDevice> wifi_aps = Collections.emptyList();
+	@NonNull private List<ExtDevice> bluetooth_devices = Collections.emptyList();
+	@NonNull private String wifi_aps_str = "";
+	@NonNull private String bluetooth_devices_str = "";
+
+	/** True if any field changed since the last publication. */
+	private boolean changed = true;
+	private long last_publish = 0;
+
+	/**
+	 * <p>Main class constructor.</p>
+	 *
+	 * @param last_time_used_s the last time the device was used, in seconds
+	 */
+	DeviceState(final long last_time_used_s) {
+		this.last_time_used_s = last_time_used_s;
+	}
+
+	synchronized void setAirplaneModeEnabled(final boolean airplane_mode_enabled) {
+		changed |= this.airplane_mode_enabled != airplane_mode_enabled;
+		this.airplane_mode_enabled = airplane_mode_enabled;
+	}
+
+	synchronized void setWifiEnabled(final boolean wifi_enabled) {
+		changed |= this.wifi_enabled != wifi_enabled;
+		this.wifi_enabled = wifi_enabled;
+	}
+
+	synchronized void setBluetoothEnabled(final boolean bluetooth_enabled) {
+		changed |= this.bluetooth_enabled != bluetooth_enabled;
+		this.bluetooth_enabled = bluetooth_enabled;
+	}
+
+	synchronized void setPower(final boolean power_connected, final int battery_level) {
+		changed |= this.power_connected != power_connected || this.battery_level != battery_level;
+		this.power_connected = power_connected;
+		this.battery_level = battery_level;
+	}
+
+	/**
+	 * <p>Sets if the screen is on.</p>
+	 * <p>While it's on, the device is considered in use, so the last time of use is updated when it turns off.</p>
+	 *
+	 * @param screen_on true if the screen is on, false otherwise
+	 */
+	synchronized void setScreenOn(final boolean screen_on) {
+		if (this.screen_on != screen_on) {
+			if (this.screen_on) {
+				last_time_used_s = System.currentTimeMillis() / 1000;
+			}
+			this.screen_on = screen_on;
+			changed = true;
+		}
+	}
+
+	synchronized void setScreenBrightness(final int screen_brightness) {
+		changed |= this.screen_brightness != screen_brightness;
+		this.screen_brightness = screen_brightness;
+	}
+
+	synchronized void setSound(final int sound_volume, final boolean sound_muted) {
+		changed |= this.sound_volume != sound_volume || this.sound_muted != sound_muted;
+		this.sound_volume = sound_volume;
+		this.sound_muted = sound_muted;
+	}
+
+	/**
+	 * <p>Publishes the state with {@link SCLink#updateDeviceInfo}, if it changed or the heartbeat is due.</p>
+	 */
+	void publishIfNeeded() {
+		final long last_time_used_s_local;
+		final boolean airplane_mode_enabled_local;
+		final boolean wifi_enabled_local;
+		final boolean bluetooth_enabled_local;
+		final boolean power_connected_local;
+		final int battery_level_local;
+		final boolean screen_on_local;
+		final int screen_brightness_local;
+		final String wifi_aps_str_local;
+		final String bluetooth_devices_str_local;
+		final int sound_volume_local;
+		final boolean sound_muted_local;
+		synchronized (this) {
+			updateNearbyDevices();
+
+			final long curr_time = SystemClock.elapsedRealtime();
+			if (!changed && curr_time - last_publish < HEARTBEAT_INTERVAL) {
+				return;
+			}
+			changed = false;
+			last_publish = curr_time;
+
+			if (screen_on) {
+				last_time_used_s = System.currentTimeMillis() / 1000;
+			}
+
+			last_time_used_s_local = last_time_used_s;
+			airplane_mode_enabled_local = airplane_mode_enabled;
+			wifi_enabled_local = wifi_enabled;
+			bluetooth_enabled_local = bluetooth_enabled;
+			power_connected_local = power_connected;
+			battery_level_local = battery_level;
+			screen_on_local = screen_on;
+			screen_brightness_local = screen_brightness;
+			wifi_aps_str_local = wifi_aps_str;
+			bluetooth_devices_str_local = bluetooth_devices_str;
+			sound_volume_local = sound_volume;
+			sound_muted_local = sound_muted;
+		}
+
+		SCLink.updateDeviceInfo(
+				last_time_used_s_local,
+				airplane_mode_enabled_local,
+				wifi_enabled_local,
+				bluetooth_enabled_local,
+				power_connected_local,
+				battery_level_local,
+				screen_on_local,
+				screen_brightness_local,
+				wifi_aps_str_local,
+				bluetooth_devices_str_local,
+				sound_volume_local,
+				sound_muted_local
+		);
+	}
+
+	/**
+	 * <p>Serializes the nearby devices again if their stores have new snapshots.</p>
+	 */
+	private void updateNearbyDevices() {
+		final List<ExtDevice> curr_wifi_aps = WifiChecker.nearby_aps_wifi.getSnapshot();
+		if (curr_wifi_aps != wifi_aps) {
+			wifi_aps = curr_wifi_aps;
+			final String curr_wifi_aps_str = serializeDevices(curr_wifi_aps);
+			changed |= !curr_wifi_aps_str.equals(wifi_aps_str);
+			wifi_aps_str = curr_wifi_aps_str;
+		}
+
+		final List<ExtDevice> curr_bluetooth_devices = BluetoothChecker.nearby_devices_bt.getSnapshot();
+		if (curr_bluetooth_devices != bluetooth_devices) {
+			bluetooth_devices = curr_bluetooth_devices;
+			final String curr_bluetooth_devices_str = serializeDevices(curr_bluetooth_devices);
+			changed |= !curr_bluetooth_devices_str.equals(bluetooth_devices_str);
+			bluetooth_devices_str = curr_bluetooth_devices_str;
+		}
+	}
+
+	/**
+	 * <p>Serializes a list of devices in the format {@link SCLink#updateDeviceInfo} expects.</p>
+	 *
+	 * @param devices the devices
+	 *
+	 * @return the name, address and RSSI of each device separated by U+0001, and each device ended by U+0000
+	 */
+	@NonNull
+	private static String serializeDevices(@NonNull final List<ExtDevice> devices) {
+		final StringBuilder devices_str = new StringBuilder(devices.size() * 48);
+		for (final ExtDevice device : devices) {
+			devices_str.append(device.name).append("\u0001");
+			devices_str.append(device.address).append("\u0001");
+			devices_str.append(device.rssi).append("\u0001");
+			devices_str.append("\u0000");
+		}
+
+		return devices_str.toString();
+	}
+}
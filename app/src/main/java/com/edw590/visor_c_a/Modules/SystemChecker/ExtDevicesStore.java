@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021-2024 Edw590
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.edw590.visor_c_a.Modules.SystemChecker;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Thread-safe store of detected {@link ExtDevice}s, keyed by their address.</p>
+ * <br>
+ * <p>Updating a device is O(1). Readers get an immutable snapshot of the devices, which is only rebuilt (with the lock)
+ * when the store changed since the last one, and otherwise is returned without locking - so they never see a
+ * half-updated store and never have to deal with concurrent modifications.</p>
+ * <p>The stored {@link ExtDevice}s must not be modified - put a new instance instead.</p>
+ */
+public final class ExtDevicesStore {
+
+	private final Map<String, ExtDevice> devices = new LinkedHashMap<>(64);
+	/** The last snapshot of {@link #devices}, or null if it changed since it was taken. */
+	@Nullable private volatile List<ExtDevice> snapshot = Collections.emptyList();
+
+	/**
+	 * <p>Adds a device or replaces the one with the same address.</p>
+	 *
+	 * @param device the device
+	 */
+	synchronized void put(@NonNull final ExtDevice device) {
+		// Remove first so that the device goes to the end, as the most recently detected one.
+		devices.remove(device.address);
+		devices.put(device.address, device);
+		snapshot = null;
+	}
+
+	/**
+	 * <p>Replaces all the devices by the given ones, at once (readers see either the old or the new devices).</p>
+	 *
+	 * @param new_devices the new devices - if there are repeated addresses, the last device is kept
+	 */
+	synchronized void replaceAll(@NonNull final List<ExtDevice> new_devices) {
+		devices.clear();
+		for (final ExtDevice device : new_devices) {
+			devices.remove(device.address);
+			devices.put(device.address, device);
+		}
+		snapshot = null;
+	}
+
+	/**
+	 * <p>Removes all devices.</p>
+	 */
+	synchronized void clear() {
+		devices.clear();
+		snapshot = Collections.emptyList();
+	}
+
+	/**
+	 * <p>Gets a snapshot of the devices.</p>
+	 *
+	 * @return an immutable list of the devices, in the order they were (last) detected
+	 */
+	@NonNull
+	public List<ExtDevice> getSnapshot() {
+		final List<ExtDevice> curr_snapshot = snapshot;
+		if (curr_snapshot != null) {
+			return curr_snapshot;
+		}
+
+		synchronized (this) {
+			if (snapshot == null) {
+				snapshot = Collections.unmodifiableList(new ArrayList<>(devices.values()));
+			}
+
+			return snapshot;
+		}
+	}
+}
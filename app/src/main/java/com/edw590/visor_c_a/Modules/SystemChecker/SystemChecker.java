@@ -27,6 +27,7 @@ import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
 import android.content.IntentFilter;
+import android.database.ContentObserver;
 import android.media.AudioManager;
 import android.net.ConnectivityManager;
 import android.net.wifi.WifiManager;
@@ -35,6 +36,7 @@ import android.os.Build;
 import android.os.Handler;
 import android.os.HandlerThread;
 import android.os.PowerManager;
+import android.provider.Settings;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -51,8 +53,7 @@ import com.edw590.visor_c_a.Modules.Speech.UtilsSpeech2BC;
 import com.edw590.visor_c_a.ModulesList;
 import com.edw590.visor_c_a.Registry.UtilsRegistry;
 import com.edw590.visor_c_a.Registry.RegistryKeys;
-
-import java.util.ConcurrentModificationException;
+import com.edw590.visor_c_a.Registry.RegistryObserver;
 
 import SCLink.SCLink;
 
@@ -70,6 +71,8 @@ public final class SystemChecker implements IModuleInst {
 	// These 2 below appeared in a StackOverflow answer. Maybe it's the same explanation as the POWERON one. Keep it.
 	private static final String ACTION_HTC_QCK_POFF = "com.htc.intent.action.QUICKBOOT_POWEROFF";
 	private static final String ACTION_ANDR_QCK_POFF = "android.intent.action.QUICKBOOT_POWEROFF";
+	// Hidden action, but sent on all versions.
+	private static final String ACTION_VOLUME_CHANGED = "android.media.VOLUME_CHANGED_ACTION";
 
 	// The minimum check time of all check times (for the thread wait time)
 	// EDIT: 30 seconds, so that if the Power Saver is disabled, after 30 seconds it will be noticed and the devices
@@ -81,6 +84,19 @@ public final class SystemChecker implements IModuleInst {
 	public static final long CHECK_TIME = 1_000;
 
 	@NonNull final PowerManager power_manager = (PowerManager) UtilsContext.getSystemService(Context.POWER_SERVICE);
+	@NonNull final AudioManager audio_manager = (AudioManager) UtilsContext.getSystemService(Context.AUDIO_SERVICE);
+
+	@NonNull private final DeviceState device_state = new DeviceState(SCLink.getLastTimeUsed());
+	/** Set when the screen brightness setting changed, to be read again on the next check. */
+	private volatile boolean brightness_changed = true;
+	@NonNull private final RegistryObserver power_connected_observer;
+	@NonNull private final RegistryObserver battery_level_observer;
+	private final ContentObserver brightness_observer = new ContentObserver(null) {
+		@Override
+		public void onChange(final boolean selfChange) {
+			brightness_changed = true;
+		}
+	};
 
 	///////////////////////////////////////////////////////////////
 	// IModuleInst stuff
@@ -99,6 +115,9 @@ public final class SystemChecker implements IModuleInst {
 			UtilsContext.getContext().unregisterReceiver(broadcastReceiver);
 		} catch (final IllegalArgumentException ignored) {
 		}
+		UtilsContext.getContext().getContentResolver().unregisterContentObserver(brightness_observer);
+		power_connected_observer.unregister();
+		battery_level_observer.unregister();
 		UtilsGeneral.quitHandlerThread(main_handlerThread);
 
 		is_module_destroyed = true;
@@ -117,83 +136,45 @@ public final class SystemChecker implements IModuleInst {
 		main_handlerThread.start();
 		main_handler = new Handler(main_handlerThread.getLooper());
 
-		UtilsRegistry.setData(RegistryKeys.K_AIRPLANE_MODE_ON, UtilsAndroidConnectivity.getAirplaneModeEnabled(),
-				false);
+		updateAirplaneMode();
+		device_state.setWifiEnabled(UtilsAndroidConnectivity.getWifiEnabled());
+		device_state.setBluetoothEnabled(UtilsAndroidConnectivity.getBluetoothEnabled());
+		updatePower();
+		// The PowerChecker stores the power state from more than one place.
+		power_connected_observer = RegistryObserver.observeBool(RegistryKeys.K_POWER_CONNECTED, main_handler,
+				value -> updatePower());
+		battery_level_observer = RegistryObserver.observeInt(RegistryKeys.K_BATTERY_LEVEL, main_handler,
+				value -> updatePower());
+		updateScreenOn(power_manager.isScreenOn());
+		updateSound();
 
 		bluetooth_checker.startBluetooth();
 
 		registerReceiver();
+		UtilsContext.getContext().getContentResolver().registerContentObserver(
+				Settings.System.getUriFor(Settings.System.SCREEN_BRIGHTNESS), false, brightness_observer);
 
 		infinity_thread.start();
 	}
 
 	private final Thread infinity_thread = new Thread(() -> {
-		assert power_manager != null; // It exists - it's the ---Power--- Manager
-		long last_time_used = SCLink.getLastTimeUsed();
-		boolean is_interactive = false;
-
 		int times = 0;
 		while (true) {
+			// The brightness is read here and not on the observer to never read it more than once per check (reading
+			// it also writes to the settings).
+			if (brightness_changed) {
+				brightness_changed = false;
+				final int screen_brightness = UtilsAndroidPower.getScreenBrightness();
+				UtilsRegistry.setData(RegistryKeys.K_SCREEN_BRIGHTNESS, screen_brightness, false);
+				device_state.setScreenBrightness(screen_brightness);
+			}
+
 			if (times >= 15) {
 				// Only send the info after the first time (15 secs should be enough), so that the ExtDevices are
 				// checked first.
-				StringBuilder wifi_networks = new StringBuilder();
-				try {
-					for (final ExtDevice wifi_ap : WifiChecker.nearby_aps_wifi) {
-						wifi_networks.append(wifi_ap.name).append("\u0001");
-						wifi_networks.append(wifi_ap.address).append("\u0001");
-						wifi_networks.append(wifi_ap.rssi).append("\u0001");
-						wifi_networks.append("\u0000");
-					}
-				} catch (final ConcurrentModificationException ignored) {
-					// If the list is being modified, it will throw a ConcurrentModificationException, so catch it and
-					// go to the next cycle immediately, on which the modifications should be ready.
-					continue;
-				}
-				StringBuilder bluetooth_devices = new StringBuilder();
-				try {
-					for (final ExtDevice bluetooth_device : BluetoothChecker.nearby_devices_bt) {
-						bluetooth_devices.append(bluetooth_device.name).append("\u0001");
-						bluetooth_devices.append(bluetooth_device.address).append("\u0001");
-						bluetooth_devices.append(bluetooth_device.rssi).append("\u0001");
-						bluetooth_devices.append("\u0000");
-					}
-				} catch (final ConcurrentModificationException ignored) {
-					continue;
-				}
-				if (power_manager.isScreenOn()) {
-					last_time_used = System.currentTimeMillis() / 1000;
-					is_interactive = true;
-				} else {
-					is_interactive = false;
-				}
-				UtilsRegistry.setData(RegistryKeys.K_DEVICE_IN_USE, is_interactive, false);
-
-				UtilsRegistry.setData(RegistryKeys.K_SCREEN_BRIGHTNESS, UtilsAndroidPower.getScreenBrightness(),
-						false);
-
-				AudioManager audioManager = (AudioManager) UtilsContext.getContext().
-						getSystemService(Context.AUDIO_SERVICE);
-				int normalized_volume = audioManager.getStreamVolume(AudioManager.STREAM_RING) * 100 /
-						audioManager.getStreamMaxVolume(AudioManager.STREAM_RING);
-				UtilsRegistry.setData(RegistryKeys.K_SOUND_VOLUME, normalized_volume, false);
-				UtilsRegistry.setData(RegistryKeys.K_SOUND_MUTED,
-						audioManager.getRingerMode() != AudioManager.RINGER_MODE_NORMAL, false);
-
-				SCLink.updateDeviceInfo(
-						last_time_used,
-						UtilsAndroidConnectivity.getAirplaneModeEnabled(),
-						UtilsAndroidConnectivity.getWifiEnabled(),
-						UtilsAndroidConnectivity.getBluetoothEnabled(),
-						(boolean) UtilsRegistry.getData(RegistryKeys.K_POWER_CONNECTED, true),
-						(int) UtilsRegistry.getData(RegistryKeys.K_BATTERY_LEVEL, true),
-						is_interactive,
-						UtilsAndroidPower.getScreenBrightness(),
-						wifi_networks.toString(),
-						bluetooth_devices.toString(),
-						normalized_volume,
-						audioManager.getRingerMode() != AudioManager.RINGER_MODE_NORMAL
-				);
+				device_state.publishIfNeeded();
+			} else {
+				times++;
 			}
 
 			// Network type
@@ -210,8 +191,6 @@ public final class SystemChecker implements IModuleInst {
 			// Wi-Fi
 			wifi_checker.checkWifi();
 
-			times++;
-
 			try {
 				Thread.sleep(CHECK_TIME);
 			} catch (final InterruptedException ignored) {
@@ -220,6 +199,45 @@ public final class SystemChecker implements IModuleInst {
 		}
 	});
 
+	/**
+	 * <p>Updates the airplane mode state.</p>
+	 */
+	private void updateAirplaneMode() {
+		final boolean airplane_mode_enabled = UtilsAndroidConnectivity.getAirplaneModeEnabled();
+		UtilsRegistry.setData(RegistryKeys.K_AIRPLANE_MODE_ON, airplane_mode_enabled, false);
+		device_state.setAirplaneModeEnabled(airplane_mode_enabled);
+	}
+
+	/**
+	 * <p>Updates the power state from the values the {@link PowerChecker} stored.</p>
+	 */
+	private void updatePower() {
+		device_state.setPower(UtilsRegistry.getBool(RegistryKeys.K_POWER_CONNECTED),
+				UtilsRegistry.getInt(RegistryKeys.K_BATTERY_LEVEL));
+	}
+
+	/**
+	 * <p>Updates the screen state.</p>
+	 *
+	 * @param screen_on true if the screen is on, false otherwise
+	 */
+	private void updateScreenOn(final boolean screen_on) {
+		UtilsRegistry.setData(RegistryKeys.K_DEVICE_IN_USE, screen_on, false);
+		device_state.setScreenOn(screen_on);
+	}
+
+	/**
+	 * <p>Updates the sound state.</p>
+	 */
+	private void updateSound() {
+		final int normalized_volume = audio_manager.getStreamVolume(AudioManager.STREAM_RING) * 100 /
+				audio_manager.getStreamMaxVolume(AudioManager.STREAM_RING);
+		final boolean sound_muted = audio_manager.getRingerMode() != AudioManager.RINGER_MODE_NORMAL;
+		UtilsRegistry.setData(RegistryKeys.K_SOUND_VOLUME, normalized_volume, false);
+		UtilsRegistry.setData(RegistryKeys.K_SOUND_MUTED, sound_muted, false);
+		device_state.setSound(normalized_volume, sound_muted);
+	}
+
 	/**
 	 * <p>Register the module's broadcast receiver.</p>
 	 */
@@ -257,6 +275,12 @@ public final class SystemChecker implements IModuleInst {
 				intentFilter.addAction(PowerManager.ACTION_POWER_SAVE_MODE_CHANGED);
 			}
 
+			// Screen and sound
+			intentFilter.addAction(Intent.ACTION_SCREEN_ON);
+			intentFilter.addAction(Intent.ACTION_SCREEN_OFF);
+			intentFilter.addAction(ACTION_VOLUME_CHANGED);
+			intentFilter.addAction(AudioManager.RINGER_MODE_CHANGED_ACTION);
+
 			// Battery and Power
 			intentFilter.addAction(Intent.ACTION_BATTERY_CHANGED);
 			intentFilter.addAction(Intent.ACTION_POWER_CONNECTED);
@@ -314,6 +338,25 @@ public final class SystemChecker implements IModuleInst {
 					break;
 				}
 
+				/////////////////////////////////////
+				// Screen and sound
+				case (Intent.ACTION_SCREEN_ON): {
+					updateScreenOn(true);
+
+					break;
+				}
+				case (Intent.ACTION_SCREEN_OFF): {
+					updateScreenOn(false);
+
+					break;
+				}
+				case (ACTION_VOLUME_CHANGED):
+				case (AudioManager.RINGER_MODE_CHANGED_ACTION): {
+					updateSound();
+
+					break;
+				}
+
 				/////////////////////////////////////
 				// Shutdown and reboot
 				case (ACTION_HTC_QCK_POFF):
@@ -354,6 +397,7 @@ public final class SystemChecker implements IModuleInst {
 				}
 				case (WifiManager.WIFI_STATE_CHANGED_ACTION): {
 					wifi_checker.wifiStateChanged(intent);
+					device_state.setWifiEnabled(UtilsAndroidConnectivity.getWifiEnabled());
 
 					break;
 				}
@@ -388,6 +432,7 @@ public final class SystemChecker implements IModuleInst {
 				}
 				case (BluetoothAdapter.ACTION_STATE_CHANGED): {
 					bluetooth_checker.bluetoothStateChanged(intent);
+					device_state.setBluetoothEnabled(UtilsAndroidConnectivity.getBluetoothEnabled());
 
 					break;
 				}
@@ -409,8 +454,7 @@ public final class SystemChecker implements IModuleInst {
 				/////////////////////////////////////
 				// Airplane mode
 				case (Intent.ACTION_AIRPLANE_MODE_CHANGED): {
-					UtilsRegistry.setData(RegistryKeys.K_AIRPLANE_MODE_ON,
-							UtilsAndroidConnectivity.getAirplaneModeEnabled(), false);
+					updateAirplaneMode();
 
 					break;
 				}
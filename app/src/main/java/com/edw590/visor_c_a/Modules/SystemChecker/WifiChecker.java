@@ -56,7 +56,7 @@ public final class WifiChecker {
 
 	int attempts = 0;
 
-	public static final List<ExtDevice> nearby_aps_wifi = new ArrayList<>(64);
+	public static final ExtDevicesStore nearby_aps_wifi = new ExtDevicesStore();
 
 	void setWifiEnabled(final boolean enable) {
 		if (UtilsAndroidConnectivity.setWifiEnabled(enable) == UtilsShell.ErrCodes.NO_ERR) {
@@ -116,30 +116,22 @@ public final class WifiChecker {
 			return;
 		}
 
-		nearby_aps_wifi.clear();
-
 		// Checking again for the permission (aside from before calling startScan()) because the request may
 		// have been done externally in the meantime, and we just go on the ride and use the results.
 		if (UtilsPermsAuths.checkSelfPermission(Manifest.permission.ACCESS_FINE_LOCATION)) {
-			for (final ScanResult scanResult : wifi_manager.getScanResults()) {
+			final List<ScanResult> scan_results = wifi_manager.getScanResults();
+			// Repeated addresses are removed by the store.
+			final List<ExtDevice> new_aps_wifi = new ArrayList<>(scan_results.size());
+			for (final ScanResult scanResult : scan_results) {
 				long time_detection = System.currentTimeMillis();
 
 				String address = scanResult.BSSID.toUpperCase(Locale.getDefault());
 
-				int nearby_aps_wifi_size = nearby_aps_wifi.size();
-				for (int i = 0; i < nearby_aps_wifi_size; ++i) {
-					ExtDevice device = nearby_aps_wifi.get(i);
-					if (device.type == ExtDevice.TYPE_BLUETOOTH && device.address.equals(address)) {
-						nearby_aps_wifi.remove(i);
-
-						break;
-					}
-				}
 				Boolean untrusted = (Boolean) UtilsReflection.getFieldValue(scanResult, "untrusted");
 				if (untrusted == null) {
 					untrusted = false;
 				}
-				nearby_aps_wifi.add(new ExtDevice(
+				new_aps_wifi.add(new ExtDevice(
 						ExtDevice.TYPE_WIFI,
 						address,
 						time_detection,
@@ -150,7 +142,9 @@ public final class WifiChecker {
 				);
 			}
 
-			if (nearby_aps_wifi.isEmpty() && attempts < 5) {
+			nearby_aps_wifi.replaceAll(new_aps_wifi);
+
+			if (new_aps_wifi.isEmpty() && attempts < 5) {
 				// In case we didn't get any results, try at most 5 times to be sure it wasn't an internal error or
 				// something (has happened. Networks in range and nothing returned).
 				attempts++;
@@ -170,6 +164,9 @@ public final class WifiChecker {
 
 			// After we got the results successfully
 			last_check_when = System.currentTimeMillis();
+		} else {
+			// No permission to get the results, so don't keep reporting the old ones.
+			nearby_aps_wifi.clear();
 		}
 	}
 
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2021-2024 Edw590
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.edw590.visor_c_a.Modules.TelephonyManagement;
+
+import android.telephony.PhoneNumberUtils;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>Immutable index of the contacts list by phone number, built together with the list.</p>
+ * <br>
+ * <p>The numbers are indexed by their last {@link #KEY_DIGITS} digits (the same minimum match Android uses to compare
+ * numbers), so a lookup only compares the given number with the few contacts that share those digits, instead of with
+ * the whole list.</p>
+ */
+final class ContactsIndex {
+
+	/** Number of digits, from the end of the number, used as key. */
+	private static final int KEY_DIGITS = 7;
+
+	/** The contacts list the index was built from, as returned by {@link UtilsTelephony#getAllContacts(int)}. */
+	@NonNull final String[][] contacts_list;
+	/** Indexes on {@link #contacts_list} of the contacts, by the key of their numbers. */
+	@NonNull private final Map<String, int[]> index;
+
+	/**
+	 * <p>Main class constructor.</p>
+	 *
+	 * @param contacts_list {@link #contacts_list} - must not be changed after this
+	 */
+	ContactsIndex(@NonNull final String[][] contacts_list) {
+		this.contacts_list = contacts_list;
+
+		index = new HashMap<>(contacts_list.length * 2);
+		for (int i = 0; i < contacts_list.length; ++i) {
+			final String key = getKey(contacts_list[i][1]);
+			final int[] indexes = index.get(key);
+			if (indexes == null) {
+				index.put(key, new int[]{i});
+			} else {
+				final int[] new_indexes = new int[indexes.length + 1];
+				System.arraycopy(indexes, 0, new_indexes, 0, indexes.length);
+				new_indexes[indexes.length] = i;
+				index.put(key, new_indexes);
+			}
+		}
+	}
+
+	/**
+	 * <p>Gets the indexes on {@link #contacts_list} of the contacts whose number matches the given one (as in
+	 * {@link PhoneNumberUtils#compareStrictly(String, String)}).</p>
+	 *
+	 * @param number the phone number
+	 *
+	 * @return the indexes of the matches, in the order of the list
+	 */
+	@NonNull
+	int[] getMatches(@NonNull final String number) {
+		final int[] indexes = index.get(getKey(number));
+		if (indexes == null) {
+			return new int[0];
+		}
+
+		final int[] matches = new int[indexes.length];
+		int num_matches = 0;
+		for (final int i : indexes) {
+			if (PhoneNumberUtils.compareStrictly(number, contacts_list[i][1])) {
+				matches[num_matches] = i;
+				++num_matches;
+			}
+		}
+
+		return num_matches == matches.length ? matches : Arrays.copyOf(matches, num_matches);
+	}
+
+	/**
+	 * <p>Gets the key of a phone number on the index.</p>
+	 *
+	 * @param number the phone number
+	 *
+	 * @return the last {@link #KEY_DIGITS} digits of the number (less if it doesn't have that many), ignoring any other
+	 * characters
+	 */
+	@NonNull
+	private static String getKey(@NonNull final String number) {
+		final char[] key = new char[KEY_DIGITS];
+		int key_len = 0;
+		for (int i = number.length() - 1; i >= 0 && key_len < KEY_DIGITS; --i) {
+			final char c = number.charAt(i);
+			if (c >= '0' && c <= '9') {
+				++key_len;
+				key[KEY_DIGITS - key_len] = c;
+			}
+		}
+
+		return new String(key, KEY_DIGITS - key_len, key_len);
+	}
+}
@@ -22,11 +22,15 @@
 package com.edw590.visor_c_a.Modules.TelephonyManagement;
 
 import android.Manifest;
+import android.content.ContentResolver;
+import android.database.ContentObserver;
+import android.provider.ContactsContract;
 
 import androidx.annotation.NonNull;
 
 import com.edw590.visor_c_a.GlobalInterfaces.IModuleInst;
 import com.edw590.visor_c_a.GlobalUtils.UtilsCheckHardwareFeatures;
+import com.edw590.visor_c_a.GlobalUtils.UtilsContext;
 import com.edw590.visor_c_a.GlobalUtils.UtilsGeneral;
 import com.edw590.visor_c_a.GlobalUtils.UtilsPermsAuths;
 import com.edw590.visor_c_a.Modules.CmdsExecutor.CmdsList.UtilsCmdsList;
@@ -37,6 +41,8 @@ import com.edw590.visor_c_a.Modules.TelephonyManagement.PhoneCallsProcessor.Phon
 import com.edw590.visor_c_a.Modules.TelephonyManagement.SmsMsgsProcessor.SmsMsgsProcessor;
 import com.edw590.visor_c_a.ModulesList;
 
+import java.util.Arrays;
+
 /**
  * <p>The module that manages all telephony-related things, including the Phone Calls Processor and the SMS Messages
  * Processor submodules.</p>
@@ -44,6 +50,8 @@ import com.edw590.visor_c_a.ModulesList;
 public final class TelephonyManagement implements IModuleInst {
 
 	@NonNull private static String[][] contacts_list = {};
+	/** Index by phone number of {@link #contacts_list}, replaced together with it. */
+	@NonNull private static volatile ContactsIndex contacts_index = new ContactsIndex(contacts_list);
 	private static final Object lock = new Object();
 
 	///////////////////////////////////////////////////////////////
@@ -60,6 +68,7 @@ public final class TelephonyManagement implements IModuleInst {
 	@Override
 	public void destroy() {
 		infinity_thread.interrupt();
+		UtilsContext.getContext().getContentResolver().unregisterContentObserver(contacts_observer);
 		ModulesList.stopElement(ModulesList.getElementIndex(PhoneCallsProcessor.class));
 		ModulesList.stopElement(ModulesList.getElementIndex(SmsMsgsProcessor.class));
 
@@ -83,30 +92,73 @@ public final class TelephonyManagement implements IModuleInst {
 		infinity_thread.start();
 	}
 
+	/** Interval of a full contacts sync, in case any change notification is missed (or never comes, like it may happen
+	 * with the SIM contacts). */
+	private static final long FULL_SYNC_INTERVAL = 30L * 60_000L;
+	private final Object sync_lock = new Object();
+	private boolean contacts_changed = true;
+	private boolean observer_registered = false;
+
+	private final ContentObserver contacts_observer = new ContentObserver(null) {
+		@Override
+		public void onChange(final boolean selfChange) {
+			synchronized (sync_lock) {
+				contacts_changed = true;
+				sync_lock.notifyAll();
+			}
+		}
+	};
+
 	final Thread infinity_thread = new Thread(new Runnable() {
 		@Override
 		public void run() {
+			boolean last_only_sim = false;
+			long last_full_sync = 0;
 			while (true) {
 				// Update the contacts list
 				if (UtilsPermsAuths.checkSelfPermission(Manifest.permission.READ_CONTACTS)) {
-					// Nested synchronization as said here: https://stackoverflow.com/a/21462631/8228163.
-					synchronized (lock) {
-						synchronized (contacts_list) {
-							// Every CHECK_INTERNAL seconds, update the contacts list for commands to be available for new
-							// contacts or to remove from it removed contacts, or to update updated contacts (like number or
-							// name or whatever). Also if the READ_CONTACTS permissions was just granted, add the contacts from
-							// scratch.
-							final boolean only_sim = (boolean) UtilsRegistry.
-									getData(RegistryKeys.K_CONTACTS_SIM_ONLY, true);
-							contacts_list = UtilsTelephony.getAllContacts(only_sim ?
-									UtilsTelephony.CONTACTS_SIM : UtilsTelephony.ALL_CONTACTS);
+					registerContactsObserver();
+
+					final boolean only_sim = UtilsRegistry.getBool(RegistryKeys.K_CONTACTS_SIM_ONLY);
+					final boolean sync_now;
+					synchronized (sync_lock) {
+						// Sync when the contacts changed (or the READ_CONTACTS permission was just granted - the flag
+						// starts true), when the location to search changed, or when it's time for a full sync.
+						sync_now = contacts_changed || only_sim != last_only_sim ||
+								System.currentTimeMillis() >= last_full_sync + FULL_SYNC_INTERVAL;
+						contacts_changed = false;
+					}
+
+					if (sync_now) {
+						last_only_sim = only_sim;
+						last_full_sync = System.currentTimeMillis();
+
+						final String[][] new_contacts_list = UtilsTelephony.getAllContacts(only_sim ?
+								UtilsTelephony.CONTACTS_SIM : UtilsTelephony.ALL_CONTACTS);
+						// Only touch the commands detection if the contacts actually changed (new contacts, removed ones,
+						// or updated names or numbers).
+						if (!Arrays.deepEquals(new_contacts_list, contacts_list)) {
+							// Nested synchronization as said here: https://stackoverflow.com/a/21462631/8228163.
+							synchronized (lock) {
+								synchronized (contacts_list) {
+									contacts_list = new_contacts_list;
+									contacts_index = new ContactsIndex(new_contacts_list);
+								}
+							}
+							// Outside the locks - it gets the list again and synchronizes with the commands reloads.
 							UtilsCmdsList.updateMakeCallCmdContacts();
 						}
 					}
 				}
 
 				try {
-					Thread.sleep(ModulesManager.CHECK_INTERVAL);
+					synchronized (sync_lock) {
+						// Still wake up every CHECK_INTERVAL to check if the permission was granted or the settings
+						// changed (cheap checks), but sync right away if the contacts change.
+						if (!contacts_changed) {
+							sync_lock.wait(ModulesManager.CHECK_INTERVAL);
+						}
+					}
 				} catch (final InterruptedException ignored) {
 					return;
 				}
@@ -114,6 +166,23 @@ public final class TelephonyManagement implements IModuleInst {
 		}
 	});
 
+	/**
+	 * <p>Registers {@link #contacts_observer}, if it's not registered yet.</p>
+	 */
+	void registerContactsObserver() {
+		if (observer_registered) {
+			return;
+		}
+
+		final ContentResolver contentResolver = UtilsContext.getContext().getContentResolver();
+		try {
+			contentResolver.registerContentObserver(ContactsContract.Contacts.CONTENT_URI, true, contacts_observer);
+			contentResolver.registerContentObserver(UtilsTelephony.ICC_URI_API4PLUS, true, contacts_observer);
+			observer_registered = true;
+		} catch (final SecurityException ignored) {
+		}
+	}
+
 	/**
 	 * <p>Get a clone of the {@link #contacts_list}.</p>
 	 *
@@ -128,4 +197,16 @@ public final class TelephonyManagement implements IModuleInst {
 			}
 		}
 	}
+
+	/**
+	 * <p>Get the index by phone number of the current contacts list.</p>
+	 * <p>No clone is made, since the index (and the list in it) is never changed - it's replaced with a new one when
+	 * the contacts change.</p>
+	 *
+	 * @return the index
+	 */
+	@NonNull
+	static ContactsIndex getContactsIndex() {
+		return contacts_index;
+	}
 }
@@ -27,7 +27,6 @@ import android.content.Context;
 import android.database.Cursor;
 import android.net.Uri;
 import android.os.Build;
-import android.provider.BaseColumns;
 import android.provider.CallLog;
 import android.provider.ContactsContract;
 import android.telephony.PhoneNumberUtils;
@@ -43,7 +42,9 @@ import com.edw590.visor_c_a.Registry.RegistryKeys;
 import com.edw590.visor_c_a.Registry.UtilsRegistry;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * <p>Global telephony-related utilities.</p>
@@ -66,13 +67,13 @@ public final class UtilsTelephony {
 	 * <a href="https://androidforums.com/threads/sim-contacts.374255/">this</a>. On Android 1.5 (API 3) it was
 	 * "content://sim/adn".</p>
 	 */
-	private static final Uri ICC_URI_API4PLUS = Uri.parse("content://icc/adn");
+	static final Uri ICC_URI_API4PLUS = Uri.parse("content://icc/adn");
 
 	public static final String NO_MATCHES = "3234_NO_MATCHES";
 	public static final String MULTIPLE_MATCHES = "3234_MULTIPLE_MATCHES";
 	/**
-	 * <p>Gets the name of a contact through its phone number searching on the
-	 * {@link TelephonyManagement#CONTACTS_LIST}.</p>
+	 * <p>Gets the name of a contact through its phone number searching on the contacts list, through its index by
+	 * phone number ({@link TelephonyManagement#getContactsIndex()}).</p>
 	 * <br>
 	 * <p><u>---CONSTANTS---</u></p>
 	 * <p>- {@link #NO_MATCHES} --> returned when no number was found for the given phone number</p>
@@ -90,26 +91,16 @@ public final class UtilsTelephony {
 		final List<String> matches = new ArrayList<>(10); // 10 matches at most as a start, I guess?
 		String last_name_found = "";
 
-		for (final String[] contact : TelephonyManagement.getContactsList()) {
-			final String name = contact[0];
-			final String phoneNo = contact[1];
-
-			if (PhoneNumberUtils.compareStrictly(number, phoneNo)) {
-				boolean already_found = false;
-				for (final String match : matches) {
-					// This excludes repeated contacts (same name and number, or maybe same name but number with and
-					// without country extension) from being considered different contacts. Don't forget the contacts
-					// can come from *multiple* accounts, so the same contact may appear in various - this will filter
-					// the repeated ones out.
-					if (match.equals(name)) {
-						already_found = true;
-						break;
-					}
-				}
-				if (!already_found) {
-					matches.add(name);
-					last_name_found = name;
-				}
+		final ContactsIndex contacts_index = TelephonyManagement.getContactsIndex();
+		for (final int contact_index : contacts_index.getMatches(number)) {
+			final String name = contacts_index.contacts_list[contact_index][0];
+
+			// This excludes repeated contacts (same name and number, or maybe same name but number with and without
+			// country extension) from being considered different contacts. Don't forget the contacts can come from
+			// *multiple* accounts, so the same contact may appear in various - this will filter the repeated ones out.
+			if (!matches.contains(name)) {
+				matches.add(name);
+				last_name_found = name;
 			}
 		}
 
@@ -174,7 +165,7 @@ public final class UtilsTelephony {
 	public static String getWhatToSayAboutNumber(@NonNull final String number) {
 		final String ret;
 		if (UtilsPermsAuths.checkSelfPermission(Manifest.permission.READ_CONTACTS)) {
-			final boolean first_match = (boolean) UtilsRegistry.getData(RegistryKeys.K_CONTACTS_1ST_MATCH, true);
+			final boolean first_match = UtilsRegistry.getBool(RegistryKeys.K_CONTACTS_1ST_MATCH);
 
 			ret = getNameFromNum(number, first_match);
 		} else {
@@ -303,102 +294,73 @@ public final class UtilsTelephony {
 	public static String[][] getAllContacts(final int location_search) {
 		final ArrayList<String[]> contacts_found = new ArrayList<>(64);
 
-		final Uri uri_to_use;
-		switch (location_search) {
-			case (CONTACTS_SIM):
-				uri_to_use = ICC_URI_API4PLUS;
-
-				break;
-			default:
-				// This seems to give the contacts of the entire phone: SIM card, phone storage and accounts like Google,
-				// WhatsApp...
-				uri_to_use = ContactsContract.Contacts.CONTENT_URI;
-
-				break;
-		}
-
 		final ContentResolver contentResolver = UtilsContext.getContext().getContentResolver();
+		// To check for repeated contacts (same name and number) in constant time.
+		final Set<String> contacts_keys = new HashSet<>(128);
+
+		if (location_search == ALL_CONTACTS) {
+			// One single query on the phone numbers table, which already has the name of the contact of each number,
+			// and only with the needed columns.
+			final String[] projection = {
+					ContactsContract.CommonDataKinds.Phone.DISPLAY_NAME,
+					ContactsContract.CommonDataKinds.Phone.NUMBER,
+			};
+			try (final Cursor cursor = contentResolver.query(ContactsContract.CommonDataKinds.Phone.CONTENT_URI,
+					projection, null, null, ContactsContract.CommonDataKinds.Phone.CONTACT_ID)) {
+				if (cursor == null) {
+					return new String[0][];
+				}
 
-		try (final Cursor cursor = contentResolver.query(uri_to_use, null, null, null, null)) {
-
-			if (location_search == ALL_CONTACTS) {
-				if ((cursor != null ? cursor.getCount() : 0) > 0) {
-					while (cursor.moveToNext()) {
-						final int col1_idx = cursor.getColumnIndex(BaseColumns._ID);
-						final int col2_idx = cursor.getColumnIndex(ContactsContract.Contacts.DISPLAY_NAME);
-						if (col1_idx < 0 || col2_idx < 0) {
-							continue;
-						}
-						final String id = cursor.getString(col1_idx);
-						final String name = cursor.getString(col2_idx);
-
-						final int col3_idx = cursor.getColumnIndex(ContactsContract.Contacts.HAS_PHONE_NUMBER);
-						if (col3_idx >= 0 && cursor.getInt(col3_idx) > 0) {
-							try (
-									final Cursor cursor1 = contentResolver.query(
-											ContactsContract.CommonDataKinds.Phone.CONTENT_URI, null,
-											ContactsContract.CommonDataKinds.Phone.CONTACT_ID + " = ?",
-											new String[]{id}, null)
-							) {
-								while (cursor1.moveToNext()) {
-									final int col4_idx = cursor1.getColumnIndex(
-											ContactsContract.CommonDataKinds.Phone.NUMBER);
-									if (col4_idx < 0) {
-										continue;
-									}
-									final String phoneNo = cursor1.getString(col4_idx);
-
-									boolean not_in_list = true;
-									for (final String[] contact : contacts_found) {
-										if (name.equals(contact[0]) && phoneNo.equals(contact[1])) {
-											not_in_list = false;
-
-											break;
-										}
-									}
-									if (not_in_list) {
-										// Also remove spaces so that the numbers don't get returned like
-										// "+351 123 456 789", which seems to be incompatible with isEmergencyNumber(),
-										// for example.
-										contacts_found.add(new String[]{name, phoneNo.replace(" ", "")});
-									}
-								}
-							}
-						}
-					}
+				final int name_idx = cursor.getColumnIndex(ContactsContract.CommonDataKinds.Phone.DISPLAY_NAME);
+				final int number_idx = cursor.getColumnIndex(ContactsContract.CommonDataKinds.Phone.NUMBER);
+				if (name_idx < 0 || number_idx < 0) {
+					return new String[0][];
 				}
-			} else if (location_search == CONTACTS_SIM) {
 				while (cursor.moveToNext()) {
-					final int col1_idx = cursor.getColumnIndex("name");
-					if (col1_idx < 0) {
-						continue;
-					}
-					final String name = cursor.getString(col1_idx);
-					//listContactId.add(cursorSim.getString(cursorSim.getColumnIndex("_id")));
-					final int col2_idx = cursor.getColumnIndex("number");
-					if (col2_idx < 0) {
-						continue;
-					}
-					final String phoneNo = cursor.getString(col2_idx);
-
-					boolean not_in_list = true;
-					for (final String[] contact : contacts_found) {
-						if (name.equals(contact[0]) && phoneNo.equals(contact[1])) {
-							not_in_list = false;
-
-							break;
-						}
-					}
-					if (not_in_list) {
-						// Also remove spaces so that the numbers don't get returned like
-						// "+351 123 456 789", which seems to be incompatible with isEmergencyNumber(),
-						// for example.
-						contacts_found.add(new String[]{name, phoneNo.replace(" ", "")});
-					}
+					addContact(contacts_found, contacts_keys, cursor.getString(name_idx), cursor.getString(number_idx));
+				}
+			}
+		} else if (location_search == CONTACTS_SIM) {
+			try (final Cursor cursor = contentResolver.query(ICC_URI_API4PLUS, null, null, null, null)) {
+				if (cursor == null) {
+					return new String[0][];
+				}
+
+				final int name_idx = cursor.getColumnIndex("name");
+				final int number_idx = cursor.getColumnIndex("number");
+				if (name_idx < 0 || number_idx < 0) {
+					return new String[0][];
+				}
+				while (cursor.moveToNext()) {
+					addContact(contacts_found, contacts_keys, cursor.getString(name_idx), cursor.getString(number_idx));
 				}
 			}
 		}
 
 		return contacts_found.toArray(new String[0][]);
 	}
+
+	/**
+	 * <p>Adds a contact to the list of {@link #getAllContacts(int)}, if it's not there already.</p>
+	 *
+	 * @param contacts_found the list of contacts
+	 * @param contacts_keys the keys of the contacts already on the list
+	 * @param name the name of the contact
+	 * @param number the phone number of the contact
+	 */
+	private static void addContact(@NonNull final List<String[]> contacts_found, @NonNull final Set<String> contacts_keys,
+								   @Nullable final String name, @Nullable final String number) {
+		if (name == null || number == null) {
+			return;
+		}
+
+		// Also remove spaces so that the numbers don't get returned like "+351 123 456 789", which seems to be
+		// incompatible with isEmergencyNumber(), for example.
+		final String number_no_spaces = number.replace(" ", "");
+		// This excludes repeated contacts (same name and number) - the contacts can come from *multiple* accounts, so
+		// the same contact may appear in various.
+		if (contacts_keys.add(name + '\0' + number_no_spaces)) {
+			contacts_found.add(new String[]{name, number_no_spaces});
+		}
+	}
 }
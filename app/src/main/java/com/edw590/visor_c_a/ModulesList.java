@@ -94,20 +94,27 @@ public final class ModulesList {
 	// app won't crash because of negative index from getModuleIndex() in case it's used for the disabled element.
 	/** List of all modules of the app, and also the wanted submodules to be shown on the Modules Status - check which
 	 * is what with {@link #ELEMENT_IS_MODULE}. They must also be in the order of module startup (the Modules Manager must
-	 * be the first one).*/
+	 * be the first one).
+	 * <p>The elements with no dependencies between them (see {@link ElementsObj#dependencies}) are started at the same
+	 * time, so the dependencies must not be circular.</p>*/
 	private static final ElementsObj[] ELEMENTS_LIST = {
 			new ElementsObj(ModulesManager.class, "Modules Manager", TYPE1_INSTANCE, true), // MOD_1
 			new ElementsObj(Speech2.class, "Speech", TYPE1_INSTANCE, true), // MOD_2
-			new ElementsObj(TasksExecutor.class, "Tasks Executor", TYPE1_INSTANCE, true), // MOD_9
+			new ElementsObj(TasksExecutor.class, "Tasks Executor", TYPE1_INSTANCE, true, CmdsExecutor.class), // MOD_9
 			new ElementsObj(SystemChecker.class, "System Checker", TYPE1_INSTANCE, true), // MOD_10
-			new ElementsObj(SpeechRecognitionCtrl.class, "Speech Recognition Control", TYPE1_INSTANCE, true), // MOD_11
-			new ElementsObj(CommandsRecognition.class, "Commands recognizer", TYPE1_SERVICE_SEP_CHK_ONLY, false),
+			new ElementsObj(SpeechRecognitionCtrl.class, "Speech Recognition Control", TYPE1_INSTANCE, true,
+					CmdsExecutor.class), // MOD_11
+			new ElementsObj(CommandsRecognition.class, "Commands recognizer", TYPE1_SERVICE_SEP_CHK_ONLY, false,
+					SpeechRecognitionCtrl.class),
 			//new ElementsObj(PocketSphinxRecognition.class, "Hotword recognizer", TYPE1_INSTANCE, false),
 			new ElementsObj(UserLocator.class, "User Locator", TYPE1_INSTANCE, true), // MOD_12
-			new ElementsObj(CmdsExecutor.class, "Commands Executor", TYPE1_INSTANCE, true), // MOD_13
-			new ElementsObj(TelephonyManagement.class, "Telephony Manager", TYPE1_INSTANCE, true),
-			new ElementsObj(PhoneCallsProcessor.class, "Phone Calls Processor", TYPE1_INSTANCE, false),
-			new ElementsObj(SmsMsgsProcessor.class, "SMS Messages Processor", TYPE1_INSTANCE, false),
+			new ElementsObj(CmdsExecutor.class, "Commands Executor", TYPE1_INSTANCE, true, Speech2.class), // MOD_13
+			// The Telephony Manager adds the contacts to the ACD commands list, which the Commands Executor reloads.
+			new ElementsObj(TelephonyManagement.class, "Telephony Manager", TYPE1_INSTANCE, true, CmdsExecutor.class),
+			new ElementsObj(PhoneCallsProcessor.class, "Phone Calls Processor", TYPE1_INSTANCE, false,
+					TelephonyManagement.class),
+			new ElementsObj(SmsMsgsProcessor.class, "SMS Messages Processor", TYPE1_INSTANCE, false,
+					TelephonyManagement.class),
 			new ElementsObj(AudioRecorder.class, "Audio Recorder", TYPE1_INSTANCE, true),
 			new ElementsObj(CameraManagement.class, "Camera Manager", TYPE1_INSTANCE, true),
 
@@ -138,6 +145,10 @@ public final class ModulesList {
 		@Nullable Object instance = null;
 		/** True if the user chose to disable the element, false otherwise. */
 		boolean disable = false;
+		/** The element's static {@code isSupported()} method, looked up only once. */
+		@NonNull final Method is_supported_method;
+		/** The classes of the elements that must be started before this one. */
+		@NonNull final Class<?>[] dependencies;
 
 		/**
 		 * .
@@ -146,15 +157,36 @@ public final class ModulesList {
 		 * @param name {@link #name}
 		 * @param type1 {@link #type1}
 		 * @param is_module {@link #is_module}
+		 * @param dependencies {@link #dependencies}
 		 */
 		ElementsObj(@NonNull final Class<?> cls, @NonNull final String name, final int type1,
-					final boolean is_module) {
+					final boolean is_module, @NonNull final Class<?>... dependencies) {
 			this.cls = cls;
 			this.name = name;
 			this.type1 = type1;
 			this.is_module = is_module;
+			this.dependencies = dependencies;
+
+			// Had to use reflection. It's to behave like IModule, but with a static method that changes for every
+			// module and that can be called through the class, so that it doesn't matter if the module is a separate
+			// process services. Can't use an interface - use reflection and make sure all modules implement the method
+			// on them.
+			final Method method = UtilsReflection.getMethod(cls, "isSupported");
+			// In case this throws an error while I'm messing with the modules, so that I know in which module is the
+			// error.
+			if (method == null) {
+				System.out.println(cls);
+			}
+			// It's never null when it gets here, unless I was dumb and forgot to put the method in some class.
+			assert method != null;
+			try {
+				method.setAccessible(true);
+			} catch (final SecurityException ignored) {
+				// They're all public anyway.
+			}
+			is_supported_method = method;
 
-			supported = isElementSupported(cls);
+			supported = invokeIsSupported(is_supported_method);
 		}
 	}
 
@@ -172,6 +204,7 @@ public final class ModulesList {
 	public static final int ELEMENT_INSTANCE = 5;
 	public static final int ELEMENT_SUPPORTED = 6;
 	public static final int ELEMENT_DISABLE = 7;
+	public static final int ELEMENT_DEPENDENCIES = 8;
 	/**
 	 * <p>Get the value on the {@link #ELEMENTS_LIST} associated with the given key, for a specific element.</p>
 	 * <br>
@@ -191,6 +224,7 @@ public final class ModulesList {
 	 * <p>- {@link #ELEMENT_INSTANCE} --> for {@code key}: {@link ElementsObj#instance}</p>
 	 * <p>- {@link #ELEMENT_SUPPORTED} --> for {@code key}: {@link ElementsObj#supported}</p>
 	 * <p>- {@link #ELEMENT_DISABLE} --> for {@code key}: {@link ElementsObj#disable}</p>
+	 * <p>- {@link #ELEMENT_DEPENDENCIES} --> for {@code key}: {@link ElementsObj#dependencies}</p>
 	 * <p><u>---CONSTANTS---</u></p>
 	 *
 	 * @param element_index the index of the element
@@ -222,6 +256,9 @@ public final class ModulesList {
 			case ELEMENT_DISABLE: {
 				return ELEMENTS_LIST[element_index].disable;
 			}
+			case ELEMENT_DEPENDENCIES: {
+				return ELEMENTS_LIST[element_index].dependencies;
+			}
 		}
 
 		// Won't happen - always implement the constants on the switch.
@@ -332,11 +369,12 @@ public final class ModulesList {
 	 * @param element_index the index of the element to start
 	 */
 	public static void startElement(final int element_index) {
-		final Class<?> element_class = (Class<?>) getElementValue(element_index, ELEMENT_CLASS);
-		if (!isElementSupported(element_class)) {
+		if (!isElementSupported(element_index)) {
 			return;
 		}
 
+		final Class<?> element_class = (Class<?>) getElementValue(element_index, ELEMENT_CLASS);
+
 		switch (Math.abs((int) getElementValue(element_index, ELEMENT_TYPE1))) {
 			case (ModulesList.TYPE1_SERVICE_SEP): {
 				UtilsServices.startService(element_class, null, false, true);
@@ -390,6 +428,9 @@ public final class ModulesList {
 				if (ModulesList.isElementRunning(element_index)) {
 					((IModuleInst) getElementValue(element_index, ELEMENT_INSTANCE)).destroy();
 					ELEMENTS_LIST[element_index].instance = null;
+
+					// Let the Manager know right away in case it wasn't him stopping the element.
+					ModulesManager.reportElementStopped();
 				}
 
 				break;
@@ -413,25 +454,32 @@ public final class ModulesList {
 
 	/**
 	 * <p>Checks if the device running the app supports the element.</p>
+	 * <p>This calls the element's {@code isSupported()} method, which may check permissions and hardware - to only get
+	 * the last result, use {@link #ELEMENT_SUPPORTED}.</p>
 	 *
-	 * @param element_class the class of the element
+	 * @param element_index the index of the element
 	 * @return true if the element is supported by the device, false otherwise
 	 */
-	public static boolean isElementSupported(@NonNull final Class<?> element_class) {
-		// Below I mention only modules, but it's exactly the same for submodules.
-		// Had to use reflection. It's to behave like IModule, but with a static method that changes for every
-		// module and that can be called through the class, so that it doesn't matter if the module is a separate
-		// process services. Can't use an interface - use reflection and make sure all modules implement the method on
-		// them.
-		final Method method = UtilsReflection.getMethod(element_class, "isSupported");
-		// In case this throws an error while I'm messing with the modules, so that I know in which module is the error.
-		if (method == null) {
-			System.out.println(element_class);
+	public static boolean isElementSupported(final int element_index) {
+		return invokeIsSupported(ELEMENTS_LIST[element_index].is_supported_method);
+	}
+
+	/**
+	 * <p>Invokes an element's {@code isSupported()} method.</p>
+	 *
+	 * @param is_supported_method the method
+	 * @return the return value of the method
+	 */
+	private static boolean invokeIsSupported(@NonNull final Method is_supported_method) {
+		try {
+			return (boolean) is_supported_method.invoke(null);
+		} catch (final IllegalAccessException e) {
+			// Won't happen. It's always declared and implemented the same for all modules, so if it works with one, it
+			// works with the rest. If it does happen, don't just mark the module as unsupported - fail loudly.
+			throw new AssertionError(e);
+		} catch (final InvocationTargetException e) {
+			// An error inside the method itself - fail as if it had been called directly.
+			throw new RuntimeException(e.getCause());
 		}
-		// It's never null when it gets here, unless I was dumb and forgot to put the method in some class.
-		assert method != null;
-		// No need to check for errors invoking the method - there will be none. It's always declared and
-		// implemented the same for all modules, so if it works with one, it works with the rest.
-		return (boolean) UtilsReflection.invokeMethod(method, null).ret_var;
 	}
 }
@@ -0,0 +1,401 @@
+/*
+ * Copyright 2021-2024 Edw590
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.edw590.visor_c_a.Registry;
+
+import androidx.annotation.NonNull;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * <p>Java-side cache of the current values of the Registry, in front of the native one.</p>
+ * <br>
+ * <p>The values are read from the native Registry the first time they're used and then kept here, typed, so that
+ * reading them doesn't cross JNI nor box anything. Writes update the cache at once and are written to the native
+ * Registry in batches, {@link #FLUSH_DELAY} after the first one (repeated writes to the same key in that time are
+ * coalesced) - call {@link #flush()} before reading the native Registry directly.</p>
+ * <p>Only the current values are cached (the previous ones are always read from the native Registry). All writes to
+ * the Registry must go through here (they do, through {@link UtilsRegistry}) or the cache will be outdated.</p>
+ */
+final class RegistryCache {
+
+	/**
+	 * <p>Private empty constructor so the class can't be instantiated (utility class).</p>
+	 */
+	private RegistryCache() {
+	}
+
+	/** Time to wait after a write before writing the pending values to the native Registry. */
+	private static final long FLUSH_DELAY = 100;
+
+	/**
+	 * <p>The cached current value of a key.</p>
+	 */
+	static final class Entry {
+		@NonNull final String key;
+		/** One of the UtilsSWA.TYPE_* constants. */
+		@NonNull final String type;
+		/** The value, if the type is bool (1 or 0), int or long. */
+		volatile long num_value = 0;
+		/** The value, if the type is float or double. */
+		volatile double dbl_value = 0.0;
+		/** The value, if the type is String. */
+		@NonNull volatile String str_value = "";
+
+		/** Value of the update_if_same parameter to use for the pending write, if there's one. */
+		boolean pending_update_if_same = false;
+
+		/**
+		 * <p>Main class constructor.</p>
+		 *
+		 * @param key {@link #key}
+		 * @param type {@link #type}
+		 */
+		Entry(@NonNull final String key, @NonNull final String type) {
+			this.key = key;
+			this.type = type;
+		}
+	}
+
+	private static final Map<String, Entry> entries = new ConcurrentHashMap<>(128);
+	/** The entries with values not yet written to the native Registry (guarded by itself). */
+	private static final Map<String, Entry> pending = new HashMap<>(16);
+	private static final Map<String, CopyOnWriteArrayList<UtilsRegistry.ChangeListener>> listeners =
+			new ConcurrentHashMap<>(16);
+
+	private static Thread flush_thread = null;
+
+	/**
+	 * <p>Gets the cached entry of a key, reading it from the native Registry if it's not cached yet.</p>
+	 *
+	 * @param key the key
+	 *
+	 * @return the entry
+	 */
+	@NonNull
+	static Entry getEntry(@NonNull final String key) {
+		final Entry entry = entries.get(key);
+		if (entry != null) {
+			return entry;
+		}
+
+		synchronized (pending) {
+			Entry new_entry = entries.get(key);
+			if (new_entry == null) {
+				new_entry = loadEntry(key);
+				entries.put(key, new_entry);
+			}
+
+			return new_entry;
+		}
+	}
+
+	/**
+	 * <p>Reads an entry from the native Registry.</p>
+	 *
+	 * @param key the key
+	 *
+	 * @return the entry
+	 */
+	@NonNull
+	private static Entry loadEntry(@NonNull final String key) {
+		final UtilsSWA.Value value = UtilsSWA.UtilsSWA.getValueREGISTRY(key);
+		final Entry entry = new Entry(key, value.getType());
+		readValue(entry, value);
+
+		return entry;
+	}
+
+	/**
+	 * <p>Reads the current value of an entry from its native Value.</p>
+	 *
+	 * @param entry the entry
+	 * @param value the native Value of the entry
+	 */
+	private static void readValue(@NonNull final Entry entry, @NonNull final UtilsSWA.Value value) {
+		switch (entry.type) {
+			case UtilsSWA.UtilsSWA.TYPE_BOOL:
+				entry.num_value = value.getBool(true) ? 1 : 0;
+				break;
+			case UtilsSWA.UtilsSWA.TYPE_INT:
+				entry.num_value = value.getInt(true);
+				break;
+			case UtilsSWA.UtilsSWA.TYPE_LONG:
+				entry.num_value = value.getLong(true);
+				break;
+			case UtilsSWA.UtilsSWA.TYPE_FLOAT:
+				entry.dbl_value = value.getFloat(true);
+				break;
+			case UtilsSWA.UtilsSWA.TYPE_DOUBLE:
+				entry.dbl_value = value.getDouble(true);
+				break;
+			case UtilsSWA.UtilsSWA.TYPE_STRING:
+				entry.str_value = value.getString(true);
+				break;
+			default:
+				throw new IllegalArgumentException("The value type is not supported: " + entry.type);
+		}
+	}
+
+	/**
+	 * <p>Sets the numeric value of an entry of type bool, int or long.</p>
+	 *
+	 * @param entry the entry
+	 * @param num_value the new value (1 or 0 for booleans)
+	 * @param update_if_same same as in {@link UtilsRegistry#setData(String, Object, boolean)}
+	 *
+	 * @return true if the value was updated, false otherwise
+	 */
+	static boolean setNum(@NonNull final Entry entry, final long num_value, final boolean update_if_same) {
+		final boolean changed;
+		synchronized (pending) {
+			changed = entry.num_value != num_value;
+			if (!changed && !update_if_same) {
+				return false;
+			}
+			entry.num_value = num_value;
+			addPending(entry, update_if_same);
+		}
+		if (changed) {
+			notifyListeners(entry.key);
+		}
+
+		return true;
+	}
+
+	/**
+	 * <p>Same as {@link #setNum(Entry, long, boolean)} but for entries of type float or double.</p>
+	 */
+	static boolean setDbl(@NonNull final Entry entry, final double dbl_value, final boolean update_if_same) {
+		final boolean changed;
+		synchronized (pending) {
+			changed = Double.compare(entry.dbl_value, dbl_value) != 0;
+			if (!changed && !update_if_same) {
+				return false;
+			}
+			entry.dbl_value = dbl_value;
+			addPending(entry, update_if_same);
+		}
+		if (changed) {
+			notifyListeners(entry.key);
+		}
+
+		return true;
+	}
+
+	/**
+	 * <p>Same as {@link #setNum(Entry, long, boolean)} but for entries of type String.</p>
+	 */
+	static boolean setStr(@NonNull final Entry entry, @NonNull final String str_value, final boolean update_if_same) {
+		final boolean changed;
+		synchronized (pending) {
+			changed = !entry.str_value.equals(str_value);
+			if (!changed && !update_if_same) {
+				return false;
+			}
+			entry.str_value = str_value;
+			addPending(entry, update_if_same);
+		}
+		if (changed) {
+			notifyListeners(entry.key);
+		}
+
+		return true;
+	}
+
+	/**
+	 * <p>Sets the value of an entry from its String form, converting it on the native Registry (which is written to
+	 * immediately).</p>
+	 *
+	 * @param entry the entry
+	 * @param data the value in String form
+	 * @param update_if_same same as in {@link UtilsRegistry#setData(String, Object, boolean)}
+	 *
+	 * @return true if the value was updated, false otherwise
+	 */
+	static boolean setRaw(@NonNull final Entry entry, @NonNull final String data, final boolean update_if_same) {
+		final boolean updated;
+		synchronized (pending) {
+			flushEntry(entry);
+			final UtilsSWA.Value value = UtilsSWA.UtilsSWA.getValueREGISTRY(entry.key);
+			updated = value.setData(data, update_if_same);
+			if (updated) {
+				readValue(entry, value);
+			}
+		}
+		if (updated) {
+			notifyListeners(entry.key);
+		}
+
+		return updated;
+	}
+
+	/**
+	 * <p>Writes all the pending values to the native Registry.</p>
+	 */
+	static void flush() {
+		synchronized (pending) {
+			final Iterator<Entry> iterator = pending.values().iterator();
+			while (iterator.hasNext()) {
+				final Entry entry = iterator.next();
+				iterator.remove();
+				writeEntry(entry);
+			}
+		}
+	}
+
+	/**
+	 * <p>Writes an entry to the native Registry if it's pending.</p>
+	 * <p>Must be called with the {@link #pending} lock.</p>
+	 *
+	 * @param entry the entry
+	 */
+	private static void flushEntry(@NonNull final Entry entry) {
+		if (pending.remove(entry.key) != null) {
+			writeEntry(entry);
+		}
+	}
+
+	/**
+	 * <p>Writes the value of an entry to the native Registry.</p>
+	 * <p>Must be called with the {@link #pending} lock.</p>
+	 *
+	 * @param entry the entry
+	 */
+	private static void writeEntry(@NonNull final Entry entry) {
+		final UtilsSWA.Value value = UtilsSWA.UtilsSWA.getValueREGISTRY(entry.key);
+		switch (entry.type) {
+			case UtilsSWA.UtilsSWA.TYPE_BOOL:
+				value.setBool(entry.num_value != 0, entry.pending_update_if_same);
+				break;
+			case UtilsSWA.UtilsSWA.TYPE_INT:
+				value.setInt((int) entry.num_value, entry.pending_update_if_same);
+				break;
+			case UtilsSWA.UtilsSWA.TYPE_LONG:
+				value.setLong(entry.num_value, entry.pending_update_if_same);
+				break;
+			case UtilsSWA.UtilsSWA.TYPE_FLOAT:
+				value.setFloat((float) entry.dbl_value, entry.pending_update_if_same);
+				break;
+			case UtilsSWA.UtilsSWA.TYPE_DOUBLE:
+				value.setDouble(entry.dbl_value, entry.pending_update_if_same);
+				break;
+			case UtilsSWA.UtilsSWA.TYPE_STRING:
+				value.setString(entry.str_value, entry.pending_update_if_same);
+				break;
+		}
+		entry.pending_update_if_same = false;
+	}
+
+	/**
+	 * <p>Marks an entry as pending to be written to the native Registry and makes sure the flush thread will write
+	 * it.</p>
+	 * <p>Must be called with the {@link #pending} lock.</p>
+	 *
+	 * @param entry the entry
+	 * @param update_if_same same as in {@link UtilsRegistry#setData(String, Object, boolean)}
+	 */
+	private static void addPending(@NonNull final Entry entry, final boolean update_if_same) {
+		// If any of the coalesced writes was to update even if the same, the native one must be too (it changes the
+		// update time).
+		entry.pending_update_if_same |= update_if_same;
+		pending.put(entry.key, entry);
+
+		if (flush_thread == null || !flush_thread.isAlive()) {
+			flush_thread = new Thread(RegistryCache::flushLoop, "RegistryCache flush");
+			flush_thread.setDaemon(true);
+			flush_thread.start();
+		} else {
+			pending.notifyAll();
+		}
+	}
+
+	/**
+	 * <p>Loop of the {@link #flush_thread}: waits for pending values and writes them {@link #FLUSH_DELAY} after.</p>
+	 */
+	private static void flushLoop() {
+		while (true) {
+			try {
+				synchronized (pending) {
+					while (pending.isEmpty()) {
+						pending.wait();
+					}
+				}
+				Thread.sleep(FLUSH_DELAY);
+			} catch (final InterruptedException ignored) {
+				flush();
+
+				return;
+			}
+
+			flush();
+		}
+	}
+
+	/**
+	 * <p>Adds a listener for changes of the value of a key.</p>
+	 *
+	 * @param key the key
+	 * @param listener the listener
+	 */
+	static void addListener(@NonNull final String key, @NonNull final UtilsRegistry.ChangeListener listener) {
+		CopyOnWriteArrayList<UtilsRegistry.ChangeListener> key_listeners = listeners.get(key);
+		if (key_listeners == null) {
+			final CopyOnWriteArrayList<UtilsRegistry.ChangeListener> new_listeners = new CopyOnWriteArrayList<>();
+			key_listeners = listeners.putIfAbsent(key, new_listeners);
+			if (key_listeners == null) {
+				key_listeners = new_listeners;
+			}
+		}
+		key_listeners.addIfAbsent(listener);
+	}
+
+	/**
+	 * <p>Removes a listener added with {@link #addListener(String, UtilsRegistry.ChangeListener)}.</p>
+	 *
+	 * @param key the key
+	 * @param listener the listener
+	 */
+	static void removeListener(@NonNull final String key, @NonNull final UtilsRegistry.ChangeListener listener) {
+		final CopyOnWriteArrayList<UtilsRegistry.ChangeListener> key_listeners = listeners.get(key);
+		if (key_listeners != null) {
+			key_listeners.remove(listener);
+		}
+	}
+
+	/**
+	 * <p>Calls the listeners of a key.</p>
+	 *
+	 * @param key the key
+	 */
+	private static void notifyListeners(@NonNull final String key) {
+		final CopyOnWriteArrayList<UtilsRegistry.ChangeListener> key_listeners = listeners.get(key);
+		if (key_listeners != null) {
+			for (final UtilsRegistry.ChangeListener listener : key_listeners) {
+				listener.onChanged(key);
+			}
+		}
+	}
+}
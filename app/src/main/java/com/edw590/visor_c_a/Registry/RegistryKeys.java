@@ -84,10 +84,44 @@ public final class RegistryKeys {
 	// Speech recognizers
 	/** Type: boolean. */
 	public static final String K_COMMANDS_RECOG_AVAILABLE = "COMMANDS_RECOG_AVAILABLE";
+	/** Type: long. */
+	public static final String K_COMMANDS_RECOG_WAKE_TO_LISTEN_MS = "COMMANDS_RECOG_WAKE_TO_LISTEN_MS";
 	/** Type: boolean. */
 	public static final String K_POCKETSPHINX_RECOG_AVAILABLE = "POCKETSPHINX_RECOG_AVAILABLE";
 	/** Type: boolean. */
 	public static final String K_POCKETSPHINX_REQUEST_STOP = "POCKETSPHINX_RECOG_STOPPED";
+	/** Type: long. */
+	public static final String K_POCKETSPHINX_DECODED_FRAMES = "POCKETSPHINX_DECODED_FRAMES";
+	/** Type: long. */
+	public static final String K_POCKETSPHINX_GATED_FRAMES = "POCKETSPHINX_GATED_FRAMES";
+	/** Type: long. */
+	public static final String K_POCKETSPHINX_DROPPED_SAMPLES = "POCKETSPHINX_DROPPED_SAMPLES";
+
+	// Commands Executor
+	/** Type: long. */
+	public static final String K_CMDS_PARSE_TIME_NS = "CMDS_PARSE_TIME_NS";
+	/** Type: long. */
+	public static final String K_ACD_CACHE_HITS = "ACD_CACHE_HITS";
+	/** Type: long. */
+	public static final String K_ACD_CACHE_MISSES = "ACD_CACHE_MISSES";
+	/** Type: long. */
+	public static final String K_ACD_CACHE_SAVED_TIME_MS = "ACD_CACHE_SAVED_TIME_MS";
+
+	// Speech
+	/** Type: long. */
+	public static final String K_GPT_FIRST_SENTENCE_LATENCY_MS = "GPT_FIRST_SENTENCE_LATENCY_MS";
+
+	// Tasks list
+	/** Type: int. */
+	public static final String K_TASKS_LIST_SIZE = "TASKS_LIST_SIZE";
+	/** Type: int. */
+	public static final String K_TASKS_QUEUE_SIZE = "TASKS_QUEUE_SIZE";
+
+	// Modules Manager
+	/** Type: long. */
+	public static final String K_MODULES_STARTUP_TIME_MS = "MODULES_STARTUP_TIME_MS";
+	/** Type: String. */
+	public static final String K_MODULES_STARTUP_TIMES = "MODULES_STARTUP_TIMES";
 
 	/////////////////////////////////////////////////////////////////////////////
 	// Manual values
@@ -106,6 +140,12 @@ public final class RegistryKeys {
 	/** Type: boolean. */
 	public static final String K_SPEECH_ALWAYS_NOTIFY = SETTINGS_PREFIX + "SPEECH_ALWAYS_NOTIFY";
 
+	// Speech recognizers
+	/** Type: int. */
+	public static final String K_POCKETSPHINX_VAD_MIN_AMPLITUDE = SETTINGS_PREFIX + "POCKETSPHINX_VAD_MIN_AMPLITUDE";
+	/** Type: int. */
+	public static final String K_POCKETSPHINX_VAD_MAX_ZCR = SETTINGS_PREFIX + "POCKETSPHINX_VAD_MAX_ZCR";
+
 	// Note: if the value is not being updated, remove it from the list
 
 	/**
@@ -162,10 +202,42 @@ public final class RegistryKeys {
 		// Speech recognizers
 		UtilsSWA.registerValueREGISTRY(K_COMMANDS_RECOG_AVAILABLE, "Speech recognition - Commands available",
 				"Is the commands speech recognizer available?", UtilsSWA.TYPE_BOOL, "", true);
+		UtilsSWA.registerValueREGISTRY(K_COMMANDS_RECOG_WAKE_TO_LISTEN_MS, "Speech recognition - Commands wake latency",
+				"Milliseconds from the last commands recognition request to the recognizer being ready to listen",
+				UtilsSWA.TYPE_LONG, "", true);
 		UtilsSWA.registerValueREGISTRY(K_POCKETSPHINX_RECOG_AVAILABLE, "Speech recognition - Hotword available",
 				"Is the hotword speech recognizer (PocketSphinx) available?", UtilsSWA.TYPE_BOOL, "", true);
 		UtilsSWA.registerValueREGISTRY(K_POCKETSPHINX_REQUEST_STOP, "Speech recognition - Hotword requested to stop",
 				"Was the hotword speech recognizer requested to stop?", UtilsSWA.TYPE_BOOL, "", true);
+		UtilsSWA.registerValueREGISTRY(K_POCKETSPHINX_DECODED_FRAMES, "Speech recognition - Hotword decoded frames",
+				"Number of audio frames with voice activity given to the hotword decoder", UtilsSWA.TYPE_LONG, "", true);
+		UtilsSWA.registerValueREGISTRY(K_POCKETSPHINX_GATED_FRAMES, "Speech recognition - Hotword skipped frames",
+				"Number of audio frames without voice activity not given to the hotword decoder", UtilsSWA.TYPE_LONG, "",
+				true);
+		UtilsSWA.registerValueREGISTRY(K_POCKETSPHINX_DROPPED_SAMPLES, "Speech recognition - Hotword dropped samples",
+				"Number of audio samples dropped because the hotword decoder fell behind the capture",
+				UtilsSWA.TYPE_LONG, "", true);
+
+		// Commands Executor
+		UtilsSWA.registerValueREGISTRY(K_CMDS_PARSE_TIME_NS, "Commands Executor - Last parse time (ns)",
+				"Time taken to parse the last commands detection output (in nanoseconds)", UtilsSWA.TYPE_LONG, "", true);
+		UtilsSWA.registerValueREGISTRY(K_ACD_CACHE_HITS, "Commands Executor - Detection cache hits",
+				"Number of commands detections answered by the cache", UtilsSWA.TYPE_LONG, "", true);
+		UtilsSWA.registerValueREGISTRY(K_ACD_CACHE_MISSES, "Commands Executor - Detection cache misses",
+				"Number of commands detections that had to go to the ACD", UtilsSWA.TYPE_LONG, "", true);
+		UtilsSWA.registerValueREGISTRY(K_ACD_CACHE_SAVED_TIME_MS, "Commands Executor - Detection time saved (ms)",
+				"Estimated commands detection time saved by the cache (in milliseconds)", UtilsSWA.TYPE_LONG, "", true);
+		UtilsSWA.registerValueREGISTRY(K_GPT_FIRST_SENTENCE_LATENCY_MS, "Speech - GPT first sentence latency (ms)",
+				"Time from sending the last text to the GPT until the first sentence of the answer was ready to be " +
+						"spoken (in milliseconds)", UtilsSWA.TYPE_LONG, "", true);
+		UtilsSWA.registerValueREGISTRY(K_TASKS_LIST_SIZE, "Tasks list - Tasks",
+				"Number of tasks waiting to be executed (like after a speech)", UtilsSWA.TYPE_INT, "", true);
+		UtilsSWA.registerValueREGISTRY(K_TASKS_QUEUE_SIZE, "Tasks list - Queued tasks",
+				"Number of tasks waiting for a free thread to run on, on the last run", UtilsSWA.TYPE_INT, "", true);
+		UtilsSWA.registerValueREGISTRY(K_MODULES_STARTUP_TIME_MS, "Modules Manager - Startup time (ms)",
+				"Time taken to start all the modules on the last startup (in milliseconds)", UtilsSWA.TYPE_LONG, "", true);
+		UtilsSWA.registerValueREGISTRY(K_MODULES_STARTUP_TIMES, "Modules Manager - Modules startup times",
+				"Time taken to start each module on the last startup", UtilsSWA.TYPE_STRING, "", true);
 
 		/////////////////////////////////////////////
 		// Manual values
@@ -185,6 +257,14 @@ public final class RegistryKeys {
 		UtilsSWA.registerValueREGISTRY(K_SPEECH_ALWAYS_NOTIFY, "Speech - Always notify",
 				"Always notify speeches", UtilsSWA.TYPE_BOOL, "false", false);
 
+		// Speech recognizers
+		UtilsSWA.registerValueREGISTRY(K_POCKETSPHINX_VAD_MIN_AMPLITUDE, "Hotword - Minimum voice amplitude",
+				"Minimum average amplitude (0 to 32767) of the audio to be decoded by the hotword recognizer - 0 to " +
+						"decode all the audio", UtilsSWA.TYPE_INT, "200", false);
+		UtilsSWA.registerValueREGISTRY(K_POCKETSPHINX_VAD_MAX_ZCR, "Hotword - Maximum voice zero crossings",
+				"Maximum percentage of zero crossings of the audio to be decoded by the hotword recognizer (above " +
+						"that it's more like noise than voice)", UtilsSWA.TYPE_INT, "50", false);
+
 
 		/////////////////////////////////////////////
 		// Clean the registry
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2021-2024 Edw590
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.edw590.visor_c_a.Registry;
+
+import android.os.Handler;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>Typed observer of a Registry key, to react to changes of its value instead of polling it.</p>
+ * <br>
+ * <p>The callback is called on the thread of the given {@link Handler}, with the current value of the key. Changes
+ * made before a pending call runs are coalesced into that call, so not every intermediate value is delivered (and the
+ * value may be the same as on the previous call, if it changed back in the meantime).</p>
+ * <p>Only changes made in the same process are observed (each process has its own Registry).</p>
+ */
+public final class RegistryObserver implements UtilsRegistry.ChangeListener {
+
+	/** Callback of a boolean key. */
+	public interface BoolCallback {
+		void onChanged(boolean value);
+	}
+
+	/** Callback of an int key. */
+	public interface IntCallback {
+		void onChanged(int value);
+	}
+
+	/** Callback of a long key. */
+	public interface LongCallback {
+		void onChanged(long value);
+	}
+
+	/** Callback of a String key. */
+	public interface StringCallback {
+		void onChanged(@NonNull String value);
+	}
+
+	@NonNull private final String key;
+	@NonNull private final Handler handler;
+	/** Calls the typed callback with the current value of the key. */
+	@NonNull private final Runnable delivery;
+	/** True if a delivery is already posted to the handler. */
+	private final AtomicBoolean delivery_posted = new AtomicBoolean(false);
+
+	private final Runnable delivery_runnable = new Runnable() {
+		@Override
+		public void run() {
+			// Reset before delivering so that a change made meanwhile posts a new delivery.
+			delivery_posted.set(false);
+			delivery.run();
+		}
+	};
+
+	/**
+	 * <p>Main class constructor.</p>
+	 *
+	 * @param key {@link #key}
+	 * @param handler {@link #handler}
+	 * @param delivery {@link #delivery}
+	 */
+	private RegistryObserver(@NonNull final String key, @NonNull final Handler handler,
+							 @NonNull final Runnable delivery) {
+		this.key = key;
+		this.handler = handler;
+		this.delivery = delivery;
+
+		UtilsRegistry.addChangeListener(key, this);
+	}
+
+	/**
+	 * <p>Observes a boolean key.</p>
+	 *
+	 * @param key the key
+	 * @param handler the handler of the thread to call the callback on
+	 * @param callback the callback
+	 *
+	 * @return the observer, to {@link #unregister()} it when it's no longer needed
+	 */
+	@NonNull
+	public static RegistryObserver observeBool(@NonNull final String key, @NonNull final Handler handler,
+											   @NonNull final BoolCallback callback) {
+		return new RegistryObserver(key, handler, () -> callback.onChanged(UtilsRegistry.getBool(key)));
+	}
+
+	/**
+	 * <p>Same as {@link #observeBool(String, Handler, BoolCallback)} but for an int key.</p>
+	 */
+	@NonNull
+	public static RegistryObserver observeInt(@NonNull final String key, @NonNull final Handler handler,
+											  @NonNull final IntCallback callback) {
+		return new RegistryObserver(key, handler, () -> callback.onChanged(UtilsRegistry.getInt(key)));
+	}
+
+	/**
+	 * <p>Same as {@link #observeBool(String, Handler, BoolCallback)} but for a long key.</p>
+	 */
+	@NonNull
+	public static RegistryObserver observeLong(@NonNull final String key, @NonNull final Handler handler,
+											   @NonNull final LongCallback callback) {
+		return new RegistryObserver(key, handler, () -> callback.onChanged(UtilsRegistry.getLong(key)));
+	}
+
+	/**
+	 * <p>Same as {@link #observeBool(String, Handler, BoolCallback)} but for a String key.</p>
+	 */
+	@NonNull
+	public static RegistryObserver observeString(@NonNull final String key, @NonNull final Handler handler,
+												 @NonNull final StringCallback callback) {
+		return new RegistryObserver(key, handler, () -> callback.onChanged(UtilsRegistry.getString(key)));
+	}
+
+	/**
+	 * <p>Stops observing the key. A delivery already posted is cancelled.</p>
+	 */
+	public void unregister() {
+		UtilsRegistry.removeChangeListener(key, this);
+		handler.removeCallbacks(delivery_runnable);
+	}
+
+	@Override
+	public void onChanged(@NonNull final String changed_key) {
+		if (delivery_posted.compareAndSet(false, true) && !handler.post(delivery_runnable)) {
+			// The handler's thread is gone.
+			delivery_posted.set(false);
+		}
+	}
+}
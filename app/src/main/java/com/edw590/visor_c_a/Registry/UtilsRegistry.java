@@ -34,6 +34,18 @@ public final class UtilsRegistry {
 	private UtilsRegistry() {
 	}
 
+	/**
+	 * <p>Listener of changes of the value of a key.</p>
+	 */
+	public interface ChangeListener {
+		/**
+		 * <p>Called on the thread that changed the value, right after it changed.</p>
+		 *
+		 * @param key the key whose value changed
+		 */
+		void onChanged(@NonNull String key);
+	}
+
 	/**
 	 * <p>Update the value of the given key.</p>
 	 *
@@ -42,21 +54,25 @@ public final class UtilsRegistry {
 	 * @param update_if_same if the value should be updated even if it's the same as the current one
 	 */
 	public static boolean setData(@NonNull final String key, @NonNull final Object new_value, final boolean update_if_same) {
-		UtilsSWA.Value value = UtilsSWA.UtilsSWA.getValueREGISTRY(key);
+		final RegistryCache.Entry entry = RegistryCache.getEntry(key);
 		if (new_value instanceof Boolean) {
-			return value.setBool((boolean) new_value, update_if_same);
+			return RegistryCache.setNum(entry, (boolean) new_value ? 1 : 0, update_if_same);
 		} else if (new_value instanceof Integer) {
-			return value.setInt((int) new_value, update_if_same);
+			return RegistryCache.setNum(entry, (int) new_value, update_if_same);
 		} else if (new_value instanceof String) {
 			// In case new_value is provided in String form with a number inside or boolean, just use setData() instead
 			// of setString() to force the update.
-			return value.setData((String) new_value, update_if_same);
+			if (entry.type.equals(UtilsSWA.UtilsSWA.TYPE_STRING)) {
+				return RegistryCache.setStr(entry, (String) new_value, update_if_same);
+			}
+
+			return RegistryCache.setRaw(entry, (String) new_value, update_if_same);
 		} else if (new_value instanceof Long) {
-			return value.setLong((long) new_value, update_if_same);
+			return RegistryCache.setNum(entry, (long) new_value, update_if_same);
 		} else if (new_value instanceof Float) {
-			return value.setFloat((float) new_value, update_if_same);
+			return RegistryCache.setDbl(entry, (float) new_value, update_if_same);
 		} else if (new_value instanceof Double) {
-			return value.setDouble((double) new_value, update_if_same);
+			return RegistryCache.setDbl(entry, (double) new_value, update_if_same);
 		} else {
 			throw new IllegalArgumentException("The new value must be a boolean, int, String, long, float or double.");
 		}
@@ -64,6 +80,8 @@ public final class UtilsRegistry {
 
 	/**
 	 * <p>Returns the value for the given key, in the appropriate type.</p>
+	 * <p>Prefer the typed getters ({@link #getBool(String)} and the others) when the type is known - they don't box
+	 * the value.</p>
 	 *
 	 * @param key the key associated with the wanted value
 	 * @param curr_data if the current data is wanted or the previous data
@@ -72,25 +90,121 @@ public final class UtilsRegistry {
 	 */
 	@NonNull
 	public static Object getData(@NonNull final String key, final boolean curr_data) {
-		UtilsSWA.Value value = UtilsSWA.UtilsSWA.getValueREGISTRY(key);
-		switch (value.getType()) {
+		if (!curr_data) {
+			// Only the current data is cached.
+			RegistryCache.flush();
+			UtilsSWA.Value value = UtilsSWA.UtilsSWA.getValueREGISTRY(key);
+			switch (value.getType()) {
+				case UtilsSWA.UtilsSWA.TYPE_BOOL:
+					return value.getBool(false);
+				case UtilsSWA.UtilsSWA.TYPE_INT:
+					return Math.toIntExact(value.getInt(false));
+				case UtilsSWA.UtilsSWA.TYPE_STRING:
+					return value.getString(false);
+				case UtilsSWA.UtilsSWA.TYPE_LONG:
+					return value.getLong(false);
+				case UtilsSWA.UtilsSWA.TYPE_FLOAT:
+					return value.getFloat(false);
+				case UtilsSWA.UtilsSWA.TYPE_DOUBLE:
+					return value.getDouble(false);
+				default:
+					throw new IllegalArgumentException("The value type is not supported: " + value.getType());
+			}
+		}
+
+		final RegistryCache.Entry entry = RegistryCache.getEntry(key);
+		switch (entry.type) {
 			case UtilsSWA.UtilsSWA.TYPE_BOOL:
-				return value.getBool(curr_data);
+				return entry.num_value != 0;
 			case UtilsSWA.UtilsSWA.TYPE_INT:
-				return Math.toIntExact(value.getInt(curr_data));
+				return (int) entry.num_value;
 			case UtilsSWA.UtilsSWA.TYPE_STRING:
-				return value.getString(curr_data);
+				return entry.str_value;
 			case UtilsSWA.UtilsSWA.TYPE_LONG:
-				return value.getLong(curr_data);
+				return entry.num_value;
 			case UtilsSWA.UtilsSWA.TYPE_FLOAT:
-				return value.getFloat(curr_data);
+				return (float) entry.dbl_value;
 			case UtilsSWA.UtilsSWA.TYPE_DOUBLE:
-				return value.getDouble(curr_data);
+				return entry.dbl_value;
 			default:
-				throw new IllegalArgumentException("The value type is not supported: " + value.getType());
+				throw new IllegalArgumentException("The value type is not supported: " + entry.type);
 		}
 	}
 
+	/**
+	 * <p>Returns the current value of the given boolean key.</p>
+	 *
+	 * @param key the key
+	 *
+	 * @return the value
+	 */
+	public static boolean getBool(@NonNull final String key) {
+		return RegistryCache.getEntry(key).num_value != 0;
+	}
+
+	/**
+	 * <p>Returns the current value of the given int key.</p>
+	 *
+	 * @param key the key
+	 *
+	 * @return the value
+	 */
+	public static int getInt(@NonNull final String key) {
+		return (int) RegistryCache.getEntry(key).num_value;
+	}
+
+	/**
+	 * <p>Returns the current value of the given long key.</p>
+	 *
+	 * @param key the key
+	 *
+	 * @return the value
+	 */
+	public static long getLong(@NonNull final String key) {
+		return RegistryCache.getEntry(key).num_value;
+	}
+
+	/**
+	 * <p>Returns the current value of the given String key.</p>
+	 *
+	 * @param key the key
+	 *
+	 * @return the value
+	 */
+	@NonNull
+	public static String getString(@NonNull final String key) {
+		return RegistryCache.getEntry(key).str_value;
+	}
+
+	/**
+	 * <p>Adds a listener for changes of the value of the given key.</p>
+	 * <p>Updates that keep the same value don't call the listener.</p>
+	 *
+	 * @param key the key
+	 * @param listener the listener
+	 */
+	public static void addChangeListener(@NonNull final String key, @NonNull final ChangeListener listener) {
+		RegistryCache.addListener(key, listener);
+	}
+
+	/**
+	 * <p>Removes a listener added with {@link #addChangeListener(String, ChangeListener)}.</p>
+	 *
+	 * @param key the key
+	 * @param listener the listener
+	 */
+	public static void removeChangeListener(@NonNull final String key, @NonNull final ChangeListener listener) {
+		RegistryCache.removeListener(key, listener);
+	}
+
+	/**
+	 * <p>Writes the pending changes to the native Registry.</p>
+	 * <p>Call this before reading the Registry directly from UtilsSWA.</p>
+	 */
+	public static void flush() {
+		RegistryCache.flush();
+	}
+
 	/**
 	 * <p>Get all the values from the Registry.</p>
 	 *
@@ -98,6 +212,7 @@ public final class UtilsRegistry {
 	 */
 	@NonNull
 	public static UtilsSWA.Value[] getValues() {
+		RegistryCache.flush();
 		String[] keys = UtilsSWA.UtilsSWA.getKeysREGISTRY().split("\\|");
 		UtilsSWA.Value[] values = new UtilsSWA.Value[keys.length];
 		for (int i = 0; i < keys.length; ++i) {
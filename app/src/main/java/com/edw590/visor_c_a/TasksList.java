@@ -21,24 +21,69 @@
 
 package com.edw590.visor_c_a;
 
+import android.os.SystemClock;
+
 import androidx.annotation.NonNull;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
+import com.edw590.visor_c_a.Registry.RegistryKeys;
+import com.edw590.visor_c_a.Registry.UtilsRegistry;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * <p>Class that stores all {@link Task}s to be executed by VISOR.</p>
- * <p>All in here is static so the runnables will remain here after added for as long as the app process lives.</p>
+ * <p>All in here is static so the runnables will remain here after added for as long as the app process lives - or
+ * until {@link #TASK_TTL} passes, in which case they're considered orphaned (the speech or whatever else that would
+ * remove them was dropped) and are removed.</p>
  * <p>This class is thread-safe.</p>
  */
 public final class TasksList {
 
-	// By default, capacity of 10.
-	static final List<Task> tasks_list = new ArrayList<>(10);
+	/**
+	 * <p>Private empty constructor so the class can't be instantiated (utility class).</p>
+	 */
+	private TasksList() {
+	}
+
+	/** Time after which a task that was not removed is considered orphaned and is removed from the list. */
+	private static final long TASK_TTL = 6 * 60 * 60 * 1000; // 6 hours
+	/** Minimum interval between checks for orphaned tasks. */
+	private static final long EVICTION_INTERVAL = 60 * 1000;
+
+	static final Map<Integer, Task> tasks_list = new ConcurrentHashMap<>(16);
+	/** The next task ID to give (always non-negative). */
+	private static final AtomicInteger next_task_id = new AtomicInteger(0);
+	/** Last time the list was checked for orphaned tasks, in {@link SystemClock#elapsedRealtime()} time. */
+	private static final AtomicLong last_eviction = new AtomicLong(0);
+
+	/** Maximum number of tasks running at the same time (the others wait in a queue). */
+	private static final int MAX_RUNNING_TASKS = 4;
+	/** Shared executor of the tasks run with {@link #runTask(int)} - its threads die after a minute without tasks. */
+	private static final ThreadPoolExecutor tasks_executor = new ThreadPoolExecutor(MAX_RUNNING_TASKS,
+			MAX_RUNNING_TASKS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new ThreadFactory() {
+		private final AtomicInteger thread_num = new AtomicInteger(0);
+
+		@Override
+		public Thread newThread(@NonNull final Runnable runnable) {
+			return new Thread(runnable, "TasksList-" + thread_num.incrementAndGet());
+		}
+	});
+	static {
+		tasks_executor.allowCoreThreadTimeOut(true);
+	}
 
 	/** Runnable that does nothing at all. */
 	private static final Runnable empty_runnable = new Runnable() {@Override public void run() {}};
+	/** Task with the {@link #empty_runnable}. */
+	private static final Task empty_task = new Task(empty_runnable, -1);
 
 	/** A postponed task to be executed VISOR. */
 	public static final class Task {
@@ -48,27 +93,21 @@ public final class TasksList {
 		final int task_id;
 		/** The milliseconds of when the task was registered on the list. */
 		public final long registered_when;
+		/** Same as {@link #registered_when} but in {@link SystemClock#elapsedRealtime()} time. */
+		final long registered_elapsed;
 
 		/**
 		 * <p>Main class constructor.</p>
 		 *
 		 * @param runnable {@link #runnable}
+		 * @param task_id {@link #task_id}
 		 */
-		Task(@NonNull final Runnable runnable) {
+		Task(@NonNull final Runnable runnable, final int task_id) {
 			this.runnable = runnable;
-
-			final Random random = new Random();
-			int task_id_tmp = Math.abs(random.nextInt());
-			final int tasks_list_size = tasks_list.size();
-			for (int i = 0; i < tasks_list_size; ++i) {
-				if (tasks_list.get(i).task_id == task_id_tmp) {
-					task_id_tmp = Math.abs(random.nextInt());
-					i = -1;
-				}
-			}
-			task_id = task_id_tmp;
+			this.task_id = task_id;
 
 			registered_when = System.currentTimeMillis();
+			registered_elapsed = SystemClock.elapsedRealtime();
 		}
 
 		/**
@@ -86,11 +125,16 @@ public final class TasksList {
 	 *
 	 * @return {@link Task#task_id}
 	 */
-	public static synchronized int addTask(@NonNull final Runnable runnable) {
-		final Task task = new Task(runnable);
-		tasks_list.add(task);
+	public static int addTask(@NonNull final Runnable runnable) {
+		evictOrphanedTasks();
+
+		// Monotonic, so no need to check for collisions (it would take more than 2 billion tasks to wrap around, and
+		// way before that the old ones would be evicted).
+		final int task_id = next_task_id.getAndIncrement() & Integer.MAX_VALUE;
+		tasks_list.put(task_id, new Task(runnable, task_id));
+		updateGauge();
 
-		return task.task_id;
+		return task_id;
 	}
 
 	/**
@@ -99,24 +143,71 @@ public final class TasksList {
 	 * @param task_id the {@link Task#task_id} associated with the task
 	 *
 	 * @return the task, or a task with an {@link #empty_runnable} in case the given ID is negative (useful to call run()
-	 * on with no effect at all) or in case it doesn't exist on the list (which will never happen - why give a wrong ID)
+	 * on with no effect at all) or in case it doesn't exist on the list (an orphaned task that was already removed, for
+	 * example)
 	 */
 	@NonNull
-	public static synchronized Task removeTask(final int task_id) {
+	public static Task removeTask(final int task_id) {
 		if (task_id >= 0) {
-			final int runnables_size = tasks_list.size();
-			for (int i = 0; i < runnables_size; ++i) {
-				final Task task = tasks_list.get(i);
-				if (task.task_id == task_id) {
-					// Don't execute and remove right here. If the task is executed here, not sure if the function remains
-					// active and then keeps the entire class locked (synchronized method).
-					tasks_list.remove(i);
-
-					return task;
-				}
+			final Task task = tasks_list.remove(task_id);
+			if (task != null) {
+				updateGauge();
+
+				return task;
+			}
+		}
+
+		return empty_task;
+	}
+
+	/**
+	 * <p>Removes a task from the list and runs it on a shared thread, if it exists.</p>
+	 *
+	 * @param task_id same as in {@link #removeTask(int)}
+	 */
+	public static void runTask(final int task_id) {
+		final Task task = removeTask(task_id);
+		if (task == empty_task) {
+			// Nothing to run - most speeches have no task.
+			return;
+		}
+
+		tasks_executor.execute(task.runnable);
+		UtilsRegistry.setData(RegistryKeys.K_TASKS_QUEUE_SIZE, tasks_executor.getQueue().size(), false);
+	}
+
+	/**
+	 * <p>Gets the number of tasks on the list.</p>
+	 *
+	 * @return the number of tasks waiting to be removed
+	 */
+	public static int getLiveTasksNum() {
+		return tasks_list.size();
+	}
+
+	/**
+	 * <p>Removes from the list the tasks older than {@link #TASK_TTL}, at most once every
+	 * {@link #EVICTION_INTERVAL}.</p>
+	 */
+	private static void evictOrphanedTasks() {
+		final long now = SystemClock.elapsedRealtime();
+		final long last = last_eviction.get();
+		if (now - last < EVICTION_INTERVAL || !last_eviction.compareAndSet(last, now)) {
+			return;
+		}
+
+		final Iterator<Task> iterator = tasks_list.values().iterator();
+		while (iterator.hasNext()) {
+			if (now - iterator.next().registered_elapsed > TASK_TTL) {
+				iterator.remove();
 			}
 		}
+	}
 
-		return new Task(empty_runnable);
+	/**
+	 * <p>Updates the number of tasks on the registry.</p>
+	 */
+	private static void updateGauge() {
+		UtilsRegistry.setData(RegistryKeys.K_TASKS_LIST_SIZE, tasks_list.size(), false);
 	}
 }
@@ -80,7 +80,7 @@ public class MainInteractionSession extends VoiceInteractionSession implements V
 		closeSystemDialogs();
 		mStartIntent = args.getParcelable("intent");
 
-		if ((boolean) UtilsRegistry.getData(RegistryKeys.K_IS_RECORDING_AUDIO_INTERNALLY, true)) {
+		if (UtilsRegistry.getBool(RegistryKeys.K_IS_RECORDING_AUDIO_INTERNALLY)) {
 			// If it's recording audio, it must be stopped. So stop and start the hotword recognizer.
 			UtilsAudioRecorderBC.recordAudio(false, -1, true);
 		} else {
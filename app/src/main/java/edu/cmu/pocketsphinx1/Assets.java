@@ -24,6 +24,7 @@
 package edu.cmu.pocketsphinx1;
 
 import android.content.Context;
+import android.content.pm.PackageManager;
 import android.content.res.AssetManager;
 import android.util.Log;
 
@@ -59,6 +60,11 @@ import java.util.Queue;
  * algorithm (e.g. MD5). Checksum files are copied along with the corresponding
  * asset files.
  *
+ * After a complete sync, the install time of the app is stored in
+ * {@value #SYNC_STAMP_NAME}. While the app is not updated (and the files are
+ * still there - the directory may be cleared by the system), the checksums
+ * are not checked again.
+ *
  * @author Alexander Solovets
  */
 public class Assets {
@@ -68,9 +74,18 @@ public class Assets {
 	public static final String ASSET_LIST_NAME = "assets.lst";
 	public static final String SYNC_DIR = "PocketSphinxFiles";
 	public static final String HASH_EXT = ".md5";
+	public static final String SYNC_STAMP_NAME = "sync.stamp";
+
+	private static final int COPY_BUFFER_SIZE = 64 * 1024;
+	private static final String TMP_EXT = ".tmp";
+
+	/** Lock of all the syncs, so that they're never done at the same time on the same directory. */
+	private static final Object sync_lock = new Object();
 
 	private final AssetManager assetManager;
 	private final File cacheDir;
+	/** The install time of the app, or null if it couldn't be got (in which case the sync is always complete). */
+	private final String installStamp;
 
 	/**
 	 * Creates new instance for asset synchronization
@@ -82,6 +97,7 @@ public class Assets {
 		File appDir = context.getCacheDir(); // Changed to the private app cache directory
 		cacheDir = new File(appDir, SYNC_DIR);
 		assetManager = context.getAssets();
+		installStamp = getInstallStamp(context);
 	}
 
 	/**
@@ -95,6 +111,16 @@ public class Assets {
 	public Assets(Context context, String dest) {
 		cacheDir = new File(dest);
 		assetManager = context.getAssets();
+		installStamp = getInstallStamp(context);
+	}
+
+	private static String getInstallStamp(Context context) {
+		try {
+			return String.valueOf(context.getPackageManager().getPackageInfo(context.getPackageName(), 0)
+					.lastUpdateTime);
+		} catch (final PackageManager.NameNotFoundException ignored) {
+			return null;
+		}
 	}
 
 	/**
@@ -116,8 +142,9 @@ public class Assets {
 	public Map<String, String> getItems() throws IOException {
 		Map<String, String> items = new HashMap<String, String>();
 		for (String path : readLines(openAsset(ASSET_LIST_NAME))) {
-			Reader reader = new InputStreamReader(openAsset(path + HASH_EXT));
-			items.put(path, new BufferedReader(reader).readLine());
+			try (Reader reader = new InputStreamReader(openAsset(path + HASH_EXT))) {
+				items.put(path, new BufferedReader(reader).readLine());
+			}
 		}
 		return items;
 	}
@@ -162,12 +189,16 @@ public class Assets {
 		return items;
 	}
 
+	/**
+	 * Reads all the lines of the given stream, closing it at the end.
+	 */
 	private List<String> readLines(InputStream source) throws IOException {
 		List<String> lines = new ArrayList<String>();
-		BufferedReader br = new BufferedReader(new InputStreamReader(source));
-		String line;
-		while ((line = br.readLine()) != null)
-			lines.add(line);
+		try (BufferedReader br = new BufferedReader(new InputStreamReader(source))) {
+			String line;
+			while ((line = br.readLine()) != null)
+				lines.add(line);
+		}
 		return lines;
 	}
 
@@ -187,10 +218,15 @@ public class Assets {
 	 */
 	public void updateItemList(Map<String, String> items) throws IOException {
 		File assetListFile = new File(cacheDir, ASSET_LIST_NAME);
-		PrintWriter pw = new PrintWriter(new FileOutputStream(assetListFile));
+		File tmpFile = new File(cacheDir, ASSET_LIST_NAME + TMP_EXT);
+		PrintWriter pw = new PrintWriter(new FileOutputStream(tmpFile));
 		for (Map.Entry<String, String> entry : items.entrySet())
 			pw.format("%s %s\n", entry.getKey(), entry.getValue());
 		pw.close();
+		if (pw.checkError() || !tmpFile.renameTo(assetListFile)) {
+			tmpFile.delete();
+			throw new IOException("Failed to write " + assetListFile);
+		}
 	}
 
 	/**
@@ -202,24 +238,34 @@ public class Assets {
 	 *             if an I/O error occurs
 	 */
 	public File copy(String asset) throws IOException {
-		InputStream source = openAsset(asset);
 		File destinationFile = new File(cacheDir, asset);
 		destinationFile.getParentFile().mkdirs();
-		OutputStream destination = new FileOutputStream(destinationFile);
-		byte[] buffer = new byte[1024];
-		int nread;
-
-		while ((nread = source.read(buffer)) != -1) {
-			if (nread == 0) {
-				nread = source.read();
-				if (nread < 0)
-					break;
-				destination.write(nread);
-				continue;
+		// Copied to a temporary file first, so that a copy interrupted in the middle never leaves a truncated asset.
+		File tmpFile = new File(cacheDir, asset + TMP_EXT);
+		try (InputStream source = openAsset(asset);
+			 OutputStream destination = new FileOutputStream(tmpFile)) {
+			byte[] buffer = new byte[COPY_BUFFER_SIZE];
+			int nread;
+
+			while ((nread = source.read(buffer)) != -1) {
+				if (nread == 0) {
+					nread = source.read();
+					if (nread < 0)
+						break;
+					destination.write(nread);
+					continue;
+				}
+				destination.write(buffer, 0, nread);
 			}
-			destination.write(buffer, 0, nread);
+		} catch (final IOException e) {
+			tmpFile.delete();
+			throw e;
+		}
+
+		if (!tmpFile.renameTo(destinationFile)) {
+			tmpFile.delete();
+			throw new IOException("Failed to move " + tmpFile + " to " + destinationFile);
 		}
-		destination.close();
 		return destinationFile;
 	}
 
@@ -231,6 +277,65 @@ public class Assets {
 	 * @throws IOException
 	 */
 	public File syncAssets() throws IOException {
+		synchronized (sync_lock) {
+			if (isSynced()) {
+				Log.i(TAG, "Skipping assets sync: app not updated since the last one");
+				return cacheDir;
+			}
+
+			File stampFile = new File(cacheDir, SYNC_STAMP_NAME);
+			// Delete it first, so that if the sync is interrupted, it's done completely the next time.
+			stampFile.delete();
+			syncAllAssets();
+			if (installStamp != null)
+				writeStamp(stampFile);
+
+			return cacheDir;
+		}
+	}
+
+	/**
+	 * Checks if the assets were completely synced since the app was
+	 * installed or updated, and if they're all still there.
+	 */
+	private boolean isSynced() {
+		if (installStamp == null)
+			return false;
+
+		try {
+			List<String> stampLines = readLines(new FileInputStream(new File(cacheDir, SYNC_STAMP_NAME)));
+			if (stampLines.isEmpty() || !installStamp.equals(stampLines.get(0)))
+				return false;
+		} catch (IOException e) {
+			return false;
+		}
+
+		Map<String, String> externalItems = getExternalItems();
+		if (externalItems.isEmpty())
+			return false;
+		for (String path : externalItems.keySet()) {
+			if (!new File(cacheDir, path).exists())
+				return false;
+		}
+
+		return true;
+	}
+
+	private void writeStamp(File stampFile) throws IOException {
+		File tmpFile = new File(cacheDir, SYNC_STAMP_NAME + TMP_EXT);
+		PrintWriter pw = new PrintWriter(new FileOutputStream(tmpFile));
+		pw.println(installStamp);
+		pw.close();
+		if (pw.checkError() || !tmpFile.renameTo(stampFile)) {
+			tmpFile.delete();
+			throw new IOException("Failed to write " + stampFile);
+		}
+	}
+
+	/**
+	 * Compares the checksums of all the assets and copies the changed ones.
+	 */
+	private void syncAllAssets() throws IOException {
 		Collection<String> newItems = new ArrayList<String>();
 		Collection<String> unusedItems = new ArrayList<String>();
 		Map<String, String> items = getItems();
@@ -260,8 +365,8 @@ public class Assets {
 			Log.i(TAG, String.format("Removing asset %s", file));
 		}
 
-		updateItemList(items);
-		return cacheDir;
+		if (!newItems.isEmpty() || !unusedItems.isEmpty() || !items.equals(externalItems))
+			updateItemList(items);
 	}
 
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021-2024 Edw590
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package edu.cmu.pocketsphinx1;
+
+import androidx.annotation.NonNull;
+
+/**
+ * <p>Preallocated ring buffer of audio samples, written by one capture thread and read by one decoder thread.</p>
+ * <br>
+ * <p>The capture thread reads the audio directly into the buffer: it reserves a contiguous free region with
+ * {@link #reserveWrite(int)}, fills {@link #data} from {@link #getWritePos()} on, and then commits it with
+ * {@link #commitWrite(int)}. If the decoder falls so much behind that the buffer is full, the oldest samples are
+ * dropped to make room (the capture must never stop, or the recorder itself overruns) and counted on
+ * {@link #getDroppedSamples()}.</p>
+ */
+final class AudioRingBuffer {
+
+	/** The samples. Only the reserved region may be written, and only by the capture thread. */
+	@NonNull final short[] data;
+
+	/** Index of the oldest sample not read yet. */
+	private int read_pos = 0;
+	/** Number of samples written and not read yet. */
+	private int size = 0;
+	/** Index of the region reserved by the last {@link #reserveWrite(int)}. */
+	private int write_pos = 0;
+	private long dropped_samples = 0;
+
+	/**
+	 * <p>Main class constructor.</p>
+	 *
+	 * @param capacity the capacity in samples
+	 */
+	AudioRingBuffer(final int capacity) {
+		data = new short[capacity];
+	}
+
+	/**
+	 * <p>Reserves a contiguous free region to write to, dropping the oldest samples if the buffer is full.</p>
+	 *
+	 * @param max_len the maximum length of the region
+	 *
+	 * @return the length of the region, which starts at {@link #getWritePos()}
+	 */
+	synchronized int reserveWrite(final int max_len) {
+		if (size == data.length) {
+			final int to_drop = Math.min(max_len, size);
+			read_pos = (read_pos + to_drop) % data.length;
+			size -= to_drop;
+			dropped_samples += to_drop;
+		}
+
+		write_pos = (read_pos + size) % data.length;
+		// The free space is contiguous up to the end of the array or up to the read position, whichever comes first.
+		final int contiguous = write_pos >= read_pos ? data.length - write_pos : read_pos - write_pos;
+
+		return Math.min(max_len, contiguous);
+	}
+
+	/**
+	 * <p>Gets the start of the region reserved by the last {@link #reserveWrite(int)}.</p>
+	 *
+	 * @return the index on {@link #data}
+	 */
+	synchronized int getWritePos() {
+		return write_pos;
+	}
+
+	/**
+	 * <p>Makes the first samples of the reserved region available to the reader.</p>
+	 *
+	 * @param len how many samples were written
+	 */
+	synchronized void commitWrite(final int len) {
+		size += len;
+		notifyAll();
+	}
+
+	/**
+	 * <p>Reads samples from the buffer, waiting until there are some available.</p>
+	 *
+	 * @param dest the array to copy the samples to, from index 0
+	 * @param max_len the maximum number of samples to read
+	 *
+	 * @return the number of samples read
+	 *
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	synchronized int read(@NonNull final short[] dest, final int max_len) throws InterruptedException {
+		while (size == 0) {
+			wait();
+		}
+
+		final int len = Math.min(max_len, size);
+		final int first_part = Math.min(len, data.length - read_pos);
+		System.arraycopy(data, read_pos, dest, 0, first_part);
+		if (first_part < len) {
+			System.arraycopy(data, 0, dest, first_part, len - first_part);
+		}
+		read_pos = (read_pos + len) % data.length;
+		size -= len;
+
+		return len;
+	}
+
+	/**
+	 * <p>Gets the number of samples dropped because the buffer was full.</p>
+	 *
+	 * @return the number of samples
+	 */
+	synchronized long getDroppedSamples() {
+		return dropped_samples;
+	}
+}
@@ -70,6 +70,8 @@ public class SpeechRecognizer {
 
 	private final int sampleRate;
 	private static final float BUFFER_SIZE_SECONDS = 0.4f;
+	/** Capacity of the {@link AudioRingBuffer} between the capture and the decoding, in multiples of bufferSize. */
+	private static final int RING_BUFFER_CHUNKS = 16;
 	int bufferSize;
 	@Nullable
 	AudioRecord recorder;
@@ -77,6 +79,12 @@ public class SpeechRecognizer {
 	public final int audio_source;
 
 	@Nullable Thread recognizerThread;
+	private final Object dropped_lock = new Object();
+	/** Samples dropped because the decoding fell behind the capture on the previous recordings. */
+	private long dropped_samples = 0;
+	/** The ring buffer of the current recording, or null if there's none. */
+	@Nullable private AudioRingBuffer current_ring_buffer = null;
+	@NonNull private final VoiceActivityGate vad_gate;
 
 	float gain = 3.0f;
 
@@ -111,6 +119,7 @@ public class SpeechRecognizer {
 		decoder = new Decoder(config);
 		sampleRate = (int) decoder.getConfig().getFloat("-samprate");
 		bufferSize = Math.round((float) sampleRate * BUFFER_SIZE_SECONDS);
+		vad_gate = new VoiceActivityGate(sampleRate);
 		recorder = new AudioRecord(audio_source, sampleRate,
 				AudioFormat.CHANNEL_IN_MONO,
 				AudioFormat.ENCODING_PCM_16BIT, bufferSize << 1);
@@ -234,6 +243,53 @@ public class SpeechRecognizer {
 		return decoder;
 	}
 
+	/**
+	 * <p>Gets the number of audio samples dropped because the decoding fell too much behind the capture (should be 0,
+	 * unless the device is very loaded).</p>
+	 *
+	 * @return the number of samples, since the recognizer was created
+	 */
+	public long getDroppedSamples() {
+		synchronized (dropped_lock) {
+			if (current_ring_buffer != null) {
+				return dropped_samples + current_ring_buffer.getDroppedSamples();
+			}
+
+			return dropped_samples;
+		}
+	}
+
+	/**
+	 * <p>Sets the thresholds of the voice activity gate in front of the decoder (only the audio with speech-like
+	 * activity is decoded).</p>
+	 *
+	 * @param min_amplitude minimum average amplitude (after the gain) of a frame with activity, or 0 to decode all the
+	 * audio
+	 * @param max_zcr_percent maximum percentage of zero crossings of a frame with activity
+	 */
+	public void setVadThresholds(final int min_amplitude, final int max_zcr_percent) {
+		vad_gate.min_amplitude = min_amplitude;
+		vad_gate.max_zcr_percent = max_zcr_percent;
+	}
+
+	/**
+	 * <p>Gets the number of audio frames the voice activity gate let through to the decoder.</p>
+	 *
+	 * @return the number of frames, since the recognizer was created
+	 */
+	public long getDecodedFrames() {
+		return vad_gate.decoded_frames;
+	}
+
+	/**
+	 * <p>Gets the number of audio frames the voice activity gate didn't let through to the decoder.</p>
+	 *
+	 * @return the number of frames, since the recognizer was created
+	 */
+	public long getGatedFrames() {
+		return vad_gate.gated_frames;
+	}
+
 	/**
 	 * Shutdown the recognizer and release the recorder
 	 */
@@ -333,10 +389,13 @@ public class SpeechRecognizer {
 		decoder.setAllphoneFile(name, file.getPath());
 	}
 
+	/**
+	 * <p>Captures the audio into an {@link AudioRingBuffer} while a {@link DecoderThread} decodes it, so that slow
+	 * decoding steps don't stop the capture (which would make the recorder overrun and lose audio).</p>
+	 */
 	private final class RecognizerThread extends Thread {
 
-		private int remainingSamples;
-		private int timeoutSamples;
+		private final int timeoutSamples;
 		private final static int NO_TIMEOUT = -1;
 
 		public RecognizerThread(int timeout) {
@@ -344,7 +403,6 @@ public class SpeechRecognizer {
 				this.timeoutSamples = timeout * sampleRate / 1000;
 			else
 				this.timeoutSamples = NO_TIMEOUT;
-			this.remainingSamples = this.timeoutSamples;
 		}
 
 		public RecognizerThread() {
@@ -371,59 +429,30 @@ public class SpeechRecognizer {
 			//Log.id(TAG, "Starting decoding");
 
 			decoder.startUtt();
-			final short[] buffer = new short[bufferSize];
-			boolean inSpeech = decoder.getInSpeech();
-			String last_hypothesis_str = "";
+			final AudioRingBuffer ring_buffer = new AudioRingBuffer(bufferSize * RING_BUFFER_CHUNKS);
+			final DecoderThread decoderThread = new DecoderThread(ring_buffer, timeoutSamples);
+			synchronized (dropped_lock) {
+				current_ring_buffer = ring_buffer;
+			}
 
 			// Skip the first buffer, usually zeroes
-			recorder.read(buffer, 0, buffer.length);
+			recorder.read(ring_buffer.data, 0, bufferSize);
 
-			while (!interrupted() && ((timeoutSamples == NO_TIMEOUT) || (remainingSamples > 0))) {
-				final int nread = recorder.read(buffer, 0, bufferSize);
-				UtilsAudio.adjustGainBuffer(buffer, gain);
+			decoderThread.start();
+
+			while (!interrupted() && !decoderThread.timed_out) {
+				final int len = ring_buffer.reserveWrite(bufferSize);
+				final int write_pos = ring_buffer.getWritePos();
+				final int nread = recorder.read(ring_buffer.data, write_pos, len);
 
 				if (nread < 0) {
 					mainHandler.post(new OnErrorEvent(new RuntimeException("error reading audio buffer, nread = " + nread)));
 
 					break; // If an error occurred, leave - else shouldn't throw an error, just some warning
 				} else if (nread > 0) {
-					decoder.processRaw(buffer, (long) nread, false, false);
-
-					// int max = 0;
-					// for (int i = 0; i < nread; i++) {
-					//     max = Math.max(max, Math.abs(buffer[i]));
-					// }
-					// //Log.ie("!!!!!!!!", "Level: " + max);
-
-					if (decoder.getInSpeech() != inSpeech) {
-						inSpeech = decoder.getInSpeech();
-						mainHandler.post(new InSpeechChangeEvent(inSpeech));
-					}
-
-					if (inSpeech)
-						remainingSamples = timeoutSamples;
-
-					final Hypothesis hypothesis = decoder.hyp();
-					if (hypothesis != null) {
-						final String hypothesis_str = hypothesis.getHypstr();
-						if (!last_hypothesis_str.equals(hypothesis_str)) {
-
-							// WARNING: this means that the same hypothesis won't be sent 2+ times in a row! Even if
-							// it's correctly detected the 2+ times, with minutes apart, for example!
-							// This is here because the Decoder keeps on sending the last hypothesis until it detects a
-							// new one, not mattering if we send audio with nothing on it, even all 0s (tested).
-							// Though, not detecting the same twice or more in a row is not a problem IN VISOR's CASE
-							// because on the first correct detection, the recognition will be stopped. So no problem in
-							// not detecting any more correct detections - it will be stopped on the 1st one anyway.
-
-							mainHandler.post(new ResultEvent(hypothesis, false));
-							last_hypothesis_str = hypothesis_str;
-						}
-					}
-				}
-
-				if (timeoutSamples != NO_TIMEOUT) {
-					remainingSamples -= nread;
+					// Only on the samples actually read.
+					UtilsAudio.adjustGainBuffer(ring_buffer.data, write_pos, nread, gain);
+					ring_buffer.commitWrite(nread);
 				}
 			}
 
@@ -431,13 +460,34 @@ public class SpeechRecognizer {
 				recorder.stop();
 			} catch (final IllegalStateException ignored) {
 			}
+
+			decoderThread.interrupt();
+			// The decoder must not be in use anymore before ending the utterance, so wait for the thread even if this
+			// one gets interrupted meanwhile (and keep the interrupt for later).
+			boolean interrupted = false;
+			while (true) {
+				try {
+					decoderThread.join();
+
+					break;
+				} catch (final InterruptedException ignored) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+			synchronized (dropped_lock) {
+				dropped_samples += ring_buffer.getDroppedSamples();
+				current_ring_buffer = null;
+			}
 			decoder.endUtt();
 
 			// Remove all pending notifications.
 			mainHandler.removeCallbacksAndMessages(null);
 
 			// If we met timeout signal that speech ended
-			if (timeoutSamples != NO_TIMEOUT && remainingSamples <= 0) {
+			if (decoderThread.timed_out) {
 				mainHandler.post(new TimeoutEvent());
 			}
 
@@ -445,6 +495,92 @@ public class SpeechRecognizer {
 		}
 	}
 
+	/**
+	 * <p>Decodes the audio captured by the {@link RecognizerThread}, after the {@link VoiceActivityGate}.</p>
+	 */
+	private final class DecoderThread extends Thread {
+
+		@NonNull private final AudioRingBuffer ring_buffer;
+		private final int timeoutSamples;
+		private int remainingSamples;
+		/** Set when the timeout was reached, for the {@link RecognizerThread} to stop. */
+		volatile boolean timed_out = false;
+
+		DecoderThread(@NonNull final AudioRingBuffer ring_buffer, final int timeoutSamples) {
+			super("PocketSphinx decoder");
+			this.ring_buffer = ring_buffer;
+			this.timeoutSamples = timeoutSamples;
+			this.remainingSamples = timeoutSamples;
+		}
+
+		@Override
+		public void run() {
+			final short[] buffer = new short[bufferSize];
+			final short[] decode_buffer = new short[bufferSize + vad_gate.getMaxExtraSamples()];
+			boolean inSpeech = decoder.getInSpeech();
+			String last_hypothesis_str = "";
+
+			vad_gate.reset();
+			while (!isInterrupted()) {
+				final int nread;
+				try {
+					nread = ring_buffer.read(buffer, bufferSize);
+				} catch (final InterruptedException ignored) {
+					return;
+				}
+
+				if (timeoutSamples != RecognizerThread.NO_TIMEOUT) {
+					remainingSamples -= nread;
+				}
+
+				final int ndecode = vad_gate.filter(buffer, nread, decode_buffer);
+				if (ndecode == 0) {
+					// Silence - nothing to decode.
+					if (timeoutSamples != RecognizerThread.NO_TIMEOUT && remainingSamples <= 0) {
+						timed_out = true;
+
+						return;
+					}
+
+					continue;
+				}
+				decoder.processRaw(decode_buffer, (long) ndecode, false, false);
+
+				if (decoder.getInSpeech() != inSpeech) {
+					inSpeech = decoder.getInSpeech();
+					mainHandler.post(new InSpeechChangeEvent(inSpeech));
+				}
+
+				if (inSpeech)
+					remainingSamples = timeoutSamples;
+
+				final Hypothesis hypothesis = decoder.hyp();
+				if (hypothesis != null) {
+					final String hypothesis_str = hypothesis.getHypstr();
+					if (!last_hypothesis_str.equals(hypothesis_str)) {
+
+						// WARNING: this means that the same hypothesis won't be sent 2+ times in a row! Even if
+						// it's correctly detected the 2+ times, with minutes apart, for example!
+						// This is here because the Decoder keeps on sending the last hypothesis until it detects a
+						// new one, not mattering if we send audio with nothing on it, even all 0s (tested).
+						// Though, not detecting the same twice or more in a row is not a problem IN VISOR's CASE
+						// because on the first correct detection, the recognition will be stopped. So no problem in
+						// not detecting any more correct detections - it will be stopped on the 1st one anyway.
+
+						mainHandler.post(new ResultEvent(hypothesis, false));
+						last_hypothesis_str = hypothesis_str;
+					}
+				}
+
+				if (timeoutSamples != RecognizerThread.NO_TIMEOUT && remainingSamples <= 0) {
+					timed_out = true;
+
+					return;
+				}
+			}
+		}
+	}
+
 	private abstract class RecognitionEvent implements Runnable {
 		public void run() {
 			RecognitionListener[] emptyArray = new RecognitionListener[0];
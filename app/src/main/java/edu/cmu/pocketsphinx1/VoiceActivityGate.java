@@ -0,0 +1,200 @@
+/*
+ * Copyright 2021-2024 Edw590
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package edu.cmu.pocketsphinx1;
+
+import androidx.annotation.NonNull;
+
+/**
+ * <p>Voice activity gate in front of the decoder: only lets through the audio frames with speech-like activity, so
+ * that the decoder doesn't process silence.</p>
+ * <br>
+ * <p>A frame is active if its average amplitude is at least {@link #min_amplitude} and its zero-crossing rate is at
+ * most {@link #max_zcr_percent} (above that it's more like hiss than voice). When a frame is active, the gate opens,
+ * letting through the last {@link #PREROLL_FRAMES} gated frames first (the beginning of the speech) and then the
+ * frames until {@link #HANGOVER_FRAMES} non-active frames in a row (so that the pauses between words go through).</p>
+ * <p>Must only be used from one thread, except for the thresholds and the counters.</p>
+ */
+final class VoiceActivityGate {
+
+	private static final int FRAME_MS = 20;
+	/** Gated frames kept to be let through when the gate opens. */
+	private static final int PREROLL_FRAMES = 15;
+	/** Non-active frames in a row after which the gate closes. */
+	private static final int HANGOVER_FRAMES = 25;
+
+	/** Length of a frame, in samples. */
+	private final int frame_len;
+
+	/** Minimum average amplitude of an active frame (0 to let all frames through). */
+	volatile int min_amplitude = 0;
+	/** Maximum percentage of zero crossings of an active frame. */
+	volatile int max_zcr_percent = 100;
+
+	/** Frames not given to the decoder. */
+	volatile long gated_frames = 0;
+	/** Frames given to the decoder. */
+	volatile long decoded_frames = 0;
+
+	/** Ring of the last gated samples. */
+	@NonNull private final short[] preroll;
+	private int preroll_start = 0;
+	private int preroll_len = 0;
+	/** Frames still to let through until the gate closes (0 if it's closed). */
+	private int hangover_left = 0;
+
+	/**
+	 * <p>Main class constructor.</p>
+	 *
+	 * @param sample_rate the sample rate of the audio
+	 */
+	VoiceActivityGate(final int sample_rate) {
+		frame_len = sample_rate * FRAME_MS / 1000;
+		preroll = new short[frame_len * PREROLL_FRAMES];
+	}
+
+	/**
+	 * <p>Closes the gate and forgets the gated audio, for a new utterance.</p>
+	 */
+	void reset() {
+		preroll_start = 0;
+		preroll_len = 0;
+		hangover_left = 0;
+	}
+
+	/**
+	 * <p>Gets the maximum number of samples {@link #filter(short[], int, short[])} may output more than it's given.</p>
+	 *
+	 * @return the number of samples
+	 */
+	int getMaxExtraSamples() {
+		return preroll.length;
+	}
+
+	/**
+	 * <p>Filters a chunk of audio, keeping only what should be given to the decoder.</p>
+	 *
+	 * @param in the audio
+	 * @param in_len the number of samples of the audio
+	 * @param out where to put the filtered audio - must have space for {@code in_len} plus
+	 * {@link #getMaxExtraSamples()} samples
+	 *
+	 * @return the number of samples put on {@code out}
+	 */
+	int filter(@NonNull final short[] in, final int in_len, @NonNull final short[] out) {
+		final int min_amplitude_local = min_amplitude;
+		final int max_zcr_percent_local = max_zcr_percent;
+		int out_len = 0;
+		for (int start = 0; start < in_len; start += frame_len) {
+			final int len = Math.min(frame_len, in_len - start);
+
+			if (min_amplitude_local <= 0 || isActive(in, start, len, min_amplitude_local, max_zcr_percent_local)) {
+				if (hangover_left == 0) {
+					// The gate is opening - let the beginning of the speech through first.
+					out_len += drainPreroll(out, out_len);
+				}
+				hangover_left = HANGOVER_FRAMES;
+			} else if (hangover_left > 0) {
+				--hangover_left;
+			}
+
+			if (hangover_left > 0) {
+				System.arraycopy(in, start, out, out_len, len);
+				out_len += len;
+				++decoded_frames;
+			} else {
+				addToPreroll(in, start, len);
+				++gated_frames;
+			}
+		}
+
+		return out_len;
+	}
+
+	/**
+	 * <p>Checks if a frame has speech-like activity.</p>
+	 *
+	 * @param samples the audio
+	 * @param start the index of the frame
+	 * @param len the length of the frame
+	 * @param min_amplitude_local {@link #min_amplitude}
+	 * @param max_zcr_percent_local {@link #max_zcr_percent}
+	 *
+	 * @return true if the frame is active, false otherwise
+	 */
+	private static boolean isActive(@NonNull final short[] samples, final int start, final int len,
+									final int min_amplitude_local, final int max_zcr_percent_local) {
+		long amplitude_sum = 0;
+		int zero_crossings = 0;
+		boolean prev_negative = samples[start] < 0;
+		final int end = start + len;
+		for (int i = start; i < end; ++i) {
+			final int sample = samples[i];
+			amplitude_sum += sample < 0 ? -sample : sample;
+			final boolean negative = sample < 0;
+			if (negative != prev_negative) {
+				++zero_crossings;
+				prev_negative = negative;
+			}
+		}
+
+		return amplitude_sum >= (long) min_amplitude_local * len && zero_crossings * 100 <= max_zcr_percent_local * len;
+	}
+
+	/**
+	 * <p>Keeps a gated frame on the preroll ring, overwriting the oldest samples if it's full.</p>
+	 *
+	 * @param samples the audio
+	 * @param start the index of the frame
+	 * @param len the length of the frame
+	 */
+	private void addToPreroll(@NonNull final short[] samples, final int start, final int len) {
+		for (int i = 0; i < len; ++i) {
+			if (preroll_len < preroll.length) {
+				preroll[(preroll_start + preroll_len) % preroll.length] = samples[start + i];
+				++preroll_len;
+			} else {
+				preroll[preroll_start] = samples[start + i];
+				preroll_start = (preroll_start + 1) % preroll.length;
+			}
+		}
+	}
+
+	/**
+	 * <p>Moves the samples of the preroll ring to the output, in order.</p>
+	 *
+	 * @param out the output
+	 * @param out_pos the index on the output to put the samples at
+	 *
+	 * @return the number of samples moved
+	 */
+	private int drainPreroll(@NonNull final short[] out, final int out_pos) {
+		final int first_part = Math.min(preroll_len, preroll.length - preroll_start);
+		System.arraycopy(preroll, preroll_start, out, out_pos, first_part);
+		System.arraycopy(preroll, 0, out, out_pos + first_part, preroll_len - first_part);
+
+		final int moved = preroll_len;
+		preroll_start = 0;
+		preroll_len = 0;
+
+		return moved;
+	}
+}